@@ -0,0 +1,23 @@
+package com.example.deliveryservice.adapter;
+
+import com.example.deliveryservice.common.exception.DeliveryException;
+import org.example.events.NotificationEvent;
+
+/**
+ * Hands a notification to one provider.
+ * Implementations are Spring beans and are picked per channel by {@code delivery.routes}.
+ */
+public interface ChannelAdapter {
+
+    /**
+     * @return the name routes refer to, e.g. {@code smtp}
+     */
+    String name();
+
+    /**
+     * Send the notification, returning once the provider accepted it.
+     * @param event the notification to send
+     * @throws DeliveryException if the provider did not accept the notification
+     */
+    void send(NotificationEvent event);
+}
@@ -0,0 +1,38 @@
+package com.example.deliveryservice.adapter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.events.NotificationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mock adapter that only logs the notification and reports success.
+ * An optional delay stands in for provider latency when load testing.
+ */
+@Component
+@Slf4j
+public class LogChannelAdapter implements ChannelAdapter {
+    public static final String NAME = "log";
+
+    @Value("${delivery.adapter.log.latency-ms:0}")
+    private long latencyMs;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void send(NotificationEvent event) {
+        if (latencyMs > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(latencyMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        log.info("Delivered {} notification {} to {}", event.getChannel(), event.getId(), event.getRecipient());
+    }
+}
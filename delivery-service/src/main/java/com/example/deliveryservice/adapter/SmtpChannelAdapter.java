@@ -0,0 +1,56 @@
+package com.example.deliveryservice.adapter;
+
+import com.example.deliveryservice.common.exception.PermanentDeliveryException;
+import com.example.deliveryservice.common.exception.TransientDeliveryException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.events.NotificationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends email notifications through the SMTP server configured under {@code spring.mail}.
+ * Only created when {@code spring.mail.host} is set; locally that is the Mailpit container.
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.mail", name = "host")
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpChannelAdapter implements ChannelAdapter {
+    public static final String NAME = "smtp";
+
+    private final JavaMailSender mailSender;
+
+    @Value("${delivery.adapter.smtp.from:no-reply@example.org}")
+    private String from;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public void send(NotificationEvent event) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(event.getRecipient());
+        message.setSubject(event.getSubject());
+        message.setText(event.getContent());
+        try {
+            mailSender.send(message);
+        } catch (MailAuthenticationException | MailParseException | MailPreparationException e) {
+            // configuration or message errors, sending the same message again cannot succeed
+            throw new PermanentDeliveryException("SMTP send rejected: " + e.getMessage(), e);
+        } catch (MailException e) {
+            throw new TransientDeliveryException("SMTP send failed: " + e.getMessage(), e);
+        }
+        log.debug("Sent notification {} to {} over SMTP", event.getId(), event.getRecipient());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.deliveryservice.cli;
+
+import com.example.deliveryservice.dto.request.DlqQueryRequest;
+import com.example.deliveryservice.dto.request.DlqReplayRequest;
+import com.example.deliveryservice.dto.response.DlqRecordResponse;
+import com.example.deliveryservice.service.DlqReplayJob;
+import com.example.deliveryservice.service.DlqService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line access to the DLQ, for runs outside the admin API:
+ * <pre>
+ * java -jar delivery-service.jar --spring.main.web-application-type=none --delivery.consumer.auto-startup=false \
+ *     --dlq.command=replay --dlq.tenant-id=t-1 --dlq.error-class=TransientDeliveryException --dlq.rate=2000
+ * </pre>
+ * {@code query} prints the matching records as JSON lines, {@code replay} replays them and logs
+ * progress until done. The application exits afterwards with 0, or 1 if the replay did not complete.
+ */
+@Component
+@ConditionalOnProperty(name = "dlq.command")
+@RequiredArgsConstructor
+@Slf4j
+public class DlqCommandRunner implements ApplicationRunner {
+
+    private final DlqService dlqService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+
+    @Value("${dlq.command}")
+    private String command;
+
+    @Value("${dlq.tenant-id:#{null}}")
+    private String tenantId;
+
+    @Value("${dlq.channel:#{null}}")
+    private String channel;
+
+    @Value("${dlq.error-class:#{null}}")
+    private String errorClass;
+
+    @Value("${dlq.from:#{null}}")
+    private Instant from;
+
+    @Value("${dlq.to:#{null}}")
+    private Instant to;
+
+    @Value("${dlq.limit:1000}")
+    private int limit;
+
+    @Value("${dlq.rate:#{null}}")
+    private Integer ratePerSecond;
+
+    @Value("${dlq.max-records:#{null}}")
+    private Long maxRecords;
+
+    @Value("${dlq.progress-interval-ms:5000}")
+    private long progressIntervalMs;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = switch (command) {
+            case "query" -> query();
+            case "replay" -> replay();
+            default -> {
+                log.error("Unknown dlq.command '{}', expected query or replay", command);
+                yield 2;
+            }
+        };
+        System.exit(SpringApplication.exit(applicationContext, () -> exitCode));
+    }
+
+    private int query() throws Exception {
+        DlqQueryRequest query = new DlqQueryRequest();
+        fill(query);
+        for (DlqRecordResponse record : dlqService.query(query, limit)) {
+            System.out.println(objectMapper.writeValueAsString(record));
+        }
+        return 0;
+    }
+
+    private int replay() throws InterruptedException {
+        DlqReplayRequest request = new DlqReplayRequest();
+        fill(request);
+        request.setRatePerSecond(ratePerSecond);
+        request.setMaxRecords(maxRecords);
+
+        DlqReplayJob job = dlqService.startReplay(request);
+        while (!job.isDone()) {
+            TimeUnit.MILLISECONDS.sleep(progressIntervalMs);
+            log.info("DLQ replay {}: scanned {}, matched {}, replayed {}, failed {}", job.getId(),
+                    job.getScanned().get(), job.getMatched().get(), job.getReplayed().get(), job.getFailed().get());
+        }
+        log.info("DLQ replay {} finished: {}", job.getId(), job.getStatus());
+        return job.getStatus() == DlqReplayJob.Status.COMPLETED ? 0 : 1;
+    }
+
+    private void fill(DlqQueryRequest query) {
+        query.setTenantId(tenantId);
+        query.setChannel(channel);
+        query.setErrorClass(errorClass);
+        query.setFrom(from);
+        query.setTo(to);
+    }
+}
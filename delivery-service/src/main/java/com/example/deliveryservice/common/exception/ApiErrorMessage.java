@@ -13,7 +13,10 @@ public class ApiErrorMessage {
 
     public static ApiErrorMessage
         CHANNEL_NOT_FOUND = new ApiErrorMessage(2000001, "Channel not found.", HttpStatus.NOT_FOUND),
-        QUOTA_EXCEEDED = new ApiErrorMessage(2000002, "Notification quota exceeded.", HttpStatus.FORBIDDEN);
+        QUOTA_EXCEEDED = new ApiErrorMessage(2000002, "Notification quota exceeded.", HttpStatus.FORBIDDEN),
+        INVALID_DLQ_QUERY = new ApiErrorMessage(2000003, "Invalid DLQ query, 'from' must not be after 'to'.", HttpStatus.BAD_REQUEST),
+        DLQ_REPLAY_NOT_FOUND = new ApiErrorMessage(2000004, "DLQ replay not found.", HttpStatus.NOT_FOUND),
+        DLQ_REPLAY_LIMIT = new ApiErrorMessage(2000005, "Too many DLQ replays running, retry later.", HttpStatus.TOO_MANY_REQUESTS);
     protected final int code;
     protected final String message;
     protected final HttpStatus status;
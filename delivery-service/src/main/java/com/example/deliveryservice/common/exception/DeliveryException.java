@@ -0,0 +1,16 @@
+package com.example.deliveryservice.common.exception;
+
+/**
+ * Thrown by a channel adapter when a notification could not be handed to its provider.
+ * Failures not marked as {@link PermanentDeliveryException} are retried.
+ */
+public class DeliveryException extends RuntimeException {
+
+    public DeliveryException(String message) {
+        super(message);
+    }
+
+    public DeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
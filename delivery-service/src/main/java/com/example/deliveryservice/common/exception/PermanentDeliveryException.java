@@ -0,0 +1,16 @@
+package com.example.deliveryservice.common.exception;
+
+/**
+ * A delivery failure that fails again on retry, e.g. a rejected recipient or a 4xx provider answer.
+ * The notification goes straight to the dead letter topic.
+ */
+public class PermanentDeliveryException extends DeliveryException {
+
+    public PermanentDeliveryException(String message) {
+        super(message);
+    }
+
+    public PermanentDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
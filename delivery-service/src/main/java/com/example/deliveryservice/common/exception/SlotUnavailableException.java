@@ -0,0 +1,16 @@
+package com.example.deliveryservice.common.exception;
+
+/**
+ * No slot of the adapter's concurrency limit came free, so the notification never reached the
+ * provider. It is deferred to a delay topic without using up an attempt.
+ */
+public class SlotUnavailableException extends TransientDeliveryException {
+
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+
+    public SlotUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
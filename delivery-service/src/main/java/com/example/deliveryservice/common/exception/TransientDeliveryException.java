@@ -0,0 +1,16 @@
+package com.example.deliveryservice.common.exception;
+
+/**
+ * A delivery failure that may succeed later, e.g. a timeout, a 5xx or a 429 provider answer.
+ * The notification is retried through the delay topics.
+ */
+public class TransientDeliveryException extends DeliveryException {
+
+    public TransientDeliveryException(String message) {
+        super(message);
+    }
+
+    public TransientDeliveryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.deliveryservice.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Listener factory for notification delivery.
+     * Records are acknowledged by the listener once delivered. In parallel mode acknowledgements
+     * arrive out of order from the workers, and the container only commits up to the lowest
+     * offset of a partition that is not delivered yet.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> deliveryListenerContainerFactory(
+            KafkaProperties kafkaProperties,
+            @Value("${delivery.consumer.mode:parallel}") String mode,
+            @Value("${delivery.consumer.max-poll-records:500}") int maxPollRecords,
+            @Value("${delivery.consumer.auto-startup:true}") boolean autoStartup) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setAsyncAcks("parallel".equalsIgnoreCase(mode));
+        factory.setAutoStartup(autoStartup);
+        return factory;
+    }
+
+    /**
+     * Listener factory for the delay topics.
+     * Acknowledgements stay on the consumer thread so a record that is not due yet can be
+     * handed back with {@code nack} and fetched again once its partition is resumed.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryListenerContainerFactory(
+            KafkaProperties kafkaProperties,
+            @Value("${delivery.retry.max-poll-records:100}") int maxPollRecords,
+            @Value("${delivery.consumer.auto-startup:true}") boolean autoStartup) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setAutoStartup(autoStartup);
+        return factory;
+    }
+}
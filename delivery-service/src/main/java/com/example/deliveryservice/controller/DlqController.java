@@ -0,0 +1,55 @@
+package com.example.deliveryservice.controller;
+
+import com.example.deliveryservice.common.baseclass.ApiResponse;
+import com.example.deliveryservice.dto.request.DlqQueryRequest;
+import com.example.deliveryservice.dto.request.DlqReplayRequest;
+import com.example.deliveryservice.dto.response.DlqRecordResponse;
+import com.example.deliveryservice.dto.response.DlqReplayResponse;
+import com.example.deliveryservice.mapper.DlqMapper;
+import com.example.deliveryservice.service.DlqService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/dlq")
+public class DlqController {
+
+    private final DlqService dlqService;
+
+    @GetMapping("/records")
+    public ResponseEntity<ApiResponse<List<DlqRecordResponse>>> getRecords(
+            @ModelAttribute DlqQueryRequest query,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(ApiResponse.ok(dlqService.query(query, limit)));
+    }
+
+    @PostMapping("/replays")
+    public ResponseEntity<ApiResponse<DlqReplayResponse>> startReplay(@RequestBody DlqReplayRequest request) {
+        DlqReplayResponse replay = DlqMapper.toDto(dlqService.startReplay(request));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.ok(replay));
+    }
+
+    @GetMapping("/replays/{id}")
+    public ResponseEntity<ApiResponse<DlqReplayResponse>> getReplay(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.ok(DlqMapper.toDto(dlqService.getReplay(id))));
+    }
+
+    @DeleteMapping("/replays/{id}")
+    public ResponseEntity<ApiResponse<DlqReplayResponse>> cancelReplay(@PathVariable String id) {
+        return ResponseEntity.ok(ApiResponse.ok(DlqMapper.toDto(dlqService.cancelReplay(id))));
+    }
+}
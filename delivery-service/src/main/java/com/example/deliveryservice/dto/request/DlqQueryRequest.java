@@ -0,0 +1,19 @@
+package com.example.deliveryservice.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Filter over notification.dlq, every field is optional
+ */
+@Getter
+@Setter
+public class DlqQueryRequest {
+    public String tenantId;
+    public String channel;
+    public String errorClass; // simple class name, e.g. PermanentDeliveryException
+    public Instant from;      // dead-lettered at or after
+    public Instant to;        // dead-lettered at or before
+}
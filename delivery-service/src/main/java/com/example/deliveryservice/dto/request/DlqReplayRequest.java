@@ -0,0 +1,14 @@
+package com.example.deliveryservice.dto.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Replay of the dead-lettered notifications matching a filter back to notification-topic
+ */
+@Getter
+@Setter
+public class DlqReplayRequest extends DlqQueryRequest {
+    public Integer ratePerSecond; // defaults to delivery.dlq.replay.rate-per-second
+    public Long maxRecords;       // stop after this many replayed records, unlimited when null
+}
@@ -0,0 +1,21 @@
+package com.example.deliveryservice.dto.response;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class DlqRecordResponse {
+    public int partition;
+    public long offset;
+    public Instant deadLetteredAt;
+    public String notificationId;
+    public String tenantId;
+    public String channel;
+    public String recipient;
+    public int attempts;
+    public String errorClass;
+    public String errorMessage;
+}
@@ -0,0 +1,22 @@
+package com.example.deliveryservice.dto.response;
+
+import com.example.deliveryservice.service.DlqReplayJob;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Getter
+@Setter
+public class DlqReplayResponse {
+    public String id;
+    public DlqReplayJob.Status status;
+    public long scanned;   // DLQ records read
+    public long matched;   // records matching the filter
+    public long replayed;  // records acknowledged on notification-topic
+    public long failed;    // records that could not be re-published
+    public int ratePerSecond;
+    public Instant startedAt;
+    public Instant finishedAt;
+    public String error;
+}
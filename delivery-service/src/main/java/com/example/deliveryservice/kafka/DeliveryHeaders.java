@@ -0,0 +1,41 @@
+package com.example.deliveryservice.kafka;
+
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Record headers carried by retry and dead letter records.
+ * Values are UTF-8 strings so they stay readable in any Kafka tool.
+ */
+public final class DeliveryHeaders {
+    public static final String ATTEMPT = "delivery-attempt";
+    public static final String DUE_AT = "delivery-due-at";
+    public static final String ERROR_CLASS = "delivery-error-class";
+    public static final String ERROR_MESSAGE = "delivery-error-message";
+    public static final String FAILED_AT = "delivery-failed-at";
+    public static final String REPLAYED_FROM = "delivery-replayed-from"; // partition@offset in notification.dlq
+
+    private DeliveryHeaders() {
+    }
+
+    public static void put(Headers headers, String name, Object value) {
+        if (value != null) headers.add(name, value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String get(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    public static long getLong(Headers headers, String name, long defaultValue) {
+        String value = get(headers, name);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.deliveryservice.kafka.consumer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs tasks in parallel while keeping tasks with the same key in submission order.
+ * Each key has a chain of pending tasks and a new task starts when the previous one for its key
+ * finished; tasks with different keys run on separate workers, virtual threads by default.
+ * {@link #submit(String, Runnable)} blocks while {@code max-in-flight} tasks are pending, which
+ * holds the submitting consumer back instead of buffering without limit.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KeyOrderedExecutor {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${delivery.consumer.parallel.max-in-flight:1000}")
+    private int maxInFlight;
+
+    @Value("${delivery.consumer.parallel.virtual-threads:true}")
+    private boolean virtualThreads;
+
+    @Value("${delivery.consumer.parallel.threads:64}")
+    private int threads; // platform worker threads, only used without virtual threads
+
+    private final Map<String, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private ExecutorService workers;
+    private Semaphore inFlight;
+
+    @PostConstruct
+    void init() {
+        workers = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("delivery-", 0).factory())
+                : Executors.newFixedThreadPool(threads, Thread.ofPlatform().name("delivery-", 0).daemon().factory());
+        inFlight = new Semaphore(maxInFlight);
+        Gauge.builder("delivery.in-flight", this, e -> maxInFlight - e.inFlight.availablePermits())
+                .description("Deliveries submitted and not finished yet")
+                .register(meterRegistry);
+        Gauge.builder("delivery.ordering-keys", tails, Map::size)
+                .description("Ordering keys with pending deliveries")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Deliveries still running at shutdown, they will be redelivered");
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Queue a task behind the pending tasks of its key.
+     * @param key the ordering key
+     * @param task the task to run
+     * @return completes when the task finished and its slot is free, exceptionally if it threw
+     * @throws InterruptedException if interrupted while waiting for a free slot
+     */
+    public CompletableFuture<Void> submit(String key, Runnable task) throws InterruptedException {
+        inFlight.acquire();
+        CompletableFuture<Void> tail = tails.compute(key, (k, previous) -> previous == null
+                ? CompletableFuture.runAsync(task, workers)
+                // the next task runs whether or not the previous one failed
+                : previous.handle((result, e) -> null).thenRunAsync(task, workers));
+        // the returned future completes after the slot is freed, so callers see the in-flight count without the task
+        return tail.whenComplete((result, e) -> {
+            tails.remove(key, tail);
+            inFlight.release();
+        });
+    }
+}
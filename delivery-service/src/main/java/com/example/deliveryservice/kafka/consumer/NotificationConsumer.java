@@ -0,0 +1,187 @@
+package com.example.deliveryservice.kafka.consumer;
+
+import com.example.deliveryservice.kafka.producer.KafkaProducerService;
+import com.example.deliveryservice.service.AdapterLimits;
+import com.example.deliveryservice.service.DeliveryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.events.NotificationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes notifications published by the orchestrator and delivers them.
+ * Each listener thread owns a share of the partitions ({@code delivery.consumer.concurrency}).
+ * In the default parallel mode a listener thread fans its records out to {@link KeyOrderedExecutor},
+ * so many deliveries of one partition are in flight at once while deliveries to the same tenant
+ * and recipient keep their order. The serial mode delivers one record at a time per partition.
+ * Deliveries wait for a slot under the adaptive limit of their adapter, at most one limit deep;
+ * beyond that a slow provider's notifications are deferred to a delay topic, so other channels
+ * keep flowing. Only once every adapter in use has {@code pause-at} of its limit waiting is the
+ * container paused, and it is resumed when one of them is down to {@code resume-at}, keeping the
+ * consumer polling instead of blocking in the listener.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationConsumer {
+    public static final String LISTENER_ID = "delivery-notifications";
+
+    private final DeliveryService deliveryService;
+    private final KeyOrderedExecutor keyOrderedExecutor;
+    private final AdapterLimits adapterLimits;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${delivery.consumer.mode:parallel}")
+    private String mode;
+
+    @Value("${delivery.consumer.parallel.pause-at:0.8}")
+    private double pauseAt; // share of each adapter's limit waiting for a slot
+
+    @Value("${delivery.consumer.parallel.resume-at:0.5}")
+    private double resumeAt;
+
+    @Value("${delivery.consumer.handoff-retry-ms:1000}")
+    private long handoffRetryMs; // wait before a failed notification is delivered again
+
+    private final Object pauseLock = new Object();
+    private volatile boolean paused; // written under pauseLock, together with the container pause
+    private boolean parallel;
+    private Counter handoffFailedCounter;
+    private Counter pausedCounter;
+
+    @PostConstruct
+    void init() {
+        parallel = "parallel".equalsIgnoreCase(mode);
+        handoffFailedCounter = Counter.builder("delivery.handoff.failed")
+                .description("Failed deliveries that could not be handed to a delay or the dead letter topic")
+                .register(meterRegistry);
+        pausedCounter = Counter.builder("delivery.consumer.paused")
+                .description("Times the notification consumer was paused for pending deliveries")
+                .register(meterRegistry);
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            idIsGroup = false,
+            topics = KafkaProducerService.NOTIFICATION_TOPIC,
+            groupId = "${delivery.consumer.group-id:delivery-service-group}",
+            concurrency = "${delivery.consumer.concurrency:1}",
+            containerFactory = "deliveryListenerContainerFactory"
+    )
+    public void listen(ConsumerRecord<String, NotificationEvent> record, Acknowledgment ack) throws InterruptedException {
+        NotificationEvent event = record.value();
+        if (event == null) {
+            log.warn("Skipping empty record at partition {} offset {}", record.partition(), record.offset());
+            ack.acknowledge();
+            return;
+        }
+
+        if (!parallel) {
+            try {
+                deliver(record);
+                ack.acknowledge();
+            } catch (RuntimeException e) {
+                handoffFailed(record, e);
+                ack.nack(Duration.ofMillis(handoffRetryMs)); // seek back, the record is delivered again
+            }
+            return;
+        }
+        keyOrderedExecutor.submit(orderingKey(record), () -> deliverUntilHandedOff(record))
+                .whenComplete((result, e) -> {
+                    if (e == null) {
+                        ack.acknowledge();
+                    } else {
+                        // the offset stays uncommitted and the record is consumed again after a restart or rebalance
+                        log.warn("Notification {} left unacknowledged: {}", record.value().getId(), e.getMessage());
+                    }
+                    resumeIfDrained();
+                });
+        pauseIfSaturated();
+    }
+
+    /**
+     * The flag and the container are switched under one lock; a worker resuming between the flag
+     * and the pause of the listener thread would otherwise leave the container paused for good.
+     */
+    private void pauseIfSaturated() {
+        if (!adapterLimits.allBacklogged(pauseAt)) return;
+        synchronized (pauseLock) {
+            if (paused || !adapterLimits.allBacklogged(pauseAt)) return;
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+            if (container != null) container.pause();
+            paused = true;
+        }
+        pausedCounter.increment();
+        log.debug("Paused notification consumer, every adapter has {} of its limit waiting", pauseAt);
+    }
+
+    private void resumeIfDrained() {
+        if (!paused) return;
+        synchronized (pauseLock) {
+            if (!paused || adapterLimits.allBacklogged(resumeAt)) return;
+            MessageListenerContainer container = listenerRegistry.getListenerContainer(LISTENER_ID);
+            if (container != null) container.resume();
+            paused = false;
+        }
+        log.debug("Resumed notification consumer");
+    }
+
+    /**
+     * Deliver and wait until the outcome is published, so the offset is only committed once the
+     * notification is delivered, parked on a delay topic or dead-lettered.
+     * @throws RuntimeException if a failed notification could not be handed off
+     */
+    private void deliver(ConsumerRecord<String, NotificationEvent> record) {
+        log.debug("Delivering notification {} from partition {} offset {}",
+                record.value().getId(), record.partition(), record.offset());
+        deliveryService.deliver(record.value()).join();
+    }
+
+    /**
+     * Workers cannot seek the consumer back, so a failed hand-off is retried in place. The worker keeps
+     * its place in the chain of the ordering key, later notifications to the recipient wait behind it.
+     */
+    private void deliverUntilHandedOff(ConsumerRecord<String, NotificationEvent> record) {
+        while (true) {
+            try {
+                deliver(record);
+                return;
+            } catch (RuntimeException e) {
+                handoffFailed(record, e);
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(handoffRetryMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted before notification " + record.value().getId() + " was handed off", e);
+            }
+        }
+    }
+
+    private void handoffFailed(ConsumerRecord<String, NotificationEvent> record, RuntimeException e) {
+        handoffFailedCounter.increment();
+        log.error("Notification {} from partition {} offset {} could not be handed off, delivering it again",
+                record.value().getId(), record.partition(), record.offset(), e);
+    }
+
+    private static String orderingKey(ConsumerRecord<String, NotificationEvent> record) {
+        NotificationEvent event = record.value();
+        if (event.getTenantId() == null || event.getRecipient() == null) {
+            return record.key() != null ? record.key() : String.valueOf(record.partition());
+        }
+        return event.getTenantId() + '|' + event.getRecipient();
+    }
+}
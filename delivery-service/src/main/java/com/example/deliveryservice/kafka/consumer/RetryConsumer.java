@@ -0,0 +1,88 @@
+package com.example.deliveryservice.kafka.consumer;
+
+import com.example.deliveryservice.kafka.DeliveryHeaders;
+import com.example.deliveryservice.service.DeliveryService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.example.events.NotificationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes the delay topics and delivers each notification once its due time is reached.
+ * Records of one delay topic are due in roughly the order they were written, so when the head of
+ * a partition is not due yet only that partition is paused until it is, and the record is
+ * fetched again after the resume. Other partitions and the main topic keep flowing.
+ * Deliveries run on the listener thread, so they do not wait for a slot of their adapter; a
+ * notification whose adapter is busy is deferred again under the same attempt number.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RetryConsumer {
+    public static final String LISTENER_ID = "delivery-retry";
+
+    private final DeliveryService deliveryService;
+    private final KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Value("${delivery.consumer.handoff-retry-ms:1000}")
+    private long handoffRetryMs;
+
+    private final ScheduledExecutorService resumeExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("delivery-retry-resume").daemon().factory());
+
+    @PreDestroy
+    void shutdown() {
+        resumeExecutor.shutdownNow();
+    }
+
+    @KafkaListener(
+            id = LISTENER_ID,
+            topics = "#{@retryPolicy.topicNames()}",
+            groupId = "${delivery.retry.group-id:delivery-service-retry}",
+            concurrency = "${delivery.retry.concurrency:1}",
+            containerFactory = "retryListenerContainerFactory"
+    )
+    public void listen(ConsumerRecord<String, NotificationEvent> record, Acknowledgment ack) {
+        long waitMs = DeliveryHeaders.getLong(record.headers(), DeliveryHeaders.DUE_AT, 0) - System.currentTimeMillis();
+        if (waitMs > 0) {
+            pauseUntilDue(new TopicPartition(record.topic(), record.partition()), waitMs);
+            ack.nack(Duration.ZERO); // seek back so this record is fetched again after the resume
+            return;
+        }
+
+        if (record.value() == null) {
+            ack.acknowledge();
+            return;
+        }
+        int attempt = (int) DeliveryHeaders.getLong(record.headers(), DeliveryHeaders.ATTEMPT, 2);
+        try {
+            deliveryService.deliver(record.value(), attempt, false).join();
+        } catch (RuntimeException e) {
+            log.error("Retried notification {} could not be handed off, delivering it again", record.value().getId(), e);
+            ack.nack(Duration.ofMillis(handoffRetryMs)); // seek back, the record is delivered again
+            return;
+        }
+        ack.acknowledge();
+    }
+
+    private void pauseUntilDue(TopicPartition partition, long waitMs) {
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer(LISTENER_ID);
+        if (container == null) return;
+        log.debug("Pausing {} for {} ms", partition, waitMs);
+        container.pausePartition(partition);
+        resumeExecutor.schedule(() -> container.resumePartition(partition), waitMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -1,19 +1,80 @@
 package com.example.deliveryservice.kafka.producer;
 
+import com.example.deliveryservice.kafka.DeliveryHeaders;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.example.events.NotificationResultEvent;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import org.example.events.NotificationEvent;
 
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerService {
+    public static final String NOTIFICATION_TOPIC = "notification-topic";
+    public static final String NOTIFICATION_RESULT_TOPIC = "notification.result";
+    public static final String NOTIFICATION_DLQ_TOPIC = "notification.dlq";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
 
     public void sendMessage(NotificationEvent eventDto) {
         log.info("Sending message to kafka: {}", eventDto);
-        kafkaTemplate.send("notification-topic", eventDto);
+        kafkaTemplate.send(NOTIFICATION_TOPIC, eventDto);
+    }
+
+    /**
+     * Publish the outcome of a delivery, keyed by tenant so tenant-service debits each tenant
+     * from one partition.
+     * @param result the delivery outcome
+     * @return completes once the broker acknowledged the event
+     */
+    public CompletableFuture<SendResult<String, Object>> sendResult(NotificationResultEvent result) {
+        log.debug("Publishing delivery result: {}", result);
+        return kafkaTemplate.send(NOTIFICATION_RESULT_TOPIC, result.getTenantId(), result);
+    }
+
+    /**
+     * Park a notification on a delay topic until its next attempt is due.
+     * @param topic the delay topic
+     * @param event the notification
+     * @param nextAttempt the number of the next attempt
+     * @param dueAt when the next attempt may start
+     * @param error the failure of the previous attempt
+     * @return completes once the broker acknowledged the record
+     */
+    public CompletableFuture<SendResult<String, Object>> sendRetry(String topic, NotificationEvent event, int nextAttempt,
+                                                                   Instant dueAt, Throwable error) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(topic, event.getTenantId(), event);
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.ATTEMPT, nextAttempt);
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.DUE_AT, dueAt.toEpochMilli());
+        putError(record, error);
+        return kafkaTemplate.send(record);
+    }
+
+    /**
+     * Publish a notification that will not be delivered to the dead letter topic, with the
+     * failure in the record headers.
+     * @param event the notification
+     * @param attempts the number of attempts made
+     * @param error the last failure
+     * @return completes once the broker acknowledged the record
+     */
+    public CompletableFuture<SendResult<String, Object>> sendDeadLetter(NotificationEvent event, int attempts, Throwable error) {
+        ProducerRecord<String, Object> record = new ProducerRecord<>(NOTIFICATION_DLQ_TOPIC, event.getTenantId(), event);
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.ATTEMPT, attempts);
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.FAILED_AT, Instant.now().toEpochMilli());
+        putError(record, error);
+        return kafkaTemplate.send(record);
+    }
+
+    private void putError(ProducerRecord<String, Object> record, Throwable error) {
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.ERROR_CLASS, error.getClass().getSimpleName());
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.ERROR_MESSAGE, error.getMessage());
     }
 }
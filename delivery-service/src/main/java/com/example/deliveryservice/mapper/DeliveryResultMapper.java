@@ -0,0 +1,28 @@
+package com.example.deliveryservice.mapper;
+
+import org.example.events.NotificationEvent;
+import org.example.events.NotificationResultEvent;
+import org.example.events.enums.DeliveryStatus;
+
+import java.time.Instant;
+
+public class DeliveryResultMapper {
+
+    /**
+     * Build the notification.result event for a delivery attempt.
+     * @param event the delivered notification
+     * @param error the failure, null when the notification was delivered
+     * @return the result event
+     */
+    public static NotificationResultEvent toResult(NotificationEvent event, Throwable error) {
+        return NotificationResultEvent.newBuilder()
+                .setMessageId(event.getId())
+                .setTenantId(event.getTenantId())
+                .setChannel(event.getChannel())
+                .setStatus(error == null ? DeliveryStatus.DELIVERED : DeliveryStatus.FAILED)
+                .setReason(error == null ? null : error.getMessage())
+                .setErrorClass(error == null ? null : error.getClass().getSimpleName())
+                .setOccurredAt(Instant.now())
+                .build();
+    }
+}
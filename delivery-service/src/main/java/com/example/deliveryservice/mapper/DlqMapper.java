@@ -0,0 +1,44 @@
+package com.example.deliveryservice.mapper;
+
+import com.example.deliveryservice.dto.response.DlqRecordResponse;
+import com.example.deliveryservice.dto.response.DlqReplayResponse;
+import com.example.deliveryservice.kafka.DeliveryHeaders;
+import com.example.deliveryservice.service.DlqReplayJob;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.events.NotificationEvent;
+
+import java.time.Instant;
+
+public class DlqMapper {
+
+    public static DlqRecordResponse toDto(ConsumerRecord<String, NotificationEvent> record) {
+        NotificationEvent event = record.value();
+        DlqRecordResponse dto = new DlqRecordResponse();
+        dto.setPartition(record.partition());
+        dto.setOffset(record.offset());
+        dto.setDeadLetteredAt(Instant.ofEpochMilli(record.timestamp()));
+        dto.setNotificationId(event.getId() == null ? null : event.getId().toString());
+        dto.setTenantId(event.getTenantId());
+        dto.setChannel(event.getChannel());
+        dto.setRecipient(event.getRecipient());
+        dto.setAttempts((int) DeliveryHeaders.getLong(record.headers(), DeliveryHeaders.ATTEMPT, 0));
+        dto.setErrorClass(DeliveryHeaders.get(record.headers(), DeliveryHeaders.ERROR_CLASS));
+        dto.setErrorMessage(DeliveryHeaders.get(record.headers(), DeliveryHeaders.ERROR_MESSAGE));
+        return dto;
+    }
+
+    public static DlqReplayResponse toDto(DlqReplayJob job) {
+        DlqReplayResponse dto = new DlqReplayResponse();
+        dto.setId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setScanned(job.getScanned().get());
+        dto.setMatched(job.getMatched().get());
+        dto.setReplayed(job.getReplayed().get());
+        dto.setFailed(job.getFailed().get());
+        dto.setRatePerSecond(job.getRatePerSecond());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setError(job.getError());
+        return dto;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.deliveryservice.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One {@link AdaptiveConcurrencyLimit} per channel adapter, so every provider settles at its own
+ * capacity. The live limit, the calls in flight and the calls waiting for a slot are exported as
+ * gauges tagged with the adapter.
+ */
+@Component
+@RequiredArgsConstructor
+public class AdapterLimits {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${delivery.limits.initial:20}")
+    private int initialLimit;
+
+    @Value("${delivery.limits.min:1}")
+    private int minLimit;
+
+    @Value("${delivery.limits.max:500}")
+    private int maxLimit;
+
+    @Value("${delivery.limits.backoff:0.9}")
+    private double backoff;
+
+    @Value("${delivery.limits.latency-tolerance:2.0}")
+    private double latencyTolerance; // round trips slower than this times the average count as congestion
+
+    @Value("${delivery.limits.acquire-timeout:30s}")
+    private String acquireTimeout;
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = new ConcurrentHashMap<>();
+    private AdaptiveConcurrencyLimit.Settings settings;
+
+    @PostConstruct
+    void init() {
+        settings = new AdaptiveConcurrencyLimit.Settings(initialLimit, minLimit, maxLimit, backoff,
+                latencyTolerance, DurationStyle.detectAndParse(acquireTimeout).toNanos());
+    }
+
+    /**
+     * @param adapter the adapter name
+     * @return the limit of the adapter, created on first use
+     */
+    public AdaptiveConcurrencyLimit forAdapter(String adapter) {
+        return limits.computeIfAbsent(adapter, this::create);
+    }
+
+    /**
+     * @param share of the limit, from 0 to 1
+     * @return true if every adapter in use has at least that share of its limit waiting for a slot,
+     *         false while any of them can take more deliveries or none is in use
+     */
+    public boolean allBacklogged(double share) {
+        boolean inUse = false;
+        for (AdaptiveConcurrencyLimit limit : limits.values()) {
+            if (limit.isIdle()) continue;
+            if (!limit.isBacklogged(share)) return false;
+            inUse = true;
+        }
+        return inUse;
+    }
+
+    private AdaptiveConcurrencyLimit create(String adapter) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(settings);
+        Gauge.builder("delivery.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .tag("adapter", adapter)
+                .description("Current concurrency limit of the adapter")
+                .register(meterRegistry);
+        Gauge.builder("delivery.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .tag("adapter", adapter)
+                .description("Calls to the adapter in progress")
+                .register(meterRegistry);
+        Gauge.builder("delivery.concurrency.waiting", limit, AdaptiveConcurrencyLimit::getWaiting)
+                .tag("adapter", adapter)
+                .description("Deliveries waiting for a free slot of the adapter")
+                .register(meterRegistry);
+        return limit;
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.deliveryservice.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit of one provider, adjusted by AIMD on the observed round trips.
+ * Each successful call while the limit is in use adds {@code 1 / limit}, so the limit grows by
+ * about one per round trip. A failed call, or a call slower than {@code latencyTolerance} times
+ * the long term average, multiplies the limit by {@code backoff}, at most once per recent round
+ * trip so one burst of failures counts as one congestion signal. Failures the provider is not to
+ * blame for, like a rejected recipient, are ignored.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double BASELINE_ALPHA = 0.01;
+    private static final double RECENT_ALPHA = 0.2;
+    private static final int WARMUP_SAMPLES = 10; // round trips before latency may lower the limit
+
+    public record Settings(int initialLimit, int minLimit, int maxLimit, double backoff,
+                           double latencyTolerance, long acquireTimeoutNanos) {
+    }
+
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private long samples;
+    private double baselineRttNanos;
+    private double recentRttNanos;
+    private long nextDecreaseNanos;
+
+    public AdaptiveConcurrencyLimit(Settings settings) {
+        this(settings, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimit(Settings settings, LongSupplier nanoClock) {
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.limit = Math.clamp(settings.initialLimit(), settings.minLimit(), settings.maxLimit());
+        this.nextDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take a slot, waiting up to the acquire timeout while the limit is used up.
+     * At most one limit of callers wait, later ones are turned away at once so a slow provider
+     * cannot tie up every worker.
+     * Every acquired slot must be given back through exactly one of {@link #onSuccess(long)},
+     * {@link #onDropped()} or {@link #onIgnored()}.
+     * @return false if no slot was freed in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire() throws InterruptedException {
+        return acquire(settings.acquireTimeoutNanos());
+    }
+
+    /**
+     * Take a slot only if one is free now.
+     * @return false if the limit is used up
+     * @see #acquire()
+     */
+    public boolean tryAcquire() {
+        try {
+            return acquire(0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean acquire(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight >= (int) limit && (timeoutNanos <= 0 || waiting >= (int) limit)) return false;
+            long remaining = timeoutNanos;
+            waiting++;
+            try {
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) return false;
+                    remaining = released.awaitNanos(remaining);
+                }
+            } finally {
+                waiting--;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The provider accepted the call.
+     * @param rttNanos how long the call took
+     */
+    public void onSuccess(long rttNanos) {
+        lock.lock();
+        try {
+            boolean congested = samples >= WARMUP_SAMPLES
+                    && rttNanos > baselineRttNanos * settings.latencyTolerance();
+            sample(rttNanos);
+            if (congested) {
+                decrease();
+            } else if (inFlight * 2 >= limit) {
+                // only grow a limit that is actually used, an idle provider proves nothing
+                limit = Math.min(settings.maxLimit(), limit + 1 / limit);
+            }
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The call failed in a way that points at an overloaded provider, e.g. a timeout or a 429.
+     */
+    public void onDropped() {
+        lock.lock();
+        try {
+            decrease();
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The call failed for reasons unrelated to the provider capacity.
+     */
+    public void onIgnored() {
+        lock.lock();
+        try {
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getWaiting() {
+        lock.lock();
+        try {
+            return waiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return true if neither calls nor waiters are pending
+     */
+    public boolean isIdle() {
+        lock.lock();
+        try {
+            return inFlight == 0 && waiting == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param share of the limit, from 0 to 1
+     * @return true if at least that share of the limit is waiting for a slot
+     */
+    public boolean isBacklogged(double share) {
+        lock.lock();
+        try {
+            return waiting > 0 && waiting >= share * (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void sample(long rttNanos) {
+        if (samples++ == 0) {
+            baselineRttNanos = rttNanos;
+            recentRttNanos = rttNanos;
+            return;
+        }
+        baselineRttNanos += BASELINE_ALPHA * (rttNanos - baselineRttNanos);
+        recentRttNanos += RECENT_ALPHA * (rttNanos - recentRttNanos);
+    }
+
+    private void decrease() {
+        long now = nanoClock.getAsLong();
+        if (now - nextDecreaseNanos < 0) return;
+        limit = Math.max(settings.minLimit(), limit * settings.backoff());
+        nextDecreaseNanos = now + Math.max((long) recentRttNanos, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private void release() {
+        inFlight--;
+        released.signal();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.deliveryservice.service;
+
+import com.example.deliveryservice.adapter.ChannelAdapter;
+import com.example.deliveryservice.common.exception.PermanentDeliveryException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the channel adapter for a notification.
+ * Channels are mapped to adapter names under {@code delivery.routes}, e.g. {@code email: smtp};
+ * channels without a route use {@code delivery.default-adapter}. A route to an adapter that is not
+ * available, like smtp without {@code spring.mail.host}, fails startup rather than quietly
+ * delivering that channel through the default.
+ */
+@Service
+@Slf4j
+public class ChannelRouter {
+    private final Map<String, ChannelAdapter> adaptersByChannel = new HashMap<>();
+    private final ChannelAdapter defaultAdapter;
+
+    public ChannelRouter(List<ChannelAdapter> adapters,
+                         Environment environment,
+                         @Value("${delivery.default-adapter:log}") String defaultAdapterName) {
+        Map<String, ChannelAdapter> adaptersByName = adapters.stream()
+                .collect(Collectors.toMap(ChannelAdapter::name, Function.identity()));
+        this.defaultAdapter = adaptersByName.get(defaultAdapterName);
+
+        Map<String, String> routes = Binder.get(environment)
+                .bind("delivery.routes", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        Map<String, String> missing = new TreeMap<>();
+        routes.forEach((channel, adapterName) -> {
+            ChannelAdapter adapter = adaptersByName.get(adapterName);
+            if (adapter == null) {
+                missing.put(channel, adapterName);
+                return;
+            }
+            adaptersByChannel.put(normalize(channel), adapter);
+        });
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("delivery.routes names adapters that are not available: " + missing
+                    + ", available: " + new TreeSet<>(adaptersByName.keySet()));
+        }
+        log.info("Channel routes: {}, default: {}", adaptersByChannel.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().name())), defaultAdapterName);
+    }
+
+    /**
+     * @param channel the channel of the notification
+     * @return the adapter delivering that channel
+     * @throws PermanentDeliveryException if no adapter handles the channel
+     */
+    public ChannelAdapter route(String channel) {
+        ChannelAdapter adapter = channel == null ? null : adaptersByChannel.get(normalize(channel));
+        if (adapter != null) return adapter;
+        if (defaultAdapter != null) return defaultAdapter;
+        throw new PermanentDeliveryException("No adapter for channel " + channel);
+    }
+
+    private static String normalize(String channel) {
+        return channel.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.deliveryservice.service;
+
+import com.example.deliveryservice.adapter.ChannelAdapter;
+import com.example.deliveryservice.common.exception.PermanentDeliveryException;
+import com.example.deliveryservice.common.exception.SlotUnavailableException;
+import com.example.deliveryservice.kafka.producer.KafkaProducerService;
+import com.example.deliveryservice.mapper.DeliveryResultMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.events.NotificationEvent;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers one notification through its channel adapter and routes the outcome.
+ * A delivered notification is reported on notification.result. A transient failure is parked on
+ * a delay topic for a later attempt, see {@link RetryPolicy}; a permanent failure, or one that
+ * used up its attempts, goes to notification.dlq and is reported as FAILED.
+ * Calls to an adapter are held to its adaptive concurrency limit, see {@link AdapterLimits}; a
+ * delivery that finds no free slot within the acquire timeout never reached the provider, so it
+ * is deferred to the first delay topic under the same attempt number.
+ * Every attempt is timed per channel, adapter and result, including the wait for a slot; the
+ * timer counts double as the per-channel throughput.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DeliveryService {
+    private static final String UNKNOWN_CHANNEL = "unknown";
+
+    private final ChannelRouter channelRouter;
+    private final AdapterLimits adapterLimits;
+    private final KafkaProducerService kafkaProducerService;
+    private final RetryPolicy retryPolicy;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * First delivery attempt of a notification.
+     * @see #deliver(NotificationEvent, int)
+     */
+    public CompletableFuture<?> deliver(NotificationEvent event) {
+        return deliver(event, 1);
+    }
+
+    /**
+     * Delivery attempt that waits for a slot of the adapter.
+     * @see #deliver(NotificationEvent, int, boolean)
+     */
+    public CompletableFuture<?> deliver(NotificationEvent event, int attempt) {
+        return deliver(event, attempt, true);
+    }
+
+    /**
+     * Send a notification and publish where it goes next.
+     * Adapter failures are routed to a retry or the dead letter topic rather than thrown.
+     * @param event the notification to deliver
+     * @param attempt the number of this attempt, starting at 1
+     * @param waitForSlot false to defer the notification right away when its adapter has no free
+     *                    slot, for callers that must not block
+     * @return completes once the records describing the outcome were acknowledged by the broker, fails
+     *         if a failed notification could not be handed to a delay or the dead letter topic, in
+     *         which case the caller must not commit its offset
+     */
+    public CompletableFuture<?> deliver(NotificationEvent event, int attempt, boolean waitForSlot) {
+        String channel = event.getChannel() == null ? UNKNOWN_CHANNEL : event.getChannel().toLowerCase(Locale.ROOT);
+        Throwable error = send(event, channel, waitForSlot);
+
+        if (event.getId() == null || event.getTenantId() == null) {
+            log.warn("Notification without id or tenant, outcome not published: {}", event);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (error == null) {
+            // the notification reached its provider, redelivering it for a lost result would send it twice
+            return kafkaProducerService.sendResult(DeliveryResultMapper.toResult(event, null))
+                    .exceptionally(e -> {
+                        counter("delivery.result.unreported", "channel", channel).increment();
+                        log.error("Result of delivered notification {} was not published", event.getId(), e);
+                        return null;
+                    });
+        }
+
+        if (error instanceof SlotUnavailableException && retryPolicy.hasDelayTopics()) {
+            // nothing reached the provider, the same attempt is made again later
+            String topic = retryPolicy.topicFor(1);
+            Instant dueAt = Instant.now().plus(retryPolicy.delayFor(1));
+            counter("delivery.deferred", "channel", channel).increment();
+            log.debug("Deferring notification {} to {} at {}, no slot for its adapter", event.getId(), topic, dueAt);
+            return kafkaProducerService.sendRetry(topic, event, attempt, dueAt, error);
+        }
+
+        if (retryPolicy.shouldRetry(attempt, error)) {
+            String topic = retryPolicy.topicFor(attempt);
+            Instant dueAt = Instant.now().plus(retryPolicy.delayFor(attempt));
+            counter("delivery.retry", "topic", topic).increment();
+            log.debug("Retrying notification {} on {} at {}", event.getId(), topic, dueAt);
+            return kafkaProducerService.sendRetry(topic, event, attempt + 1, dueAt, error);
+        }
+
+        counter("delivery.dead-letter", "channel", channel).increment();
+        log.warn("Dead-lettering notification {} after {} attempts: {}", event.getId(), attempt, error.getMessage());
+        return CompletableFuture.allOf(
+                kafkaProducerService.sendDeadLetter(event, attempt, error),
+                kafkaProducerService.sendResult(DeliveryResultMapper.toResult(event, error)));
+    }
+
+    /**
+     * @return the failure, null if the adapter accepted the notification
+     */
+    private Throwable send(NotificationEvent event, String channel, boolean waitForSlot) {
+        String adapterName = "none";
+        Throwable error = null;
+        long start = System.nanoTime();
+        try {
+            ChannelAdapter adapter = channelRouter.route(event.getChannel());
+            adapterName = adapter.name();
+            sendWithinLimit(adapter, event, waitForSlot);
+        } catch (RuntimeException e) {
+            error = e;
+            log.warn("Delivery of notification {} over {} failed: {}", event.getId(), channel, e.getMessage());
+        }
+        long elapsed = System.nanoTime() - start;
+
+        String result = error == null ? "delivered" : error instanceof SlotUnavailableException ? "deferred" : "failed";
+        timer("delivery.send", channel, adapterName, result).record(elapsed, TimeUnit.NANOSECONDS);
+        if (error == null && event.getCreatedAt() != null) {
+            timer("delivery.end-to-end", channel, adapterName, result)
+                    .record(Duration.between(event.getCreatedAt(), Instant.now()));
+        }
+        return error;
+    }
+
+    /**
+     * Call the adapter in one of its slots and feed the round trip back into its limit.
+     * Permanent failures are the notification's fault, not a sign of an overloaded provider.
+     */
+    private void sendWithinLimit(ChannelAdapter adapter, NotificationEvent event, boolean waitForSlot) {
+        AdaptiveConcurrencyLimit limit = adapterLimits.forAdapter(adapter.name());
+        try {
+            if (!(waitForSlot ? limit.acquire() : limit.tryAcquire())) {
+                throw new SlotUnavailableException("No free slot for adapter " + adapter.name()
+                        + " at concurrency limit " + limit.getLimit());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SlotUnavailableException("Interrupted waiting for adapter " + adapter.name(), e);
+        }
+
+        long start = System.nanoTime();
+        try {
+            adapter.send(event);
+        } catch (PermanentDeliveryException e) {
+            limit.onIgnored();
+            throw e;
+        } catch (RuntimeException e) {
+            limit.onDropped();
+            throw e;
+        }
+        limit.onSuccess(System.nanoTime() - start);
+    }
+
+    private Timer timer(String name, String channel, String adapter, String result) {
+        return timers.computeIfAbsent(name + '|' + channel + '|' + adapter + '|' + result, key -> Timer.builder(name)
+                .tag("channel", channel)
+                .tag("adapter", adapter)
+                .tag("result", result)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Counter counter(String name, String tag, String value) {
+        return counters.computeIfAbsent(name + '|' + value, key -> Counter.builder(name)
+                .tag(tag, value)
+                .register(meterRegistry));
+    }
+}
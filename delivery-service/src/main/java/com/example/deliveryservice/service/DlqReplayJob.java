@@ -0,0 +1,47 @@
+package com.example.deliveryservice.service;
+
+import com.example.deliveryservice.dto.request.DlqQueryRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one DLQ replay, updated by the replay thread and read by the API
+ */
+@Getter
+@RequiredArgsConstructor
+public class DlqReplayJob {
+    public enum Status { RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private final String id;
+    private final DlqQueryRequest query;
+    private final int ratePerSecond;
+    private final Long maxRecords;
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile boolean cancelRequested;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public boolean isDone() {
+        return status != Status.RUNNING;
+    }
+
+    void cancel() {
+        cancelRequested = true;
+    }
+
+    void finish(Status status, String error) {
+        this.error = error;
+        this.finishedAt = Instant.now();
+        this.status = status;
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.deliveryservice.service;
+
+import com.example.deliveryservice.common.exception.ApiErrorMessage;
+import com.example.deliveryservice.common.exception.BaseException;
+import com.example.deliveryservice.dto.request.DlqQueryRequest;
+import com.example.deliveryservice.dto.request.DlqReplayRequest;
+import com.example.deliveryservice.dto.response.DlqRecordResponse;
+import com.example.deliveryservice.kafka.DeliveryHeaders;
+import com.example.deliveryservice.kafka.producer.KafkaProducerService;
+import com.example.deliveryservice.mapper.DlqMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.example.events.NotificationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Reads notification.dlq for inspection and replays dead-lettered notifications.
+ * Both stream the topic with a consumer of their own that is assigned every partition, starts
+ * at the first record of the time range ({@code offsetsForTimes}) and stops at the end offsets
+ * seen when the scan began, so nothing is committed and only one poll is held in memory.
+ * Replays re-publish matching records to notification-topic in acknowledged batches, paced to
+ * the requested rate, and run in the background with their progress kept by {@link DlqReplayJob}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DlqService {
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+
+    private final ConsumerFactory<String, Object> consumerFactory;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Value("${delivery.dlq.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${delivery.dlq.query.max-results:1000}")
+    private int maxResults;
+
+    @Value("${delivery.dlq.replay.rate-per-second:1000}")
+    private int defaultRatePerSecond;
+
+    @Value("${delivery.dlq.replay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${delivery.dlq.replay.max-running:2}")
+    private int maxRunning;
+
+    @Value("${delivery.dlq.replay.retained:100}")
+    private int retainedJobs; // finished jobs kept for progress queries
+
+    private final Map<String, DlqReplayJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService replayExecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("dlq-replay-", 0).factory());
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(DlqReplayJob::cancel);
+        replayExecutor.shutdown();
+    }
+
+    /**
+     * Find dead-lettered notifications.
+     * @param query the filter
+     * @param limit the maximum number of records to return, capped by {@code delivery.dlq.query.max-results}
+     * @return the matching records in partition order
+     * @throws BaseException INVALID_DLQ_QUERY if the time range is empty
+     */
+    public List<DlqRecordResponse> query(DlqQueryRequest query, int limit) {
+        validate(query);
+        int max = Math.min(Math.max(limit, 1), maxResults);
+        List<DlqRecordResponse> out = new ArrayList<>();
+        scan(query, () -> false, (record, matches) -> {
+            if (matches) out.add(DlqMapper.toDto(record));
+            return out.size() < max;
+        });
+        return out;
+    }
+
+    /**
+     * Start replaying the matching records to notification-topic in the background.
+     * @param request the filter, rate and record limit
+     * @return the job tracking the replay
+     * @throws BaseException INVALID_DLQ_QUERY if the time range is empty, DLQ_REPLAY_LIMIT if too many replays run
+     */
+    public DlqReplayJob startReplay(DlqReplayRequest request) {
+        validate(request);
+        int rate = request.getRatePerSecond() != null && request.getRatePerSecond() > 0
+                ? request.getRatePerSecond() : defaultRatePerSecond;
+        DlqReplayJob job = new DlqReplayJob(UUID.randomUUID().toString(), request, rate, request.getMaxRecords());
+
+        // the running count and the insert are one step, so concurrent starts cannot both pass the limit
+        synchronized (jobs) {
+            if (jobs.values().stream().filter(running -> !running.isDone()).count() >= maxRunning) {
+                throw new BaseException(ApiErrorMessage.DLQ_REPLAY_LIMIT);
+            }
+            evictFinishedJobs();
+            jobs.put(job.getId(), job);
+        }
+        replayExecutor.execute(() -> runReplay(job));
+        log.info("Started DLQ replay {} at {} records/s", job.getId(), rate);
+        return job;
+    }
+
+    /**
+     * @param id the replay id
+     * @return the replay
+     * @throws BaseException DLQ_REPLAY_NOT_FOUND if the replay is unknown or no longer retained
+     */
+    public DlqReplayJob getReplay(String id) {
+        DlqReplayJob job = jobs.get(id);
+        if (job == null) throw new BaseException(ApiErrorMessage.DLQ_REPLAY_NOT_FOUND);
+        return job;
+    }
+
+    /**
+     * Stop a replay after its current batch.
+     * @param id the replay id
+     * @return the replay
+     */
+    public DlqReplayJob cancelReplay(String id) {
+        DlqReplayJob job = getReplay(id);
+        job.cancel();
+        return job;
+    }
+
+    private void runReplay(DlqReplayJob job) {
+        List<CompletableFuture<SendResult<String, Object>>> batch = new ArrayList<>(batchSize);
+        long startNanos = System.nanoTime();
+        try {
+            scan(job.getQuery(), job::isCancelRequested, (record, matches) -> {
+                job.getScanned().incrementAndGet();
+                if (!matches) return true;
+                job.getMatched().incrementAndGet();
+
+                ProducerRecord<String, Object> replay =
+                        new ProducerRecord<>(KafkaProducerService.NOTIFICATION_TOPIC, record.key(), record.value());
+                DeliveryHeaders.put(replay.headers(), DeliveryHeaders.REPLAYED_FROM, record.partition() + "@" + record.offset());
+                batch.add(kafkaTemplate.send(replay));
+                if (batch.size() >= batchSize) {
+                    completeBatch(job, batch, startNanos);
+                }
+                return job.getMaxRecords() == null || job.getMatched().get() < job.getMaxRecords();
+            });
+            completeBatch(job, batch, startNanos);
+            job.finish(job.isCancelRequested() ? DlqReplayJob.Status.CANCELLED : DlqReplayJob.Status.COMPLETED, null);
+        } catch (RuntimeException e) {
+            log.error("DLQ replay {} failed", job.getId(), e);
+            job.finish(DlqReplayJob.Status.FAILED, e.getMessage());
+        }
+        log.info("DLQ replay {} {}: scanned {}, replayed {}, failed {}", job.getId(), job.getStatus(),
+                job.getScanned().get(), job.getReplayed().get(), job.getFailed().get());
+    }
+
+    /**
+     * Wait for the batch to be acknowledged, then sleep as long as the replay is ahead of its rate.
+     */
+    private void completeBatch(DlqReplayJob job, List<CompletableFuture<SendResult<String, Object>>> batch, long startNanos) {
+        if (batch.isEmpty()) return;
+        kafkaTemplate.flush();
+        for (CompletableFuture<SendResult<String, Object>> future : batch) {
+            try {
+                future.join();
+                job.getReplayed().incrementAndGet();
+            } catch (RuntimeException e) {
+                job.getFailed().incrementAndGet();
+            }
+        }
+        batch.clear();
+
+        long sent = job.getReplayed().get() + job.getFailed().get();
+        long aheadNanos = TimeUnit.SECONDS.toNanos(sent) / job.getRatePerSecond() - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                job.cancel();
+            }
+        }
+    }
+
+    /**
+     * Stream the DLQ from the start of the time range up to the end offsets at the time of the call.
+     * @param visitor called with every record read and whether it matches the query, returns false to stop
+     */
+    private void scan(DlqQueryRequest query, BooleanSupplier cancelled,
+                      BiPredicate<ConsumerRecord<String, NotificationEvent>, Boolean> visitor) {
+        Properties props = new Properties();
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer(null, "dlq-reader", null, props)) {
+            List<PartitionInfo> infos = consumer.partitionsFor(KafkaProducerService.NOTIFICATION_DLQ_TOPIC);
+            if (infos == null || infos.isEmpty()) return;
+            List<TopicPartition> partitions = infos.stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+            seekToStart(consumer, partitions, query);
+
+            Long to = query.getTo() == null ? null : query.getTo().toEpochMilli();
+            Set<TopicPartition> remaining = new HashSet<>(partitions);
+            remaining.removeIf(tp -> consumer.position(tp) >= endOffsets.get(tp));
+            consumer.pause(partitionsDone(partitions, remaining));
+
+            while (!remaining.isEmpty() && !cancelled.getAsBoolean()) {
+                ConsumerRecords<String, Object> records = consumer.poll(POLL_TIMEOUT);
+                for (TopicPartition tp : records.partitions()) {
+                    for (ConsumerRecord<String, Object> record : records.records(tp)) {
+                        if (record.offset() >= endOffsets.get(tp) || (to != null && record.timestamp() > to)) {
+                            remaining.remove(tp);
+                            break;
+                        }
+                        @SuppressWarnings("unchecked")
+                        ConsumerRecord<String, NotificationEvent> event = record.value() instanceof NotificationEvent
+                                ? (ConsumerRecord<String, NotificationEvent>) (ConsumerRecord<?, ?>) record : null;
+                        if (event == null) continue;
+                        if (!visitor.test(event, matches(query, event))) return;
+                    }
+                }
+                remaining.removeIf(tp -> consumer.position(tp) >= endOffsets.get(tp));
+                consumer.pause(partitionsDone(partitions, remaining));
+            }
+        }
+    }
+
+    private void seekToStart(Consumer<String, Object> consumer, List<TopicPartition> partitions, DlqQueryRequest query) {
+        if (query.getFrom() == null) {
+            consumer.seekToBeginning(partitions);
+            return;
+        }
+        Map<TopicPartition, Long> timestamps = new HashMap<>();
+        partitions.forEach(tp -> timestamps.put(tp, query.getFrom().toEpochMilli()));
+        Map<TopicPartition, OffsetAndTimestamp> offsets = consumer.offsetsForTimes(timestamps);
+        List<TopicPartition> noneAfter = new ArrayList<>();
+        for (TopicPartition tp : partitions) {
+            OffsetAndTimestamp offset = offsets.get(tp);
+            if (offset == null) noneAfter.add(tp);
+            else consumer.seek(tp, offset.offset());
+        }
+        consumer.seekToEnd(noneAfter);
+    }
+
+    private static Collection<TopicPartition> partitionsDone(List<TopicPartition> partitions, Set<TopicPartition> remaining) {
+        return partitions.stream().filter(tp -> !remaining.contains(tp)).toList();
+    }
+
+    private static boolean matches(DlqQueryRequest query, ConsumerRecord<String, NotificationEvent> record) {
+        NotificationEvent event = record.value();
+        if (query.getTenantId() != null && !query.getTenantId().equals(event.getTenantId())) return false;
+        if (query.getChannel() != null && !query.getChannel().equalsIgnoreCase(event.getChannel())) return false;
+        if (query.getFrom() != null && record.timestamp() < query.getFrom().toEpochMilli()) return false;
+        return query.getErrorClass() == null
+                || query.getErrorClass().equals(DeliveryHeaders.get(record.headers(), DeliveryHeaders.ERROR_CLASS));
+    }
+
+    private static void validate(DlqQueryRequest query) {
+        if (query.getFrom() != null && query.getTo() != null && query.getFrom().isAfter(query.getTo())) {
+            throw new BaseException(ApiErrorMessage.INVALID_DLQ_QUERY);
+        }
+    }
+
+    private void evictFinishedJobs() {
+        List<DlqReplayJob> finished = jobs.values().stream()
+                .filter(DlqReplayJob::isDone)
+                .sorted((a, b) -> a.getFinishedAt().compareTo(b.getFinishedAt()))
+                .toList();
+        for (int i = 0; i < finished.size() - retainedJobs; i++) {
+            jobs.remove(finished.get(i).getId());
+        }
+    }
+}
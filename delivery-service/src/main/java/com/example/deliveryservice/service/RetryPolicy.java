@@ -0,0 +1,99 @@
+package com.example.deliveryservice.service;
+
+import com.example.deliveryservice.common.exception.PermanentDeliveryException;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ladder of delay topics for failed deliveries.
+ * Attempt n that fails transiently is re-published to the delay topic of tier n, the last tier
+ * being reused for later attempts, with a due time of the tier delay minus up to
+ * {@code jitter} of it so retries of one outage do not arrive in one burst. After
+ * {@code max-attempts}, or on a permanent failure, the notification is dead-lettered.
+ */
+@Component
+public class RetryPolicy {
+    public static final String RETRY_TOPIC_PREFIX = "notification.retry.";
+
+    @Value("${delivery.retry.delays:5s,30s,5m}")
+    private String[] delays;
+
+    @Value("${delivery.retry.max-attempts:4}")
+    private int maxAttempts; // deliveries in total, including the first one
+
+    @Value("${delivery.retry.jitter:0.2}")
+    private double jitter;
+
+    private List<Duration> tierDelays;
+    private String[] topics;
+
+    @PostConstruct
+    void init() {
+        tierDelays = Arrays.stream(delays).map(String::trim).map(DurationStyle::detectAndParse).toList();
+        topics = tierDelays.stream().map(RetryPolicy::topicName).toArray(String[]::new);
+    }
+
+    /**
+     * @return the delay topics, used as the retry listener subscription
+     */
+    public String[] topicNames() {
+        return topics.clone();
+    }
+
+    /**
+     * @return true if at least one delay tier is configured
+     */
+    public boolean hasDelayTopics() {
+        return !tierDelays.isEmpty();
+    }
+
+    /**
+     * @param attempt the attempt that failed, starting at 1
+     * @param error the failure
+     * @return true if the notification should be delivered again
+     */
+    public boolean shouldRetry(int attempt, Throwable error) {
+        return !(error instanceof PermanentDeliveryException) && attempt < maxAttempts && !tierDelays.isEmpty();
+    }
+
+    /**
+     * @param attempt the attempt that failed, starting at 1
+     * @return the delay topic for the next attempt
+     */
+    public String topicFor(int attempt) {
+        return topics[tierOf(attempt)];
+    }
+
+    /**
+     * @param attempt the attempt that failed, starting at 1
+     * @return the delay before the next attempt, with jitter applied
+     */
+    public Duration delayFor(int attempt) {
+        long delayMs = tierDelays.get(tierOf(attempt)).toMillis();
+        long jitterMs = (long) (delayMs * jitter * ThreadLocalRandom.current().nextDouble());
+        return Duration.ofMillis(delayMs - jitterMs);
+    }
+
+    private int tierOf(int attempt) {
+        return Math.min(Math.max(attempt, 1), tierDelays.size()) - 1;
+    }
+
+    /**
+     * @return e.g. {@code notification.retry.30s} or {@code notification.retry.5m}
+     */
+    private static String topicName(Duration delay) {
+        long seconds = delay.toSeconds();
+        String suffix = seconds % 3600 == 0 && seconds > 0 ? seconds / 3600 + "h"
+                : seconds % 60 == 0 && seconds > 0 ? seconds / 60 + "m"
+                : seconds > 0 ? seconds + "s"
+                : delay.toMillis() + "ms";
+        return RETRY_TOPIC_PREFIX + suffix;
+    }
+}
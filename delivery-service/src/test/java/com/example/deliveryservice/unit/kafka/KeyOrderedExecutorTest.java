@@ -0,0 +1,74 @@
+package com.example.deliveryservice.unit.kafka;
+
+import com.example.deliveryservice.kafka.consumer.KeyOrderedExecutor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyOrderedExecutorTest {
+
+    SimpleMeterRegistry meterRegistry;
+    KeyOrderedExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new KeyOrderedExecutor(meterRegistry);
+        ReflectionTestUtils.setField(executor, "maxInFlight", 100);
+        ReflectionTestUtils.setField(executor, "virtualThreads", true);
+        ReflectionTestUtils.invokeMethod(executor, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(executor, "shutdown");
+    }
+
+    @Test
+    void submit_sameKey_runsInSubmissionOrderEvenAfterFailure() throws InterruptedException {
+        List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int n = i;
+            futures.add(executor.submit("tenant-1|a@b.com", () -> {
+                order.add(n);
+                if (n == 10) throw new IllegalStateException("provider down");
+            }));
+        }
+
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        assertEquals(IntStream.range(0, 50).boxed().toList(), order);
+        assertTrue(futures.get(10).isCompletedExceptionally());
+        assertEquals(0.0, meterRegistry.get("delivery.in-flight").gauge().value());
+    }
+
+    @Test
+    void submit_differentKeys_runInParallel() throws Exception {
+        CountDownLatch bothRunning = new CountDownLatch(2);
+        Runnable waitForOther = () -> {
+            bothRunning.countDown();
+            try {
+                assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        CompletableFuture<Void> first = executor.submit("tenant-1|a@b.com", waitForOther);
+        CompletableFuture<Void> second = executor.submit("tenant-1|c@d.com", waitForOther);
+
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.deliveryservice.unit.kafka;
+
+import com.example.deliveryservice.kafka.consumer.KeyOrderedExecutor;
+import com.example.deliveryservice.kafka.consumer.NotificationConsumer;
+import com.example.deliveryservice.service.AdapterLimits;
+import com.example.deliveryservice.service.DeliveryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.events.NotificationEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationConsumerTest {
+
+    @Mock
+    DeliveryService deliveryService;
+
+    @Mock
+    KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    Acknowledgment ack;
+
+    @Mock
+    MessageListenerContainer container;
+
+    @Mock
+    AdapterLimits adapterLimits;
+
+    SimpleMeterRegistry meterRegistry;
+    KeyOrderedExecutor keyOrderedExecutor;
+    NotificationConsumer consumer;
+    ConsumerRecord<String, NotificationEvent> record;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        keyOrderedExecutor = new KeyOrderedExecutor(meterRegistry);
+        ReflectionTestUtils.setField(keyOrderedExecutor, "maxInFlight", 10);
+        ReflectionTestUtils.setField(keyOrderedExecutor, "virtualThreads", true);
+        ReflectionTestUtils.invokeMethod(keyOrderedExecutor, "init");
+
+        consumer = new NotificationConsumer(deliveryService, keyOrderedExecutor, adapterLimits, listenerRegistry, meterRegistry);
+        ReflectionTestUtils.setField(consumer, "pauseAt", 0.8);
+        ReflectionTestUtils.setField(consumer, "resumeAt", 0.5);
+        ReflectionTestUtils.setField(consumer, "handoffRetryMs", 10L);
+
+        NotificationEvent event = NotificationEvent.newBuilder()
+                .setId(UUID.randomUUID())
+                .setTenantId("tenant-1")
+                .setChannel("EMAIL")
+                .setRecipient("a@b.com")
+                .setSubject("Hi")
+                .setContent("Hello")
+                .setCreatedAt(Instant.now())
+                .build();
+        record = new ConsumerRecord<>("notification-topic", 0, 42L, "tenant-1", event);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(keyOrderedExecutor, "shutdown");
+    }
+
+    @Test
+    void listen_serial_whenHandoffFails_thenNackInsteadOfAck() throws Exception {
+        init("serial");
+        doReturn(CompletableFuture.failedFuture(new KafkaException("sendRetry failed")))
+                .when(deliveryService).deliver(record.value());
+
+        consumer.listen(record, ack);
+
+        verify(ack, never()).acknowledge();
+        verify(ack).nack(Duration.ofMillis(10));
+        assertEquals(1, meterRegistry.get("delivery.handoff.failed").counter().count());
+    }
+
+    @Test
+    void listen_parallel_whenHandoffFails_thenDeliverAgainBeforeAck() throws Exception {
+        init("parallel");
+        doReturn(CompletableFuture.failedFuture(new KafkaException("sendRetry failed")), CompletableFuture.completedFuture(null))
+                .when(deliveryService).deliver(record.value());
+
+        consumer.listen(record, ack);
+
+        verify(ack, timeout(5000)).acknowledge();
+        verify(deliveryService, times(2)).deliver(record.value());
+        verify(ack, never()).nack(any(Duration.class));
+        assertEquals(1, meterRegistry.get("delivery.handoff.failed").counter().count());
+    }
+
+    @Test
+    void listen_parallel_whenHandoffKeepsFailing_thenNeverAck() throws Exception {
+        init("parallel");
+        doReturn(CompletableFuture.failedFuture(new KafkaException("sendRetry failed")))
+                .when(deliveryService).deliver(record.value());
+
+        consumer.listen(record, ack);
+
+        verify(deliveryService, timeout(5000).atLeast(3)).deliver(record.value());
+        ((ExecutorService) ReflectionTestUtils.getField(keyOrderedExecutor, "workers")).shutdownNow();
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    void listen_parallel_pausesWhenAdaptersBackloggedAndResumesWhenOneDrained() throws Exception {
+        init("parallel");
+        when(listenerRegistry.getListenerContainer(NotificationConsumer.LISTENER_ID)).thenReturn(container);
+        when(adapterLimits.allBacklogged(0.8)).thenReturn(true);
+        when(adapterLimits.allBacklogged(0.5)).thenReturn(true, false);
+        CompletableFuture<Void> provider = new CompletableFuture<>();
+        doReturn(provider).when(deliveryService).deliver(any(NotificationEvent.class));
+
+        consumer.listen(recordTo("a@b.com", 1), ack);
+        consumer.listen(recordTo("c@d.com", 2), ack);
+
+        verify(container).pause();
+        verify(container, never()).resume();
+        assertEquals(1, meterRegistry.get("delivery.consumer.paused").counter().count());
+
+        provider.complete(null);
+
+        verify(ack, timeout(5000).times(2)).acknowledge();
+        verify(container, timeout(5000)).resume();
+        InOrder inOrder = inOrder(container);
+        inOrder.verify(container).pause();
+        inOrder.verify(container).resume();
+
+        // paused again once backlogged again, the flag followed the container
+        CompletableFuture<Void> slowAgain = new CompletableFuture<>();
+        doReturn(slowAgain).when(deliveryService).deliver(any(NotificationEvent.class));
+        consumer.listen(recordTo("e@f.com", 3), ack);
+        verify(container, times(2)).pause();
+        slowAgain.complete(null);
+    }
+
+    @Test
+    void listen_parallel_whenSomeAdapterCanTakeMore_thenKeepConsuming() throws Exception {
+        init("parallel");
+        when(adapterLimits.allBacklogged(0.8)).thenReturn(false);
+        doReturn(CompletableFuture.completedFuture(null)).when(deliveryService).deliver(record.value());
+
+        consumer.listen(record, ack);
+
+        verify(ack, timeout(5000)).acknowledge();
+        verifyNoInteractions(listenerRegistry);
+    }
+
+    private ConsumerRecord<String, NotificationEvent> recordTo(String recipient, long offset) {
+        NotificationEvent event = NotificationEvent.newBuilder(record.value())
+                .setId(UUID.randomUUID())
+                .setRecipient(recipient)
+                .build();
+        return new ConsumerRecord<>("notification-topic", 0, offset, "tenant-1", event);
+    }
+
+    private void init(String mode) {
+        ReflectionTestUtils.setField(consumer, "mode", mode);
+        ReflectionTestUtils.invokeMethod(consumer, "init");
+    }
+}
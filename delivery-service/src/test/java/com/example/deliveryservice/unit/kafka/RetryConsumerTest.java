@@ -0,0 +1,106 @@
+package com.example.deliveryservice.unit.kafka;
+
+import com.example.deliveryservice.kafka.DeliveryHeaders;
+import com.example.deliveryservice.kafka.consumer.RetryConsumer;
+import com.example.deliveryservice.service.DeliveryService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.example.events.NotificationEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetryConsumerTest {
+    private static final String TOPIC = "notification.retry.30s";
+
+    @Mock
+    DeliveryService deliveryService;
+
+    @Mock
+    KafkaListenerEndpointRegistry listenerRegistry;
+
+    @Mock
+    MessageListenerContainer container;
+
+    @Mock
+    Acknowledgment ack;
+
+    RetryConsumer consumer;
+    NotificationEvent event;
+
+    @BeforeEach
+    void setUp() {
+        consumer = new RetryConsumer(deliveryService, listenerRegistry);
+        ReflectionTestUtils.setField(consumer, "handoffRetryMs", 10L);
+        event = NotificationEvent.newBuilder()
+                .setId(UUID.randomUUID())
+                .setTenantId("tenant-1")
+                .setChannel("EMAIL")
+                .setRecipient("a@b.com")
+                .setSubject("Hi")
+                .setContent("Hello")
+                .setCreatedAt(Instant.now())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(consumer, "shutdown");
+    }
+
+    @Test
+    void listen_whenDue_thenDeliverWithAttemptAndAck() {
+        doReturn(CompletableFuture.completedFuture(null)).when(deliveryService).deliver(event, 3, false);
+
+        consumer.listen(record(Instant.now().minusSeconds(1)), ack);
+
+        verify(ack).acknowledge();
+        verify(ack, never()).nack(any(Duration.class));
+    }
+
+    @Test
+    void listen_whenNotDue_thenPausePartitionAndNack() {
+        when(listenerRegistry.getListenerContainer(RetryConsumer.LISTENER_ID)).thenReturn(container);
+
+        consumer.listen(record(Instant.now().plusSeconds(60)), ack);
+
+        verify(container).pausePartition(new TopicPartition(TOPIC, 0));
+        verify(ack).nack(Duration.ZERO);
+        verify(ack, never()).acknowledge();
+        verifyNoInteractions(deliveryService);
+    }
+
+    @Test
+    void listen_whenHandoffFails_thenNackInsteadOfAck() {
+        doReturn(CompletableFuture.failedFuture(new KafkaException("sendRetry failed")))
+                .when(deliveryService).deliver(event, 3, false);
+
+        consumer.listen(record(Instant.now().minusSeconds(1)), ack);
+
+        verify(ack, never()).acknowledge();
+        verify(ack).nack(Duration.ofMillis(10));
+    }
+
+    private ConsumerRecord<String, NotificationEvent> record(Instant dueAt) {
+        ConsumerRecord<String, NotificationEvent> record = new ConsumerRecord<>(TOPIC, 0, 7L, "tenant-1", event);
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.ATTEMPT, 3);
+        DeliveryHeaders.put(record.headers(), DeliveryHeaders.DUE_AT, dueAt.toEpochMilli());
+        return record;
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.deliveryservice.unit.service;
+
+import com.example.deliveryservice.service.AdaptiveConcurrencyLimit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitTest {
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    AtomicLong clock;
+    AdaptiveConcurrencyLimit limit;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        limit = new AdaptiveConcurrencyLimit(
+                new AdaptiveConcurrencyLimit.Settings(4, 1, 8, 0.5, 2.0, 0), clock::get);
+    }
+
+    @Test
+    void acquire_whenLimitUsedUp_thenRejected() throws Exception {
+        for (int i = 0; i < 4; i++) assertTrue(limit.acquire());
+
+        assertFalse(limit.acquire());
+        limit.onIgnored();
+        assertTrue(limit.acquire());
+        assertEquals(4, limit.getInFlight());
+    }
+
+    @Test
+    void onSuccess_whenLimitInUse_thenGrowsUpToMax() throws Exception {
+        for (int round = 0; round < 12; round++) {
+            int slots = limit.getLimit();
+            for (int i = 0; i < slots; i++) assertTrue(limit.acquire());
+            for (int i = 0; i < slots; i++) limit.onSuccess(RTT);
+            assertTrue(limit.getLimit() >= Math.min(slots, 8));
+        }
+
+        assertEquals(8, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void onSuccess_whenLimitIdle_thenUnchanged() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            assertTrue(limit.acquire());
+            limit.onSuccess(RTT);
+        }
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void onDropped_thenBacksOffOncePerRoundTrip() throws Exception {
+        for (int i = 0; i < 4; i++) assertTrue(limit.acquire());
+
+        limit.onDropped();
+        limit.onDropped();
+        assertEquals(2, limit.getLimit());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(2));
+        limit.onDropped();
+        assertEquals(1, limit.getLimit());
+        limit.onDropped();
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void onSuccess_whenRoundTripsSlowDown_thenBacksOff() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.acquire());
+            limit.onSuccess(RTT);
+        }
+
+        assertTrue(limit.acquire());
+        limit.onSuccess(RTT * 5);
+
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    void acquire_whenFullLimitWaiting_thenRejectedWithoutWaiting() throws Exception {
+        AdaptiveConcurrencyLimit bounded = new AdaptiveConcurrencyLimit(
+                new AdaptiveConcurrencyLimit.Settings(1, 1, 1, 0.5, 2.0, TimeUnit.SECONDS.toNanos(10)));
+        assertTrue(bounded.acquire());
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bounded.acquire();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (bounded.getWaiting() == 0) Thread.onSpinWait();
+
+        long start = System.nanoTime();
+        assertFalse(bounded.acquire());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertFalse(bounded.tryAcquire());
+        assertTrue(bounded.isBacklogged(1.0));
+
+        bounded.onIgnored();
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertFalse(bounded.isBacklogged(0.5));
+        bounded.onIgnored();
+        assertTrue(bounded.isIdle());
+    }
+}
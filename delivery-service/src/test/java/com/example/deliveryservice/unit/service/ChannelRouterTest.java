@@ -0,0 +1,52 @@
+package com.example.deliveryservice.unit.service;
+
+import com.example.deliveryservice.adapter.ChannelAdapter;
+import com.example.deliveryservice.adapter.LogChannelAdapter;
+import com.example.deliveryservice.common.exception.PermanentDeliveryException;
+import com.example.deliveryservice.service.ChannelRouter;
+import org.example.events.NotificationEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChannelRouterTest {
+
+    final ChannelAdapter log = new LogChannelAdapter();
+    final ChannelAdapter sms = new NamedAdapter("sms-gateway");
+
+    @Test
+    void route_byConfiguredChannelIgnoringCase() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("delivery.routes.sms", "sms-gateway");
+        ChannelRouter router = new ChannelRouter(List.of(log, sms), environment, "log");
+
+        assertSame(sms, router.route("SMS"));
+        assertSame(log, router.route("push"));
+    }
+
+    @Test
+    void create_whenRoutedAdapterMissing_thenFailStartup() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("delivery.routes.email", "smtp");
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> new ChannelRouter(List.of(log), environment, "log"));
+        assertTrue(e.getMessage().contains("email=smtp"));
+    }
+
+    @Test
+    void route_whenNoDefault_thenPermanentFailure() {
+        ChannelRouter router = new ChannelRouter(List.of(sms), new MockEnvironment(), "log");
+
+        assertThrows(PermanentDeliveryException.class, () -> router.route("email"));
+    }
+
+    private record NamedAdapter(String name) implements ChannelAdapter {
+        @Override
+        public void send(NotificationEvent event) {
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.deliveryservice.unit.service;
+
+import com.example.deliveryservice.adapter.ChannelAdapter;
+import com.example.deliveryservice.common.exception.PermanentDeliveryException;
+import com.example.deliveryservice.common.exception.SlotUnavailableException;
+import com.example.deliveryservice.common.exception.TransientDeliveryException;
+import com.example.deliveryservice.kafka.producer.KafkaProducerService;
+import com.example.deliveryservice.service.AdaptiveConcurrencyLimit;
+import com.example.deliveryservice.service.AdapterLimits;
+import com.example.deliveryservice.service.ChannelRouter;
+import com.example.deliveryservice.service.DeliveryService;
+import com.example.deliveryservice.service.RetryPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.events.NotificationEvent;
+import org.example.events.NotificationResultEvent;
+import org.example.events.enums.DeliveryStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeliveryServiceTest {
+
+    @Mock
+    ChannelRouter channelRouter;
+
+    @Mock
+    ChannelAdapter adapter;
+
+    @Mock
+    KafkaProducerService kafkaProducerService;
+
+    SimpleMeterRegistry meterRegistry;
+    RetryPolicy retryPolicy;
+    AdapterLimits adapterLimits;
+    DeliveryService deliveryService;
+    NotificationEvent event;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        retryPolicy = new RetryPolicy();
+        ReflectionTestUtils.setField(retryPolicy, "delays", new String[]{"5s", "30s", "5m"});
+        ReflectionTestUtils.setField(retryPolicy, "maxAttempts", 4);
+        ReflectionTestUtils.setField(retryPolicy, "jitter", 0.2);
+        ReflectionTestUtils.invokeMethod(retryPolicy, "init");
+        adapterLimits = new AdapterLimits(meterRegistry);
+        ReflectionTestUtils.setField(adapterLimits, "initialLimit", 20);
+        ReflectionTestUtils.setField(adapterLimits, "minLimit", 1);
+        ReflectionTestUtils.setField(adapterLimits, "maxLimit", 500);
+        ReflectionTestUtils.setField(adapterLimits, "backoff", 0.9);
+        ReflectionTestUtils.setField(adapterLimits, "latencyTolerance", 2.0);
+        ReflectionTestUtils.setField(adapterLimits, "acquireTimeout", "1s");
+        ReflectionTestUtils.invokeMethod(adapterLimits, "init");
+        deliveryService = new DeliveryService(channelRouter, adapterLimits, kafkaProducerService, retryPolicy, meterRegistry);
+        event = NotificationEvent.newBuilder()
+                .setId(UUID.randomUUID())
+                .setTenantId("tenant-1")
+                .setChannel("EMAIL")
+                .setRecipient("a@b.com")
+                .setSubject("Hi")
+                .setContent("Hello")
+                .setCreatedAt(Instant.now())
+                .build();
+        when(channelRouter.route("EMAIL")).thenReturn(adapter);
+        when(adapter.name()).thenReturn("smtp");
+    }
+
+    @Test
+    void deliver_whenAdapterAccepts_thenPublishDelivered() {
+        when(kafkaProducerService.sendResult(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        deliveryService.deliver(event).join();
+
+        ArgumentCaptor<NotificationResultEvent> captor = ArgumentCaptor.forClass(NotificationResultEvent.class);
+        verify(kafkaProducerService).sendResult(captor.capture());
+        assertEquals(DeliveryStatus.DELIVERED, captor.getValue().getStatus());
+        assertEquals(event.getId(), captor.getValue().getMessageId());
+        assertEquals("tenant-1", captor.getValue().getTenantId());
+        assertEquals(1, meterRegistry.get("delivery.send")
+                .tags("channel", "email", "adapter", "smtp", "result", "delivered").timer().count());
+    }
+
+    @Test
+    void deliver_whenPermanentFailure_thenDeadLetterAndPublishFailed() {
+        PermanentDeliveryException error = new PermanentDeliveryException("SMTP send rejected: bad address");
+        doThrow(error).when(adapter).send(event);
+        when(kafkaProducerService.sendResult(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaProducerService.sendDeadLetter(event, 1, error)).thenReturn(CompletableFuture.completedFuture(null));
+
+        deliveryService.deliver(event).join();
+
+        ArgumentCaptor<NotificationResultEvent> captor = ArgumentCaptor.forClass(NotificationResultEvent.class);
+        verify(kafkaProducerService).sendResult(captor.capture());
+        assertEquals(DeliveryStatus.FAILED, captor.getValue().getStatus());
+        assertEquals("PermanentDeliveryException", captor.getValue().getErrorClass());
+        assertEquals("SMTP send rejected: bad address", captor.getValue().getReason());
+        verify(kafkaProducerService, never()).sendRetry(any(), any(), anyInt(), any(), any());
+        assertEquals(1, meterRegistry.get("delivery.send").tag("result", "failed").timer().count());
+        assertEquals(20, adapterLimits.forAdapter("smtp").getLimit());
+    }
+
+    @Test
+    void deliver_whenTransientFailure_thenParkOnNextDelayTopic() {
+        TransientDeliveryException error = new TransientDeliveryException("SMTP send failed: connection refused");
+        doThrow(error).when(adapter).send(event);
+        when(kafkaProducerService.sendRetry(eq("notification.retry.30s"), eq(event), eq(3), any(), eq(error)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        Instant before = Instant.now();
+        deliveryService.deliver(event, 2).join();
+
+        ArgumentCaptor<Instant> dueAt = ArgumentCaptor.forClass(Instant.class);
+        verify(kafkaProducerService).sendRetry(eq("notification.retry.30s"), eq(event), eq(3), dueAt.capture(), eq(error));
+        assertFalse(dueAt.getValue().isBefore(before.plusSeconds(24)));
+        assertFalse(dueAt.getValue().isAfter(Instant.now().plusSeconds(30)));
+        verify(kafkaProducerService, never()).sendResult(any());
+        verify(kafkaProducerService, never()).sendDeadLetter(any(), anyInt(), any());
+        assertEquals(18, meterRegistry.get("delivery.concurrency.limit").tag("adapter", "smtp").gauge().value());
+        assertEquals(0, adapterLimits.forAdapter("smtp").getInFlight());
+    }
+
+    @Test
+    void deliver_whenAttemptsUsedUp_thenDeadLetter() {
+        TransientDeliveryException error = new TransientDeliveryException("timeout");
+        doThrow(error).when(adapter).send(event);
+        when(kafkaProducerService.sendResult(any())).thenReturn(CompletableFuture.completedFuture(null));
+        when(kafkaProducerService.sendDeadLetter(event, 4, error)).thenReturn(CompletableFuture.completedFuture(null));
+
+        deliveryService.deliver(event, 4).join();
+
+        verify(kafkaProducerService).sendDeadLetter(event, 4, error);
+        verify(kafkaProducerService, never()).sendRetry(any(), any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void deliver_whenResultNotPublished_thenCompleteAndCountUnreported() {
+        when(kafkaProducerService.sendResult(any())).thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        deliveryService.deliver(event).join();
+
+        assertEquals(1, meterRegistry.get("delivery.result.unreported").tag("channel", "email").counter().count());
+    }
+
+    @Test
+    void deliver_whenRetryNotPublished_thenFail() {
+        TransientDeliveryException error = new TransientDeliveryException("timeout");
+        doThrow(error).when(adapter).send(event);
+        when(kafkaProducerService.sendRetry(any(), eq(event), eq(2), any(), eq(error)))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker down")));
+
+        assertThrows(CompletionException.class, () -> deliveryService.deliver(event).join());
+    }
+
+    @Test
+    void deliver_whenNoSlotWithinTimeout_thenDeferWithoutUsingUpAttempt() {
+        AdaptiveConcurrencyLimit limit = adapterLimits.forAdapter("smtp");
+        for (int i = 0; i < 20; i++) assertTrue(limit.tryAcquire());
+        when(kafkaProducerService.sendRetry(eq("notification.retry.5s"), eq(event), eq(2), any(), any(SlotUnavailableException.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        long start = System.nanoTime();
+        deliveryService.deliver(event, 2).join();
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(900));
+        verify(adapter, never()).send(any());
+        verify(kafkaProducerService).sendRetry(eq("notification.retry.5s"), eq(event), eq(2), any(), any(SlotUnavailableException.class));
+        verify(kafkaProducerService, never()).sendDeadLetter(any(), anyInt(), any());
+        assertEquals(1, meterRegistry.get("delivery.deferred").tag("channel", "email").counter().count());
+        assertEquals(1, meterRegistry.get("delivery.send").tag("result", "deferred").timer().count());
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void deliver_whenNoSlotAndNotWaiting_thenDeferAtOnceEvenOnLastAttempt() {
+        AdaptiveConcurrencyLimit limit = adapterLimits.forAdapter("smtp");
+        for (int i = 0; i < 20; i++) assertTrue(limit.tryAcquire());
+        when(kafkaProducerService.sendRetry(eq("notification.retry.5s"), eq(event), eq(4), any(), any(SlotUnavailableException.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        long start = System.nanoTime();
+        deliveryService.deliver(event, 4, false).join();
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(900));
+        verify(adapter, never()).send(any());
+        verify(kafkaProducerService, never()).sendDeadLetter(any(), anyInt(), any());
+        verify(kafkaProducerService, never()).sendResult(any());
+    }
+}
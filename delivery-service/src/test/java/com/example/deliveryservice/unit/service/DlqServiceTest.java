@@ -0,0 +1,200 @@
+package com.example.deliveryservice.unit.service;
+
+import com.example.deliveryservice.common.exception.ApiErrorMessage;
+import com.example.deliveryservice.common.exception.BaseException;
+import com.example.deliveryservice.dto.request.DlqQueryRequest;
+import com.example.deliveryservice.dto.request.DlqReplayRequest;
+import com.example.deliveryservice.dto.response.DlqRecordResponse;
+import com.example.deliveryservice.kafka.DeliveryHeaders;
+import com.example.deliveryservice.kafka.producer.KafkaProducerService;
+import com.example.deliveryservice.service.DlqReplayJob;
+import com.example.deliveryservice.service.DlqService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.example.events.NotificationEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DlqServiceTest {
+    private static final String DLQ = KafkaProducerService.NOTIFICATION_DLQ_TOPIC;
+    private static final TopicPartition PARTITION = new TopicPartition(DLQ, 0);
+
+    @Mock
+    ConsumerFactory<String, Object> consumerFactory;
+
+    @Mock
+    KafkaTemplate<String, Object> kafkaTemplate;
+
+    DlqService dlqService;
+
+    @BeforeEach
+    void setUp() {
+        dlqService = new DlqService(consumerFactory, kafkaTemplate);
+        ReflectionTestUtils.setField(dlqService, "maxPollRecords", 500);
+        ReflectionTestUtils.setField(dlqService, "maxResults", 1000);
+        ReflectionTestUtils.setField(dlqService, "defaultRatePerSecond", 1_000_000);
+        ReflectionTestUtils.setField(dlqService, "batchSize", 2);
+        ReflectionTestUtils.setField(dlqService, "maxRunning", 2);
+        ReflectionTestUtils.setField(dlqService, "retainedJobs", 10);
+        lenient().when(consumerFactory.createConsumer(isNull(), eq("dlq-reader"), isNull(), any(Properties.class)))
+                .thenAnswer(invocation -> dlq(
+                        record(0, "tenant-1", "EMAIL", "TransientDeliveryException"),
+                        record(1, "tenant-2", "EMAIL", "TransientDeliveryException"),
+                        record(2, "tenant-1", "SMS", "PermanentDeliveryException"),
+                        record(3, "tenant-1", "EMAIL", "TransientDeliveryException")));
+    }
+
+    @Test
+    void query_filtersByTenantChannelAndErrorClass() {
+        DlqQueryRequest query = new DlqQueryRequest();
+        query.setTenantId("tenant-1");
+        query.setChannel("email");
+        query.setErrorClass("TransientDeliveryException");
+
+        List<DlqRecordResponse> records = dlqService.query(query, 10);
+
+        assertEquals(List.of(0L, 3L), records.stream().map(DlqRecordResponse::getOffset).toList());
+        assertEquals(3, records.get(0).getAttempts());
+    }
+
+    @Test
+    void query_stopsAtLimit() {
+        assertEquals(1, dlqService.query(new DlqQueryRequest(), 1).size());
+    }
+
+    @Test
+    void query_whenRangeEmpty_thenInvalid() {
+        DlqQueryRequest query = new DlqQueryRequest();
+        query.setFrom(Instant.now());
+        query.setTo(query.getFrom().minusSeconds(1));
+
+        BaseException ex = assertThrows(BaseException.class, () -> dlqService.query(query, 10));
+        assertEquals(ApiErrorMessage.INVALID_DLQ_QUERY.getCode(), ex.getCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startReplay_republishesMatchingRecordsToMainTopic() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        DlqReplayRequest request = new DlqReplayRequest();
+        request.setTenantId("tenant-1");
+
+        DlqReplayJob job = dlqService.startReplay(request);
+        for (int i = 0; i < 200 && !job.isDone(); i++) Thread.sleep(10);
+
+        assertEquals(DlqReplayJob.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getScanned().get());
+        assertEquals(3, job.getReplayed().get());
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(3)).send(captor.capture());
+        ProducerRecord<String, Object> first = captor.getAllValues().get(0);
+        assertEquals(KafkaProducerService.NOTIFICATION_TOPIC, first.topic());
+        assertEquals("tenant-1", first.key());
+        assertEquals("0@0", DeliveryHeaders.get(first.headers(), DeliveryHeaders.REPLAYED_FROM));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void startReplay_concurrentStarts_neverExceedMaxRunning() throws Exception {
+        CountDownLatch scanning = new CountDownLatch(1);
+        lenient().when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(consumerFactory.createConsumer(isNull(), eq("dlq-reader"), isNull(), any(Properties.class)))
+                .thenAnswer(invocation -> {
+                    scanning.await(5, TimeUnit.SECONDS); // keep every started replay running
+                    return dlq(record(0, "tenant-1", "EMAIL", "TransientDeliveryException"));
+                });
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        AtomicInteger limited = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+
+        try {
+            for (int i = 0; i < 8; i++) {
+                callers.execute(() -> {
+                    try {
+                        start.await();
+                        dlqService.startReplay(new DlqReplayRequest());
+                        started.incrementAndGet();
+                    } catch (BaseException e) {
+                        if (e.getCode() == ApiErrorMessage.DLQ_REPLAY_LIMIT.getCode()) limited.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            start.countDown();
+            callers.shutdown();
+            assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+        } finally {
+            scanning.countDown();
+        }
+
+        assertEquals(2, started.get());
+        assertEquals(6, limited.get());
+    }
+
+    @Test
+    void getReplay_whenUnknown_thenNotFound() {
+        BaseException ex = assertThrows(BaseException.class, () -> dlqService.getReplay("missing"));
+        assertEquals(ApiErrorMessage.DLQ_REPLAY_NOT_FOUND.getCode(), ex.getCode());
+    }
+
+    private static MockConsumer<String, Object> dlq(ConsumerRecord<String, Object>... records) {
+        MockConsumer<String, Object> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.updatePartitions(DLQ, List.of(new PartitionInfo(DLQ, 0, null, null, null)));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.updateEndOffsets(Map.of(PARTITION, (long) records.length));
+        consumer.schedulePollTask(() -> {
+            for (ConsumerRecord<String, Object> record : records) consumer.addRecord(record);
+        });
+        return consumer;
+    }
+
+    private static ConsumerRecord<String, Object> record(long offset, String tenantId, String channel, String errorClass) {
+        NotificationEvent event = NotificationEvent.newBuilder()
+                .setId(UUID.randomUUID())
+                .setTenantId(tenantId)
+                .setChannel(channel)
+                .setRecipient("a@b.com")
+                .setSubject("Hi")
+                .setContent("Hello")
+                .setCreatedAt(Instant.now())
+                .build();
+        RecordHeaders headers = new RecordHeaders();
+        DeliveryHeaders.put(headers, DeliveryHeaders.ATTEMPT, 3);
+        DeliveryHeaders.put(headers, DeliveryHeaders.ERROR_CLASS, errorClass);
+        return new ConsumerRecord<>(DLQ, 0, offset, System.currentTimeMillis(), TimestampType.CREATE_TIME,
+                -1, -1, tenantId, event, headers, Optional.empty());
+    }
+}
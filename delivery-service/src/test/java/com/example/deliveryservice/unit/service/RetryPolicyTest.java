@@ -0,0 +1,55 @@
+package com.example.deliveryservice.unit.service;
+
+import com.example.deliveryservice.common.exception.PermanentDeliveryException;
+import com.example.deliveryservice.common.exception.TransientDeliveryException;
+import com.example.deliveryservice.service.RetryPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    RetryPolicy retryPolicy;
+
+    @BeforeEach
+    void setUp() {
+        retryPolicy = new RetryPolicy();
+        ReflectionTestUtils.setField(retryPolicy, "delays", new String[]{"5s", "30s", "5m"});
+        ReflectionTestUtils.setField(retryPolicy, "maxAttempts", 5);
+        ReflectionTestUtils.setField(retryPolicy, "jitter", 0.2);
+        ReflectionTestUtils.invokeMethod(retryPolicy, "init");
+    }
+
+    @Test
+    void topicNames_followTheDelays() {
+        assertArrayEquals(new String[]{"notification.retry.5s", "notification.retry.30s", "notification.retry.5m"},
+                retryPolicy.topicNames());
+    }
+
+    @Test
+    void topicFor_reusesLastTierAfterTheLadder() {
+        assertEquals("notification.retry.5s", retryPolicy.topicFor(1));
+        assertEquals("notification.retry.5m", retryPolicy.topicFor(3));
+        assertEquals("notification.retry.5m", retryPolicy.topicFor(4));
+    }
+
+    @Test
+    void delayFor_staysWithinJitter() {
+        for (int i = 0; i < 100; i++) {
+            Duration delay = retryPolicy.delayFor(2);
+            assertTrue(delay.toMillis() > 24_000 && delay.toMillis() <= 30_000, delay.toString());
+        }
+    }
+
+    @Test
+    void shouldRetry_onlyTransientFailuresWithAttemptsLeft() {
+        assertTrue(retryPolicy.shouldRetry(1, new TransientDeliveryException("timeout")));
+        assertTrue(retryPolicy.shouldRetry(4, new IllegalStateException("unexpected")));
+        assertFalse(retryPolicy.shouldRetry(5, new TransientDeliveryException("timeout")));
+        assertFalse(retryPolicy.shouldRetry(1, new PermanentDeliveryException("bad address")));
+    }
+}
@@ -2,6 +2,7 @@ package org.example.notificationservice.common.enums;
 
 public enum NotificationStatus {
     PENDING,
+    ACCEPTED,
     SENT,
     FAILED
 }
@@ -0,0 +1,10 @@
+package org.example.notificationservice.common.enums;
+
+/**
+ * How a send waits for Kafka.
+ * ACK completes once the broker acknowledged the event, FIRE_AND_FORGET as soon as it is handed to the producer.
+ */
+public enum PublishMode {
+    ACK,
+    FIRE_AND_FORGET
+}
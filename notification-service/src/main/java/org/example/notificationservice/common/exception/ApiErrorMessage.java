@@ -13,7 +13,11 @@ public class ApiErrorMessage {
 
     public static ApiErrorMessage
         CHANNEL_NOT_FOUND = new ApiErrorMessage(2000001, "Channel not found.", HttpStatus.NOT_FOUND),
-        QUOTA_EXCEEDED = new ApiErrorMessage(2000002, "Notification quota exceeded.", HttpStatus.FORBIDDEN);
+        QUOTA_EXCEEDED = new ApiErrorMessage(2000002, "Notification quota exceeded.", HttpStatus.FORBIDDEN),
+        PUBLISH_FAILED = new ApiErrorMessage(2000003, "Failed to publish notification.", HttpStatus.SERVICE_UNAVAILABLE),
+        PUBLISH_OVERLOADED = new ApiErrorMessage(2000004, "Too many notifications in flight, retry later.", HttpStatus.SERVICE_UNAVAILABLE),
+        TEMPLATE_NOT_FOUND = new ApiErrorMessage(2000005, "Template not found.", HttpStatus.NOT_FOUND),
+        TEMPLATE_UNAVAILABLE = new ApiErrorMessage(2000006, "Template service unavailable.", HttpStatus.SERVICE_UNAVAILABLE);
     protected final int code;
     protected final String message;
     protected final HttpStatus status;
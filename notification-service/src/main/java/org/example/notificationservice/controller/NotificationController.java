@@ -1,32 +1,60 @@
 package org.example.notificationservice.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.notificationservice.common.baseclass.ApiResponse;
 import org.example.notificationservice.dto.request.SendNotificationRequest;
+import org.example.notificationservice.dto.response.SendNotificationBatchResponse;
 import org.example.notificationservice.dto.response.SendNotificationResponse;
+import org.example.notificationservice.service.NotificationBatchService;
 import org.example.notificationservice.service.NotificationService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequiredArgsConstructor
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationBatchService notificationBatchService;
 
+    /**
+     * Send a notification.
+     * Answers 202 once the event is published; the request thread is released while waiting for the broker.
+     */
     @GetMapping("/send-notification")
-    public ResponseEntity<ApiResponse<SendNotificationResponse>> sendNotification(
+    public CompletableFuture<ResponseEntity<ApiResponse<SendNotificationResponse>>> sendNotification(
             @RequestHeader("X-Tenant-Id") String tenantId,
 //            @RequestHeader("X-Api-Key") String apiKey,
             @Valid @RequestBody SendNotificationRequest request
     ) {
 //        request.setApiKey(apiKey);
         request.setTenantId(tenantId);
-        SendNotificationResponse response = notificationService.sendNotification(request);
+        return notificationService.sendNotification(request)
+                .thenApply(response -> ResponseEntity.accepted().body(ApiResponse.ok(response)));
+    }
+
+    /**
+     * Send many notifications in one call.
+     * The body is a JSON array or NDJSON stream of send requests and is read incrementally.
+     */
+    @PostMapping(value = "/send-notifications/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponse<SendNotificationBatchResponse>> sendNotificationBatch(
+            @RequestHeader("X-Tenant-Id") String tenantId,
+            HttpServletRequest request
+    ) throws IOException {
+        SendNotificationBatchResponse response =
+                notificationBatchService.sendNotificationBatch(tenantId, request.getInputStream());
 
         return ResponseEntity.ok(ApiResponse.ok(response));
     }
@@ -0,0 +1,27 @@
+package org.example.notificationservice.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.notificationservice.common.enums.NotificationStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class SendNotificationBatchResponse {
+    int accepted;
+    int rejected;
+    String error; // set when the body could not be read to the end
+    List<Item> items = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        int index;
+        String id;
+        NotificationStatus notificationStatus;
+        String error;
+    }
+}
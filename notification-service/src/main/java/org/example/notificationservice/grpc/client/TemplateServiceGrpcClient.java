@@ -0,0 +1,41 @@
+package org.example.notificationservice.grpc.client;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.example.proto.template.GetTemplateRequest;
+import org.example.proto.template.GetTemplateResponse;
+import org.example.proto.template.TemplateServiceGrpc;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class TemplateServiceGrpcClient {
+    @GrpcClient("template-service")
+    private TemplateServiceGrpc.TemplateServiceBlockingStub templateServiceStub;
+
+    /**
+     * Fetch the current content and version of a template.
+     * @param templateId the template to fetch
+     * @return the template content and version
+     * @throws BaseException TEMPLATE_NOT_FOUND or TEMPLATE_UNAVAILABLE
+     */
+    public GetTemplateResponse getTemplate(String templateId) {
+        log.debug("Calling Template Service to get template: {}", templateId);
+        var request = GetTemplateRequest.newBuilder()
+                .setTemplateId(templateId)
+                .build();
+        try {
+            return templateServiceStub.getTemplate(request);
+        } catch (StatusRuntimeException e) {
+            if (e.getStatus().getCode() == Status.Code.NOT_FOUND) {
+                throw new BaseException(ApiErrorMessage.TEMPLATE_NOT_FOUND);
+            }
+            log.error("Failed to fetch template: {}", templateId, e);
+            throw new BaseException(ApiErrorMessage.TEMPLATE_UNAVAILABLE);
+        }
+    }
+}
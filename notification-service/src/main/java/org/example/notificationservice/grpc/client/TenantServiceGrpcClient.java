@@ -1,17 +1,27 @@
 package org.example.notificationservice.grpc.client;
 
+import io.grpc.stub.StreamObserver;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
 import org.example.proto.tenant.GetTenantQuotaResponse;
+import org.example.proto.tenant.GetTenantQuotasRequest;
+import org.example.proto.tenant.GetTenantQuotasResponse;
+import org.example.proto.tenant.TenantQuota;
 import org.example.proto.tenant.TenantServiceGrpc;
+import org.example.proto.tenant.WatchQuotaRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+
 @Service
 @Slf4j
 public class TenantServiceGrpcClient {
     @GrpcClient("tenant-service")
     private TenantServiceGrpc.TenantServiceBlockingStub tenantServiceStub;
 
+    @GrpcClient("tenant-service")
+    private TenantServiceGrpc.TenantServiceStub tenantServiceAsyncStub;
+
     public GetTenantQuotaResponse getTenantQuota(String tenantId, int quotaQuantity) {
         log.debug("Calling Tenant Service to get tenant quota for tenantId: {} with requested quantity: {}", tenantId, quotaQuantity);
         var request = org.example.proto.tenant.GetTenantQuotaRequest.newBuilder()
@@ -20,4 +30,25 @@ public class TenantServiceGrpcClient {
                 .build();
         return tenantServiceStub.getTenantQuota(request);
     }
+
+    public GetTenantQuotasResponse getTenantQuotas(Collection<String> tenantIds) {
+        log.debug("Calling Tenant Service to get quotas of {} tenants", tenantIds.size());
+        var request = GetTenantQuotasRequest.newBuilder()
+                .addAllTenantIds(tenantIds)
+                .build();
+        return tenantServiceStub.getTenantQuotas(request);
+    }
+
+    /**
+     * Open a WatchQuota stream.
+     * @param tenantIds the tenants to watch, empty for all tenants
+     * @param observer receives the current quota of the watched tenants and every later change
+     */
+    public void watchQuota(Collection<String> tenantIds, StreamObserver<TenantQuota> observer) {
+        log.debug("Opening quota watch for {} tenants", tenantIds.isEmpty() ? "all" : tenantIds.size());
+        var request = WatchQuotaRequest.newBuilder()
+                .addAllTenantIds(tenantIds)
+                .build();
+        tenantServiceAsyncStub.watchQuota(request, observer);
+    }
 }
@@ -1,4 +1,194 @@
 package org.example.notificationservice.grpc.server;
 
-public class NotificationGrpcService {
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.example.notificationservice.common.enums.NotificationStatus;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.example.notificationservice.dto.request.SendNotificationRequest;
+import org.example.notificationservice.dto.response.SendNotificationBatchResponse;
+import org.example.notificationservice.mapper.NotificationMapper;
+import org.example.notificationservice.service.NotificationBatchService;
+import org.example.notificationservice.service.NotificationService;
+import org.example.proto.notification.NotificationServiceGrpc;
+import org.example.proto.notification.RejectedItem;
+import org.example.proto.notification.SendRequest;
+import org.example.proto.notification.SendResponse;
+import org.example.proto.notification.SendStatus;
+import org.example.proto.notification.SendStreamResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@GrpcService
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationGrpcService extends NotificationServiceGrpc.NotificationServiceImplBase {
+
+    private final NotificationService notificationService;
+    private final NotificationBatchService notificationBatchService;
+    private final ExecutorService streamExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Send a single notification
+     * @param request SendRequest
+     * @param responseObserver StreamObserver<SendResponse>
+     */
+    @Override
+    public void send(SendRequest request, StreamObserver<SendResponse> responseObserver) {
+        log.debug("Received SendRequest for tenantId: {}", request.getTenantId());
+        if (request.getTenantId().trim().isEmpty()) {
+            Status status = Status.INVALID_ARGUMENT.withDescription("Tenant ID must be provided.");
+            responseObserver.onError(new StatusRuntimeException(status));
+            return;
+        }
+
+        SendNotificationRequest dto = NotificationMapper.toRequestDto(request);
+        String error = notificationBatchService.validate(dto);
+        if (error != null) {
+            responseObserver.onError(new StatusRuntimeException(Status.INVALID_ARGUMENT.withDescription(error)));
+            return;
+        }
+
+        try {
+            notificationService.sendNotification(dto).whenComplete((response, e) -> {
+                if (e != null) {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    responseObserver.onError(new StatusRuntimeException(cause instanceof BaseException be
+                            ? toStatus(be)
+                            : Status.INTERNAL.withDescription(cause.getMessage())));
+                    return;
+                }
+                responseObserver.onNext(SendResponse.newBuilder()
+                        .setId(response.getId())
+                        .setStatus(toSendStatus(response.getNotificationStatus()))
+                        .build());
+                responseObserver.onCompleted();
+            });
+        } catch (BaseException e) {
+            responseObserver.onError(new StatusRuntimeException(toStatus(e)));
+        }
+    }
+
+    /**
+     * Receive a stream of notifications and answer once with the totals.
+     * Messages are pulled one chunk at a time and the next chunk is only requested after the
+     * current one is published, so a fast producer is held back by HTTP/2 flow control instead of
+     * queueing in server memory. Chunks are published one after another on {@code streamExecutor},
+     * never on the transport thread that delivers the messages.
+     * @param responseObserver StreamObserver<SendStreamResponse>
+     * @return StreamObserver<SendRequest> consuming the client stream
+     */
+    @Override
+    public StreamObserver<SendRequest> sendStream(StreamObserver<SendStreamResponse> responseObserver) {
+        ServerCallStreamObserver<SendStreamResponse> serverObserver =
+                (ServerCallStreamObserver<SendStreamResponse>) responseObserver;
+        int chunkSize = notificationBatchService.getChunkSize();
+        serverObserver.disableAutoRequest();
+        serverObserver.request(chunkSize);
+
+        return new StreamObserver<>() {
+            private final SendStreamResponse.Builder response = SendStreamResponse.newBuilder();
+            private List<SendNotificationRequest> chunk = new ArrayList<>(chunkSize);
+            private CompletableFuture<Boolean> lastFlush = CompletableFuture.completedFuture(true); // false once a chunk failed
+            private int index; // only used by flushes, which run one after another
+            private volatile boolean closed;
+
+            @Override
+            public void onNext(SendRequest request) {
+                if (closed) return;
+                chunk.add(NotificationMapper.toRequestDto(request));
+                if (chunk.size() < chunkSize) return;
+
+                flushAsync().thenAccept(flushed -> {
+                    if (flushed) serverObserver.request(chunkSize);
+                });
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.warn("Notification stream aborted by client after {} items", index + chunk.size(), t);
+                chunk = new ArrayList<>();
+                closed = true;
+            }
+
+            @Override
+            public void onCompleted() {
+                if (closed) return;
+                flushAsync().thenAccept(flushed -> {
+                    if (!flushed || closed) return;
+                    responseObserver.onNext(response.build());
+                    responseObserver.onCompleted();
+                });
+            }
+
+            private CompletableFuture<Boolean> flushAsync() {
+                List<SendNotificationRequest> items = chunk;
+                chunk = new ArrayList<>(chunkSize);
+                lastFlush = lastFlush.thenApplyAsync(flushed -> flushed && flush(items), streamExecutor);
+                return lastFlush;
+            }
+
+            private boolean flush(List<SendNotificationRequest> items) {
+                if (closed) return false;
+                if (items.isEmpty()) return true;
+                try {
+                    for (SendNotificationBatchResponse.Item item : notificationBatchService.sendChunk(items, index)) {
+                        if (item.getNotificationStatus() == NotificationStatus.FAILED) {
+                            response.setRejected(response.getRejected() + 1);
+                            response.addRejectedItems(RejectedItem.newBuilder()
+                                    .setIndex(item.getIndex())
+                                    .setError(item.getError())
+                                    .build());
+                        } else {
+                            response.setAccepted(response.getAccepted() + 1);
+                        }
+                    }
+                    index += items.size();
+                    return true;
+                } catch (RuntimeException e) {
+                    log.error("Failed to send notification stream chunk starting at item {}", index, e);
+                    closed = true;
+                    responseObserver.onError(new StatusRuntimeException(
+                            Status.INTERNAL.withDescription("Failed to send items from " + index + ".").withCause(e)));
+                    return false;
+                }
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamExecutor.shutdown();
+    }
+
+    private SendStatus toSendStatus(NotificationStatus status) {
+        return switch (status) {
+            case ACCEPTED, SENT -> SendStatus.ACCEPTED;
+            case FAILED -> SendStatus.FAILED;
+            default -> SendStatus.PENDING;
+        };
+    }
+
+    private Status toStatus(BaseException e) {
+        if (e.getCode() == ApiErrorMessage.QUOTA_EXCEEDED.getCode()) {
+            return Status.RESOURCE_EXHAUSTED.withDescription(e.getMessage());
+        }
+        return switch (e.getStatus()) {
+            case NOT_FOUND -> Status.NOT_FOUND.withDescription(e.getMessage());
+            case BAD_REQUEST -> Status.INVALID_ARGUMENT.withDescription(e.getMessage());
+            case SERVICE_UNAVAILABLE -> Status.UNAVAILABLE.withDescription(e.getMessage());
+            default -> Status.INTERNAL.withDescription(e.getMessage());
+        };
+    }
 }
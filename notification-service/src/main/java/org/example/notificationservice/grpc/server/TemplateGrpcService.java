@@ -0,0 +1,61 @@
+package org.example.notificationservice.grpc.server;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.example.notificationservice.model.Template;
+import org.example.notificationservice.repository.TemplateRepository;
+import org.example.proto.template.GetTemplateRequest;
+import org.example.proto.template.GetTemplateResponse;
+import org.example.proto.template.TemplateServiceGrpc;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.util.Optional;
+
+/**
+ * Local stand-in for the template service, serving templates from this service's database.
+ * Disable it with {@code notification.template.local-service.enabled=false} once a dedicated
+ * template service owns the RPC.
+ */
+@GrpcService
+@ConditionalOnProperty(name = "notification.template.local-service.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateGrpcService extends TemplateServiceGrpc.TemplateServiceImplBase {
+
+    private final TemplateRepository templateRepository;
+
+    /**
+     * Get Template
+     * @param request GetTemplateRequest
+     * @param responseObserver StreamObserver<GetTemplateResponse>
+     */
+    @Override
+    public void getTemplate(GetTemplateRequest request, StreamObserver<GetTemplateResponse> responseObserver) {
+        log.debug("Received GetTemplateRequest: {}", request);
+        if (request.getTemplateId().trim().isEmpty()) {
+            Status status = Status.INVALID_ARGUMENT.withDescription("Template ID must be provided.");
+            responseObserver.onError(new StatusRuntimeException(status));
+            return;
+        }
+
+        Optional<Template> template = templateRepository.findById(request.getTemplateId());
+
+        if (template.isEmpty()) {
+            Status status = Status.NOT_FOUND.withDescription("Template not found.");
+            responseObserver.onError(new StatusRuntimeException(status));
+            return;
+        }
+
+        GetTemplateResponse response = GetTemplateResponse.newBuilder()
+                .setTemplateContent(template.get().getContent())
+                .setVersion(template.get().getVersion() == null ? 0 : template.get().getVersion())
+                .build();
+
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.notificationservice.kafka.producer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.events.NotificationEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Keys events by tenant, except for the heaviest tenants of the last window.
+ * Their keys get a salt derived from the recipient, so a big tenant is spread over several
+ * partitions while messages to one recipient still keep their order.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.kafka.partition-key", havingValue = "hot-tenant")
+@Slf4j
+public class HotTenantKeyStrategy implements PartitionKeyStrategy {
+
+    @Value("${notification.kafka.hot-tenant.top-n:5}")
+    private int topN;
+
+    @Value("${notification.kafka.hot-tenant.salts:8}")
+    private int salts; // number of keys a hot tenant is spread over
+
+    private volatile Map<String, LongAdder> window = new ConcurrentHashMap<>();
+    private volatile Set<String> hotTenants = Set.of();
+
+    @Override
+    public String keyFor(NotificationEvent event) {
+        String tenantId = event.getTenantId();
+        window.computeIfAbsent(tenantId, id -> new LongAdder()).increment();
+        if (!hotTenants.contains(tenantId)) return tenantId;
+
+        String recipient = event.getRecipient();
+        int salt = Math.floorMod(recipient == null ? 0 : recipient.hashCode(), salts);
+        return tenantId + "#" + salt;
+    }
+
+    /**
+     * Start a new counting window and promote the heaviest tenants of the closed one.
+     */
+    @Scheduled(fixedRateString = "${notification.kafka.hot-tenant.window-ms:10000}")
+    public void rollWindow() {
+        Map<String, LongAdder> closed = window;
+        window = new ConcurrentHashMap<>();
+
+        Set<String> hot = closed.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                        (a, b) -> Long.compare(b.sum(), a.sum())))
+                .limit(topN)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toUnmodifiableSet());
+        if (!hot.equals(hotTenants)) {
+            log.info("Hot tenants spread over {} keys: {}", salts, hot);
+        }
+        hotTenants = hot;
+    }
+}
@@ -1,19 +1,150 @@
 package org.example.notificationservice.kafka.producer;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.common.enums.PublishMode;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 import org.example.events.NotificationEvent;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes notification events without blocking the caller.
+ * Every send returns the broker acknowledgement as a future, and the number of sends waiting for
+ * an acknowledgement is bounded so a slow broker pushes back on callers instead of filling the
+ * producer buffer.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class KafkaProducerService {
+    private static final String NOTIFICATION_TOPIC = "notification-topic";
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final PartitionKeyStrategy partitionKeyStrategy;
+    private final PartitionSkewTracker partitionSkewTracker;
+
+    @Value("${notification.kafka.publish-mode:ACK}")
+    private PublishMode publishMode;
+
+    @Value("${notification.kafka.max-in-flight:10000}")
+    private int maxInFlight;
+
+    @Value("${notification.kafka.in-flight-wait-ms:500}")
+    private long inFlightWaitMs; // how long a send may wait for a free slot before it is rejected
+
+    private Semaphore inFlight;
+    private Counter ackedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    void init() {
+        inFlight = new Semaphore(maxInFlight);
+        ackedCounter = Counter.builder("notification.publish")
+                .tag("result", "acked")
+                .description("Notification events acknowledged by the broker")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("notification.publish")
+                .tag("result", "failed")
+                .description("Notification events the broker did not accept")
+                .register(meterRegistry);
+        Gauge.builder("notification.publish.in-flight", this, p -> maxInFlight - p.inFlight.availablePermits())
+                .description("Notification events waiting for a broker acknowledgement")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish an event.
+     * @param eventDto the event to publish
+     * @return completes with the send result once the broker acknowledged the event
+     * @throws BaseException PUBLISH_OVERLOADED if too many events are already waiting for an acknowledgement
+     */
+    public CompletableFuture<SendResult<String, Object>> sendMessage(NotificationEvent eventDto) {
+        log.debug("Sending message to kafka: {}", eventDto);
+        acquireSlot(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(inFlightWaitMs));
+        return send(eventDto);
+    }
+
+    /**
+     * Hand a batch of events to the producer without waiting between records, then flush once
+     * so they go out in as few produce requests as the producer batching allows.
+     * Events that find no free in-flight slot fail individually instead of failing the batch. The
+     * whole batch waits at most {@code in-flight-wait-ms} for slots, so once one event timed out the
+     * rest only take slots that are free right away.
+     * @param events the events to publish
+     * @return one future per event, in input order
+     */
+    public List<CompletableFuture<SendResult<String, Object>>> sendMessages(List<NotificationEvent> events) {
+        log.info("Sending {} messages to kafka", events.size());
+        List<CompletableFuture<SendResult<String, Object>>> futures = new ArrayList<>(events.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(inFlightWaitMs);
+        for (NotificationEvent eventDto : events) {
+            try {
+                acquireSlot(deadline);
+                futures.add(send(eventDto));
+            } catch (BaseException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        kafkaTemplate.flush();
+        return futures;
+    }
+
+    public boolean awaitsAck() {
+        return publishMode == PublishMode.ACK;
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(NotificationEvent eventDto) {
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplate.send(NOTIFICATION_TOPIC, partitionKeyStrategy.keyFor(eventDto), eventDto);
+        } catch (RuntimeException e) {
+            // serialization or metadata errors are thrown before the record is queued
+            inFlight.release();
+            failedCounter.increment();
+            log.error("Failed to publish notification {}", eventDto.getId(), e);
+            return CompletableFuture.failedFuture(new BaseException(ApiErrorMessage.PUBLISH_FAILED));
+        }
+
+        return future.handle((result, e) -> {
+            inFlight.release();
+            if (e == null) {
+                ackedCounter.increment();
+                partitionSkewTracker.record(result.getRecordMetadata().partition());
+                return CompletableFuture.completedFuture(result);
+            }
+            failedCounter.increment();
+            log.error("Failed to publish notification {}", eventDto.getId(), e);
+            return CompletableFuture.<SendResult<String, Object>>failedFuture(new BaseException(ApiErrorMessage.PUBLISH_FAILED));
+        }).thenCompose(f -> f);
+    }
 
-    public void sendMessage(NotificationEvent eventDto) {
-        log.info("Sending message to kafka: {}", eventDto);
-        kafkaTemplate.send("notification-topic", eventDto);
+    /**
+     * @param deadline {@link System#nanoTime()} after which the slot is only taken if free right away
+     */
+    private void acquireSlot(long deadline) {
+        if (inFlight.tryAcquire()) return;
+        try {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0 && !Thread.currentThread().isInterrupted()
+                    && inFlight.tryAcquire(remaining, TimeUnit.NANOSECONDS)) return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new BaseException(ApiErrorMessage.PUBLISH_OVERLOADED);
     }
 }
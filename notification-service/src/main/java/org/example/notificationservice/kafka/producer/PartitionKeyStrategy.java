@@ -0,0 +1,16 @@
+package org.example.notificationservice.kafka.producer;
+
+import org.example.events.NotificationEvent;
+
+/**
+ * Chooses the record key of a notification event, and with it the partition the event lands on.
+ * Selected with {@code notification.kafka.partition-key}.
+ */
+public interface PartitionKeyStrategy {
+
+    /**
+     * @param event the event about to be published
+     * @return the record key, events with the same key keep their order
+     */
+    String keyFor(NotificationEvent event);
+}
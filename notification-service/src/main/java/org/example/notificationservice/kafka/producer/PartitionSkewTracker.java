@@ -0,0 +1,51 @@
+package org.example.notificationservice.kafka.producer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts acknowledged events per partition of notification-topic.
+ * Besides a counter per partition it exports the skew of the last window, the busiest partition's
+ * share divided by the average share, so 1.0 is a perfectly even spread.
+ */
+@Component
+@RequiredArgsConstructor
+public class PartitionSkewTracker {
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Integer, LongAdder> window = new ConcurrentHashMap<>();
+    private volatile double skew = 1.0;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("notification.publish.partition.skew", this, t -> t.skew)
+                .description("Events on the busiest partition divided by the per-partition average over the last window")
+                .register(meterRegistry);
+    }
+
+    public void record(int partition) {
+        window.computeIfAbsent(partition, p -> new LongAdder()).increment();
+        meterRegistry.counter("notification.publish.partition", "partition", String.valueOf(partition)).increment();
+    }
+
+    @Scheduled(fixedRateString = "${notification.kafka.skew-window-ms:60000}")
+    public void rollWindow() {
+        long max = 0;
+        long total = 0;
+        for (LongAdder count : window.values()) {
+            long sum = count.sumThenReset();
+            max = Math.max(max, sum);
+            total += sum;
+        }
+        // partitions that never received an event are unknown here and left out of the average
+        skew = total == 0 ? 1.0 : max * (double) window.size() / total;
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.notificationservice.kafka.producer;
+
+import org.example.events.NotificationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keys every event by its tenant, so all events of a tenant are consumed in order by one consumer.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.kafka.partition-key", havingValue = "tenant", matchIfMissing = true)
+public class TenantKeyStrategy implements PartitionKeyStrategy {
+
+    @Override
+    public String keyFor(NotificationEvent event) {
+        return event.getTenantId();
+    }
+}
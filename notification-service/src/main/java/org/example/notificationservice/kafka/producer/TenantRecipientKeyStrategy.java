@@ -0,0 +1,19 @@
+package org.example.notificationservice.kafka.producer;
+
+import org.example.events.NotificationEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keys events by tenant and recipient. Only messages to the same recipient keep their order,
+ * which spreads large tenants over all partitions.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.kafka.partition-key", havingValue = "tenant-recipient")
+public class TenantRecipientKeyStrategy implements PartitionKeyStrategy {
+
+    @Override
+    public String keyFor(NotificationEvent event) {
+        return event.getTenantId() + ":" + event.getRecipient();
+    }
+}
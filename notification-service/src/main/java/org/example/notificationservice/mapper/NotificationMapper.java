@@ -2,7 +2,7 @@ package org.example.notificationservice.mapper;
 
 import org.example.events.NotificationEvent;
 import org.example.notificationservice.dto.request.SendNotificationRequest;
-import org.example.notificationservice.util.MapUtil;
+import org.example.proto.notification.SendRequest;
 
 import java.time.Instant;
 import java.util.UUID;
@@ -11,10 +11,31 @@ public class NotificationMapper {
     public static NotificationEvent toEventDto(SendNotificationRequest entity) {
         NotificationEvent dto = new NotificationEvent();
 
-        MapUtil.copyProperties(entity, dto);
+        dto.setTenantId(entity.getTenantId());
+        dto.setChannel(entity.getChannel());
+        dto.setRecipient(entity.getRecipient());
+        dto.setSubject(entity.getSubject());
+        dto.setContent(entity.getContent());
         dto.setId(UUID.randomUUID());
         dto.setCreatedAt(Instant.now());
 
         return dto;
     }
+
+    public static SendNotificationRequest toRequestDto(SendRequest request) {
+        SendNotificationRequest dto = new SendNotificationRequest();
+        dto.setTenantId(request.getTenantId());
+        dto.setChannel(request.getChannel());
+        dto.setRecipient(request.getRecipient());
+        dto.setSubject(emptyToNull(request.getSubject()));
+        dto.setContent(emptyToNull(request.getContent()));
+        dto.setTemplateId(emptyToNull(request.getTemplateId()));
+        dto.setVariables(request.getVariablesMap());
+        return dto;
+    }
+
+    // proto3 strings are never null, unset optional fields arrive as ""
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
 }
@@ -0,0 +1,19 @@
+package org.example.notificationservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+@Getter
+@Setter
+public class Template {
+    @Id
+    private String id;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,9 @@
+package org.example.notificationservice.repository;
+
+import org.example.notificationservice.model.Template;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TemplateRepository extends JpaRepository<Template, String> {
+}
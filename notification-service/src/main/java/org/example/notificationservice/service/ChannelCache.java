@@ -0,0 +1,84 @@
+package org.example.notificationservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.model.Channel;
+import org.example.notificationservice.repository.ChannelRepository;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process copy of all channels, keyed by code.
+ * Reads go to an immutable map behind a volatile reference and never block; writes build a new
+ * map and swap it in. A channel created on any node is announced on Redis pub/sub and every node
+ * reloads from the database. Pub/sub is fire-and-forget, so a periodic reload covers lost messages.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ChannelCache implements MessageListener {
+    private static final ChannelTopic CHANNEL_INVALIDATION_TOPIC = new ChannelTopic("notification:channel:invalidate");
+
+    private final ChannelRepository channelRepository;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private volatile Map<String, Channel> channels = Map.of();
+
+    @PostConstruct
+    void init() {
+        reload();
+        redisMessageListenerContainer.addMessageListener(this, CHANNEL_INVALIDATION_TOPIC);
+    }
+
+    /**
+     * Find a channel by code without touching the database.
+     * @param code the channel code
+     * @return the channel, empty if no channel has that code
+     */
+    public Optional<Channel> find(String code) {
+        return code == null ? Optional.empty() : Optional.ofNullable(channels.get(code));
+    }
+
+    /**
+     * Add a channel written on this node and tell the other nodes to reload.
+     * @param channel the saved channel
+     */
+    public synchronized void put(Channel channel) {
+        Map<String, Channel> next = new HashMap<>(channels);
+        next.put(channel.getCode(), channel);
+        channels = Map.copyOf(next);
+        redisTemplate.convertAndSend(CHANNEL_INVALIDATION_TOPIC.getTopic(), channel.getCode());
+    }
+
+    /**
+     * Replace the cached channels with the current database content.
+     */
+    @Scheduled(fixedDelayString = "${notification.channel-cache.refresh-ms:300000}")
+    public synchronized void reload() {
+        channels = channelRepository.findAll().stream()
+                .collect(Collectors.toUnmodifiableMap(Channel::getCode, Function.identity()));
+        log.debug("Loaded {} channels", channels.size());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Failed to reload channels after invalidation, keeping the current copy", e);
+        }
+    }
+}
@@ -10,11 +10,14 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class ChannelService {
     private final ChannelRepository channelRepository;
+    private final ChannelCache channelCache;
 
     public Channel createChannel(CreateChannelRequest request) {
         Channel channel = new Channel();
         channel.setName(request.getName());
         channel.setCode(request.getCode());
-        return channelRepository.save(channel);
+        Channel saved = channelRepository.save(channel);
+        channelCache.put(saved);
+        return saved;
     }
 }
@@ -0,0 +1,73 @@
+package org.example.notificationservice.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template parsed once into alternating literal and variable tokens.
+ * Placeholders are written {@code {{name}}}; rendering only appends tokens, so no pattern
+ * matching happens per message. Variables missing from the map render as an empty string and an
+ * unterminated {@code {{} is kept as literal text.
+ */
+public final class CompiledTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // literals[i] is followed by the value of variables[i]; the last literal has no variable after it
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) length += literal.length();
+        this.literalLength = length;
+    }
+
+    public static CompiledTemplate compile(String content) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int position = 0;
+        while (true) {
+            int open = content.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : content.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                literals.add(content.substring(position));
+                break;
+            }
+            literals.add(content.substring(position, open));
+            variables.add(content.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    /**
+     * Render the template into a new string.
+     * @param values the variable values, may be null
+     * @return the rendered content
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + variables.length * 16);
+        appendTo(out, values);
+        return out.toString();
+    }
+
+    /**
+     * Append the rendered template to a buffer.
+     * @param out the buffer to append to
+     * @param values the variable values, may be null
+     */
+    public void appendTo(StringBuilder out, Map<String, String> values) {
+        out.ensureCapacity(out.length() + literalLength + variables.length * 16);
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values == null ? null : values.get(variables[i]);
+            if (value != null) out.append(value);
+        }
+        out.append(literals[variables.length]);
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.notificationservice.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import lombok.extern.slf4j.Slf4j;
+import org.example.events.NotificationEvent;
+import org.example.notificationservice.common.enums.NotificationStatus;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.example.notificationservice.dto.request.SendNotificationRequest;
+import org.example.notificationservice.dto.response.SendNotificationBatchResponse;
+import org.example.notificationservice.kafka.producer.KafkaProducerService;
+import org.example.notificationservice.mapper.NotificationMapper;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Sends large batches of notifications from a single HTTP body.
+ * The body is read item by item, either as a JSON array or as NDJSON, and processed in chunks:
+ * each chunk reserves its quota in one call and is published to Kafka with a single flush.
+ * The gRPC stream ingest shares the same chunk pipeline.
+ */
+@Service
+@Slf4j
+public class NotificationBatchService {
+    private static final String TENANT_ID_REQUIRED = "Tenant ID must be provided.";
+
+    private final QuotaLeaseManager quotaLeaseManager;
+    private final ChannelCache channelCache;
+    private final TemplateRenderer templateRenderer;
+    private final KafkaProducerService kafkaProducerService;
+    private final Validator validator;
+    private final ObjectReader batchReader;
+
+    @Value("${notification.batch.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${notification.batch.max-items:100000}")
+    private int maxItems;
+
+    public NotificationBatchService(QuotaLeaseManager quotaLeaseManager,
+                                    ChannelCache channelCache,
+                                    TemplateRenderer templateRenderer,
+                                    KafkaProducerService kafkaProducerService,
+                                    @Qualifier("mvcValidator") Validator validator,
+                                    ObjectMapper objectMapper) {
+        this.quotaLeaseManager = quotaLeaseManager;
+        this.channelCache = channelCache;
+        this.templateRenderer = templateRenderer;
+        this.kafkaProducerService = kafkaProducerService;
+        this.validator = validator;
+        this.batchReader = objectMapper.readerFor(SendNotificationRequest.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    /**
+     * Send every notification in the body on behalf of a tenant.
+     * Items that fail validation or quota are reported individually and do not stop the batch.
+     * @param tenantId the tenant sending the batch
+     * @param body a JSON array or newline-delimited JSON objects
+     * @return per-item ids and statuses in input order
+     */
+    public SendNotificationBatchResponse sendNotificationBatch(String tenantId, InputStream body) {
+        SendNotificationBatchResponse response = new SendNotificationBatchResponse();
+        List<SendNotificationRequest> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        try (MappingIterator<SendNotificationRequest> items = batchReader.readValues(body)) {
+            while (items.hasNextValue()) {
+                if (index >= maxItems) {
+                    response.setError("Batch exceeds the limit of " + maxItems + " items.");
+                    break;
+                }
+                SendNotificationRequest item = items.nextValue();
+                item.setTenantId(tenantId);
+                chunk.add(item);
+                index++;
+
+                if (chunk.size() == chunkSize) {
+                    collect(sendChunk(chunk, index - chunk.size()), response);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException | RuntimeJsonMappingException e) {
+            log.warn("Stopped reading notification batch for tenantId: {} at item {}", tenantId, index, e);
+            response.setError("Invalid batch payload at item " + index + ": " + e.getMessage());
+        }
+
+        if (!chunk.isEmpty()) {
+            collect(sendChunk(chunk, index - chunk.size()), response);
+        }
+        return response;
+    }
+
+    /**
+     * Validate, render, reserve quota for and publish one chunk of notifications.
+     * Quota is reserved once per tenant in the chunk and all accepted events share one Kafka flush.
+     * @param chunk the requests to send, each with its tenantId set
+     * @param firstIndex the position of the first request in the overall batch
+     * @return one result per request, in input order
+     */
+    public List<SendNotificationBatchResponse.Item> sendChunk(List<SendNotificationRequest> chunk, int firstIndex) {
+        SendNotificationBatchResponse.Item[] results = new SendNotificationBatchResponse.Item[chunk.size()];
+        Map<String, List<Integer>> validByTenant = new HashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            String error = validate(chunk.get(i));
+            if (error != null) {
+                results[i] = rejected(firstIndex + i, error);
+                continue;
+            }
+            try {
+                templateRenderer.renderContent(chunk.get(i));
+            } catch (BaseException e) {
+                results[i] = rejected(firstIndex + i, e.getMessage());
+                continue;
+            }
+            validByTenant.computeIfAbsent(chunk.get(i).getTenantId(), k -> new ArrayList<>()).add(i);
+        }
+
+        List<NotificationEvent> events = new ArrayList<>(chunk.size());
+        List<Integer> eventIndexes = new ArrayList<>(chunk.size());
+        validByTenant.forEach((tenantId, valid) -> {
+            try {
+                // one reservation covers every valid item of the tenant in the chunk
+                quotaLeaseManager.acquire(tenantId, valid.size());
+            } catch (BaseException e) {
+                for (int i : valid) {
+                    results[i] = rejected(firstIndex + i, e.getMessage());
+                }
+                return;
+            }
+            for (int i : valid) {
+                events.add(NotificationMapper.toEventDto(chunk.get(i)));
+                eventIndexes.add(i);
+            }
+        });
+
+        if (!events.isEmpty()) {
+            publish(chunk, firstIndex, events, eventIndexes, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Check the tenant is set, apply the same bean validation rules as the REST endpoint and check the channel exists.
+     * @param request the request to validate
+     * @return the first validation message, or null when the request is valid
+     */
+    public String validate(SendNotificationRequest request) {
+        // set by the caller rather than bound from the payload, so it has no bean validation rule
+        if (request.getTenantId() == null || request.getTenantId().isBlank()) return TENANT_ID_REQUIRED;
+        Errors errors = validator.validateObject(request);
+        if (errors.hasErrors()) return errors.getAllErrors().get(0).getDefaultMessage();
+        return channelCache.find(request.getChannel()).isPresent() ? null : ApiErrorMessage.CHANNEL_NOT_FOUND.getMessage();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Publish the accepted events and fill in their results.
+     * In ACK mode the chunk waits for every broker acknowledgement, so each item ends up ACCEPTED or FAILED;
+     * otherwise items are reported PENDING. Quota of events that fail to publish is refunded either way.
+     */
+    private void publish(List<SendNotificationRequest> chunk, int firstIndex, List<NotificationEvent> events,
+                         List<Integer> eventIndexes, SendNotificationBatchResponse.Item[] results) {
+        List<CompletableFuture<SendResult<String, Object>>> futures = kafkaProducerService.sendMessages(events);
+        boolean awaitAck = kafkaProducerService.awaitsAck();
+
+        for (int e = 0; e < futures.size(); e++) {
+            int i = eventIndexes.get(e);
+            String tenantId = chunk.get(i).getTenantId();
+            String id = events.get(e).getId().toString();
+            CompletableFuture<SendResult<String, Object>> future = futures.get(e).whenComplete((result, ex) -> {
+                if (ex != null) quotaLeaseManager.release(tenantId, 1);
+            });
+
+            if (!awaitAck) {
+                results[i] = new SendNotificationBatchResponse.Item(firstIndex + i, id, NotificationStatus.PENDING, null);
+                continue;
+            }
+            Throwable failure = future.handle((result, ex) -> ex).join();
+            results[i] = failure == null
+                    ? new SendNotificationBatchResponse.Item(firstIndex + i, id, NotificationStatus.ACCEPTED, null)
+                    : new SendNotificationBatchResponse.Item(firstIndex + i, id, NotificationStatus.FAILED,
+                            publishError(failure));
+        }
+    }
+
+    private String publishError(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof BaseException ? cause.getMessage() : ApiErrorMessage.PUBLISH_FAILED.getMessage();
+    }
+
+    private void collect(List<SendNotificationBatchResponse.Item> results, SendNotificationBatchResponse response) {
+        for (SendNotificationBatchResponse.Item result : results) {
+            if (result.getNotificationStatus() == NotificationStatus.FAILED) {
+                response.setRejected(response.getRejected() + 1);
+            } else {
+                response.setAccepted(response.getAccepted() + 1);
+            }
+            response.getItems().add(result);
+        }
+    }
+
+    private SendNotificationBatchResponse.Item rejected(int index, String error) {
+        return new SendNotificationBatchResponse.Item(index, null, NotificationStatus.FAILED, error);
+    }
+}
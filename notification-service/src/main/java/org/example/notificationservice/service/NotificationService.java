@@ -1,6 +1,5 @@
 package org.example.notificationservice.service;
 
-import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import org.example.events.NotificationEvent;
 import org.example.notificationservice.common.enums.NotificationStatus;
@@ -8,68 +7,67 @@ import org.example.notificationservice.common.exception.ApiErrorMessage;
 import org.example.notificationservice.common.exception.BaseException;
 import org.example.notificationservice.dto.request.SendNotificationRequest;
 import org.example.notificationservice.dto.response.SendNotificationResponse;
-import org.example.notificationservice.grpc.client.TenantServiceGrpcClient;
 import org.example.notificationservice.kafka.producer.KafkaProducerService;
 import org.example.notificationservice.mapper.NotificationMapper;
 import org.example.notificationservice.model.Channel;
-import org.example.notificationservice.repository.ChannelRepository;
 import org.example.notificationservice.repository.NotificationRepository;
-import org.example.proto.tenant.GetTenantQuotaResponse;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     private final NotificationRepository notificationRepository;
-    private final ChannelRepository channelRepository;
-    private final TenantServiceGrpcClient tenantServiceGrpcClient;
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final ChannelCache channelCache;
+    private final TemplateRenderer templateRenderer;
+    private final QuotaLeaseManager quotaLeaseManager;
     private final KafkaProducerService kafkaProducerService;
 
-    private final Integer QUOTA_QUANTITY_DEFAULT = 100; // Default quota if not set
+    /**
+     * Check the channel, render the template, charge quota and publish a notification.
+     * In ACK mode the result completes with ACCEPTED once the broker acknowledged the event, or
+     * exceptionally with PUBLISH_FAILED; in fire-and-forget mode it completes at once with PENDING.
+     * The quota is refunded whenever the event is not published.
+     * @param request the notification to send, with its tenantId set
+     * @return the send result
+     */
+    public CompletableFuture<SendNotificationResponse> sendNotification(SendNotificationRequest request) {
+        getChannel(request.getChannel());
+        templateRenderer.renderContent(request);
+
+        // check and reduce quota from the node-local lease
+        quotaLeaseManager.acquire(request.getTenantId(), 1);
 
-    public SendNotificationResponse sendNotification(SendNotificationRequest request) {
-        if (getTenantQuota(request.getTenantId()) <= 0) {
-            throw new BaseException(ApiErrorMessage.QUOTA_EXCEEDED);
+        NotificationEvent eventDto = NotificationMapper.toEventDto(request);
+        CompletableFuture<?> published;
+        try {
+            published = kafkaProducerService.sendMessage(eventDto);
+        } catch (BaseException e) {
+            quotaLeaseManager.release(request.getTenantId(), 1);
+            throw e;
         }
+        published = published.whenComplete((result, e) -> {
+            if (e != null) quotaLeaseManager.release(request.getTenantId(), 1);
+        });
 
-        // reduce quota
-        redisTemplate.opsForValue().decrement(getCacheKeyForTenantQuota(request.getTenantId()));
+        if (!kafkaProducerService.awaitsAck()) {
+            return CompletableFuture.completedFuture(toResponse(eventDto, NotificationStatus.PENDING));
+        }
+        return published.thenApply(result -> toResponse(eventDto, NotificationStatus.ACCEPTED));
+    }
 
-        NotificationEvent eventDto = NotificationMapper.toEventDto(request);
-        kafkaProducerService.sendMessage(eventDto);
+    public Channel getChannel(String code) {
+        return channelCache.find(code)
+                .orElseThrow(() -> new BaseException(ApiErrorMessage.CHANNEL_NOT_FOUND));
+    }
 
-        // build and return response
+    private SendNotificationResponse toResponse(NotificationEvent eventDto, NotificationStatus status) {
         SendNotificationResponse response = new SendNotificationResponse();
         response.setId(eventDto.getId().toString());
         response.setTenantId(eventDto.getTenantId());
-        response.setNotificationStatus(NotificationStatus.PENDING);
-
+        response.setNotificationStatus(status);
         return response;
     }
-
-    public Integer getTenantQuota(@NotBlank String tenantId) {
-        String cacheKey = getCacheKeyForTenantQuota(tenantId);
-        Integer quotaInRedis = (Integer) redisTemplate.opsForValue().get(cacheKey);
-        if (quotaInRedis != null && quotaInRedis > 0) return quotaInRedis;
-
-        // Not in cache or zero, fetch from gRPC service
-        GetTenantQuotaResponse response = tenantServiceGrpcClient.getTenantQuota(tenantId, QUOTA_QUANTITY_DEFAULT);
-
-        redisTemplate.opsForValue().set(cacheKey, response.getQuotaQuantity());
-
-        return response.getQuotaQuantity();
-    }
-
-    public String getCacheKeyForTenantQuota(String tenantId) {
-        return "tenant:quota:" + tenantId;
-    }
-
-    // TODO: Cache channel info
-    public Channel getChannel(String code) {
-        return channelRepository.findByCode(code)
-                .orElseThrow(() -> new BaseException(ApiErrorMessage.CHANNEL_NOT_FOUND));
-    }
 }
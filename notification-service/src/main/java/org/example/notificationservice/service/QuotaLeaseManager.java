@@ -0,0 +1,249 @@
+package org.example.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Node-local quota leases.
+ * Each tenant holds a block of quota taken from its Redis pool, so most sends are a single CAS
+ * with no network hop. Blocks are refilled in the background before they run dry and are sized
+ * from the tenant's observed send rate. Unused quota goes back to the pool when a lease expires
+ * or the node shuts down.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuotaLeaseManager {
+    private static final double RATE_SMOOTHING = 0.5;
+
+    private final QuotaService quotaService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.quota.lease.min-size:10}")
+    private int minLeaseSize;
+
+    @Value("${notification.quota.lease.max-size:5000}")
+    private int maxLeaseSize;
+
+    @Value("${notification.quota.lease.refill-horizon-ms:2000}")
+    private long refillHorizonMs; // a lease should cover this much traffic at the observed rate
+
+    @Value("${notification.quota.lease.low-watermark:0.25}")
+    private double lowWatermark; // refill in the background once this fraction of the last block is left
+
+    @Value("${notification.quota.lease.ttl-ms:30000}")
+    private long leaseTtlMs;
+
+    private final Map<String, TenantLease> leases = new ConcurrentHashMap<>();
+    private final ExecutorService refillExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private Counter refillCounter;
+    private Counter returnedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        refillCounter = Counter.builder("quota.lease.refills")
+                .description("Lease blocks taken from the tenant quota pools")
+                .register(meterRegistry);
+        returnedCounter = Counter.builder("quota.lease.returned")
+                .description("Unused quota units given back to the tenant quota pools")
+                .register(meterRegistry);
+        Gauge.builder("quota.lease.outstanding", leases,
+                        l -> l.values().stream().mapToLong(lease -> lease.remaining.get()).sum())
+                .description("Quota units held in node-local leases")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take quota for a tenant from its node-local lease.
+     * Falls back to a synchronous refill only when the lease is drained.
+     * @param tenantId the tenant to charge
+     * @param quantity the number of notifications to charge
+     * @throws BaseException QUOTA_EXCEEDED if the tenant has no quota left
+     */
+    public void acquire(String tenantId, int quantity) {
+        leaseFor(tenantId).demand.add(quantity);
+
+        while (true) {
+            TenantLease lease = leaseFor(tenantId);
+            if (lease.tryAcquire(quantity)) {
+                if (lease.needsRefill(lowWatermark)) scheduleRefill(lease);
+                return;
+            }
+
+            // Lease is drained, refill on the caller thread
+            long granted = refill(lease, quantity);
+            if (lease.retired.get()) continue; // swept concurrently, its quota already went back to the pool
+            if (granted == 0 && !lease.tryAcquire(quantity)) {
+                throw new BaseException(ApiErrorMessage.QUOTA_EXCEEDED);
+            }
+            if (granted == 0) return;
+        }
+    }
+
+    /**
+     * Give back quota taken for sends that were never published.
+     * @param tenantId the tenant that was charged
+     * @param quantity the number of notifications to refund
+     */
+    public void release(String tenantId, int quantity) {
+        if (quantity <= 0) return;
+        TenantLease lease = leases.get(tenantId);
+        if (lease == null || lease.retired.get()) {
+            quotaService.release(tenantId, quantity);
+            return;
+        }
+        lease.remaining.addAndGet(quantity);
+        if (lease.retired.get()) returnLease(lease); // swept while refunding
+    }
+
+    /**
+     * Return leases that were not refilled within their TTL, so idle tenants do not strand quota on this node.
+     */
+    @Scheduled(fixedDelayString = "${notification.quota.lease.sweep-interval-ms:5000}")
+    public void expireLeases() {
+        long now = System.nanoTime();
+        leases.forEach((tenantId, lease) -> {
+            if (now - lease.expiresAtNanos < 0) return;
+            if (leases.remove(tenantId, lease)) {
+                lease.retired.set(true);
+                returnLease(lease);
+            }
+        });
+    }
+
+    /**
+     * Give every outstanding lease back to the tenant pools before the node goes away.
+     */
+    @PreDestroy
+    public void returnAllLeases() {
+        refillExecutor.shutdown();
+        try {
+            refillExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        leases.forEach((tenantId, lease) -> {
+            if (leases.remove(tenantId, lease)) {
+                lease.retired.set(true);
+                returnLease(lease);
+            }
+        });
+    }
+
+    private TenantLease leaseFor(String tenantId) {
+        return leases.computeIfAbsent(tenantId, id -> new TenantLease(id, TimeUnit.MILLISECONDS.toNanos(leaseTtlMs)));
+    }
+
+    private void scheduleRefill(TenantLease lease) {
+        if (!lease.refilling.compareAndSet(false, true)) return;
+        refillExecutor.execute(() -> {
+            try {
+                refill(lease, 0);
+            } catch (Exception e) {
+                log.warn("Background quota refill failed for tenantId: {}", lease.tenantId, e);
+            } finally {
+                lease.refilling.set(false);
+            }
+        });
+    }
+
+    private long refill(TenantLease lease, int minQuantity) {
+        int size = Math.max(minQuantity, nextLeaseSize(lease));
+        long granted = quotaService.leaseBlock(lease.tenantId, size);
+        lease.add(granted, size, TimeUnit.MILLISECONDS.toNanos(leaseTtlMs));
+        refillCounter.increment();
+        log.debug("Leased {} of {} quota for tenantId: {}", granted, size, lease.tenantId);
+
+        // The sweeper may have retired this lease while the refill was in flight
+        if (lease.retired.get()) returnLease(lease);
+        return granted;
+    }
+
+    private int nextLeaseSize(TenantLease lease) {
+        double ratePerSecond = lease.sampleRate(System.nanoTime());
+        long size = (long) Math.ceil(ratePerSecond * refillHorizonMs / 1000.0);
+        return (int) Math.min(maxLeaseSize, Math.max(minLeaseSize, size));
+    }
+
+    private void returnLease(TenantLease lease) {
+        long unused = lease.remaining.getAndSet(0);
+        if (unused <= 0) return;
+        try {
+            quotaService.release(lease.tenantId, unused);
+            returnedCounter.increment(unused);
+            log.debug("Returned {} unused quota for tenantId: {}", unused, lease.tenantId);
+        } catch (Exception e) {
+            log.error("Failed to return {} unused quota for tenantId: {}", unused, lease.tenantId, e);
+        }
+    }
+
+    private static final class TenantLease {
+        private final String tenantId;
+        private final AtomicLong remaining = new AtomicLong();
+        private final LongAdder demand = new LongAdder(); // units requested since the last rate sample
+        private final AtomicBoolean refilling = new AtomicBoolean();
+        private final AtomicBoolean retired = new AtomicBoolean();
+        private volatile long lastLeaseSize;
+        private volatile long expiresAtNanos;
+        private long lastSampleNanos;
+        private double ratePerSecond;
+
+        private TenantLease(String tenantId, long ttlNanos) {
+            this.tenantId = tenantId;
+            this.lastSampleNanos = System.nanoTime();
+            this.expiresAtNanos = lastSampleNanos + ttlNanos;
+        }
+
+        private boolean tryAcquire(int quantity) {
+            long current;
+            do {
+                current = remaining.get();
+                if (current < quantity) return false;
+            } while (!remaining.compareAndSet(current, current - quantity));
+            return true;
+        }
+
+        private boolean needsRefill(double lowWatermark) {
+            return !refilling.get() && remaining.get() <= lastLeaseSize * lowWatermark;
+        }
+
+        private void add(long granted, long leaseSize, long ttlNanos) {
+            remaining.addAndGet(granted);
+            lastLeaseSize = leaseSize;
+            expiresAtNanos = System.nanoTime() + ttlNanos;
+        }
+
+        /**
+         * Smoothed send rate since the previous sample, in units per second.
+         */
+        private synchronized double sampleRate(long now) {
+            long elapsed = now - lastSampleNanos;
+            if (elapsed <= 0) return ratePerSecond;
+
+            double observed = demand.sumThenReset() * 1_000_000_000.0 / elapsed;
+            ratePerSecond = ratePerSecond == 0 ? observed : RATE_SMOOTHING * observed + (1 - RATE_SMOOTHING) * ratePerSecond;
+            lastSampleNanos = now;
+            return ratePerSecond;
+        }
+    }
+}
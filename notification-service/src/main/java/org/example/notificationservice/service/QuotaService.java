@@ -0,0 +1,204 @@
+package org.example.notificationservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.example.notificationservice.grpc.client.TenantServiceGrpcClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuotaService {
+    private static final RedisScript<Long> RESERVE_QUOTA_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/reserve_quota.lua"), Long.class);
+    private static final RedisScript<Long> LEASE_QUOTA_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/lease_quota.lua"), Long.class);
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/release_lock.lua"), Long.class);
+    private static final long INSUFFICIENT_QUOTA = -1L;
+    private static final int QUOTA_QUANTITY_DEFAULT = 100; // Default lease size requested from tenant-service
+    private static final int MAX_REFILL_ATTEMPTS = 3; // a refill may be drained by other callers before we take from it
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TenantServiceGrpcClient tenantServiceGrpcClient;
+    private final TenantQuotaWatcher tenantQuotaWatcher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${notification.quota.refill-lock-ms:2000}")
+    private long refillLockMs;
+
+    @Value("${notification.quota.refill-poll-ms:20}")
+    private long refillPollMs;
+
+    private final Map<String, CompletableFuture<Boolean>> inFlightRefills = new ConcurrentHashMap<>();
+
+    private Counter refillCounter;
+    private Counter nodeCoalescedCounter;
+    private Counter clusterCoalescedCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        refillCounter = Counter.builder("quota.refill")
+                .description("Quota leases fetched from tenant-service")
+                .register(meterRegistry);
+        nodeCoalescedCounter = Counter.builder("quota.refill.coalesced")
+                .tag("scope", "node")
+                .description("Refills that waited for one already in flight on this node")
+                .register(meterRegistry);
+        clusterCoalescedCounter = Counter.builder("quota.refill.coalesced")
+                .tag("scope", "cluster")
+                .description("Refills that waited for one already in flight on another node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Atomically reserve quota for a tenant.
+     * The check and the decrement run in one Redis script, so concurrent callers can never
+     * overdraw the tenant pool.
+     * @param tenantId the tenant to reserve quota for
+     * @param quantity the number of notifications to reserve
+     * @return the remaining quota in the tenant pool after the reservation
+     * @throws BaseException QUOTA_EXCEEDED if the pool cannot cover the request even after a refill
+     */
+    public long reserve(String tenantId, int quantity) {
+        long remaining = executeReserve(tenantId, quantity);
+        for (int attempt = 0; remaining == INSUFFICIENT_QUOTA && attempt < MAX_REFILL_ATTEMPTS; attempt++) {
+            if (!refill(tenantId, Math.max(quantity, QUOTA_QUANTITY_DEFAULT))) break;
+            remaining = executeReserve(tenantId, quantity);
+        }
+        if (remaining == INSUFFICIENT_QUOTA) {
+            throw new BaseException(ApiErrorMessage.QUOTA_EXCEEDED);
+        }
+        return remaining;
+    }
+
+    /**
+     * Take a block of quota from the tenant pool for a node-local lease.
+     * Unlike {@link #reserve(String, int)} the grant may be partial, so a nearly drained pool is
+     * still handed out instead of rejecting the whole block.
+     * @param tenantId the tenant to lease quota for
+     * @param maxQuantity the preferred block size
+     * @return the quantity granted, 0 when the tenant has no quota left
+     */
+    public long leaseBlock(String tenantId, int maxQuantity) {
+        long granted = executeScript(LEASE_QUOTA_SCRIPT, tenantId, maxQuantity);
+        for (int attempt = 0; granted <= 0 && attempt < MAX_REFILL_ATTEMPTS; attempt++) {
+            if (!refill(tenantId, Math.max(maxQuantity, QUOTA_QUANTITY_DEFAULT))) break;
+            granted = executeScript(LEASE_QUOTA_SCRIPT, tenantId, maxQuantity);
+        }
+        return Math.max(0, granted);
+    }
+
+    /**
+     * Give unused leased quota back to the tenant pool.
+     * @param tenantId the tenant owning the quota
+     * @param quantity the unused quantity to return
+     */
+    public void release(String tenantId, long quantity) {
+        if (quantity <= 0) return;
+        redisTemplate.opsForValue().increment(getCacheKeyForTenantQuota(tenantId), quantity);
+    }
+
+    public String getCacheKeyForTenantQuota(String tenantId) {
+        return "tenant:quota:" + tenantId;
+    }
+
+    /**
+     * Refill the tenant pool from tenant-service, at most once per tenant at a time.
+     * Callers on this node share the refill already in flight; across nodes a short Redis lock
+     * lets one node fetch while the others wait for it to finish.
+     * @return true when the pool may have been refilled and is worth retrying, false when the tenant has no quota left
+     */
+    private boolean refill(String tenantId, int quantity) {
+        if (tenantQuotaWatcher.isExhausted(tenantId)) return false;
+
+        CompletableFuture<Boolean> refill = new CompletableFuture<>();
+        CompletableFuture<Boolean> inFlight = inFlightRefills.putIfAbsent(tenantId, refill);
+        if (inFlight != null) {
+            nodeCoalescedCounter.increment();
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            boolean refilled = refillAcrossNodes(tenantId, quantity);
+            refill.complete(refilled);
+            return refilled;
+        } catch (RuntimeException e) {
+            refill.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRefills.remove(tenantId, refill);
+        }
+    }
+
+    private boolean refillAcrossNodes(String tenantId, int quantity) {
+        String lockKey = "tenant:quota:refill-lock:" + tenantId;
+        String token = UUID.randomUUID().toString();
+
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(lockKey, token, Duration.ofMillis(refillLockMs)))) {
+            try {
+                int lease = tenantServiceGrpcClient.getTenantQuota(tenantId, quantity).getQuotaQuantity();
+                refillCounter.increment();
+                log.debug("Leased {} quota from tenant-service for tenantId: {}", lease, tenantId);
+                if (lease <= 0) return false;
+                release(tenantId, lease);
+                return true;
+            } finally {
+                redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(lockKey), token);
+            }
+        }
+
+        // Another node is refilling this tenant, wait for it instead of asking tenant-service again
+        clusterCoalescedCounter.increment();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(refillLockMs);
+        while (System.nanoTime() - deadline < 0 && Boolean.TRUE.equals(redisTemplate.hasKey(lockKey))) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(refillPollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return true;
+    }
+
+    private long executeReserve(String tenantId, int quantity) {
+        long result = executeScript(RESERVE_QUOTA_SCRIPT, tenantId, quantity);
+        log.debug("Reserved {} quota for tenantId: {}, result: {}", quantity, tenantId, result);
+        return result;
+    }
+
+    private long executeScript(RedisScript<Long> script, String tenantId, int quantity) {
+        Long result = redisTemplate.execute(
+                script,
+                new StringRedisSerializer(),
+                new GenericToStringSerializer<>(Long.class),
+                List.of(getCacheKeyForTenantQuota(tenantId)),
+                String.valueOf(quantity));
+        return result != null ? result : INSUFFICIENT_QUOTA;
+    }
+}
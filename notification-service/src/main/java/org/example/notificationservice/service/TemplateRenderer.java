@@ -0,0 +1,136 @@
+package org.example.notificationservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.dto.request.SendNotificationRequest;
+import org.example.notificationservice.grpc.client.TemplateServiceGrpcClient;
+import org.example.proto.template.GetTemplateResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders notification content from templates.
+ * Templates are compiled once and kept in a size-bounded LRU cache keyed by template id and
+ * version. The cache is split into segments, each with its own lock, so concurrent renders of
+ * different templates rarely wait on each other. The current version of each template is re-checked with the template service after
+ * {@code version-ttl-ms}, so edited templates are picked up without a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TemplateRenderer {
+    private static final int CACHE_SEGMENTS = 16;
+
+    private final TemplateServiceGrpcClient templateServiceGrpcClient;
+
+    @Value("${notification.template.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${notification.template.version-ttl-ms:60000}")
+    private long versionTtlMs;
+
+    private final Map<String, CurrentVersion> currentVersions = new ConcurrentHashMap<>();
+    private CacheSegment[] segments;
+
+    @PostConstruct
+    void init() {
+        // small caches use one segment so eviction is exactly least recently used
+        int segmentCount = cacheSize >= CACHE_SEGMENTS * 64 ? CACHE_SEGMENTS : 1;
+        int perSegment = Math.max(1, cacheSize / segmentCount);
+        segments = new CacheSegment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new CacheSegment(perSegment);
+        }
+    }
+
+    /**
+     * Fill in the content of a request that names a template. Requests without a template are left as they are.
+     * @param request the request to render
+     * @throws org.example.notificationservice.common.exception.BaseException TEMPLATE_NOT_FOUND or TEMPLATE_UNAVAILABLE
+     */
+    public void renderContent(SendNotificationRequest request) {
+        if (request.getTemplateId() == null || request.getTemplateId().isBlank()) return;
+        request.setContent(render(request.getTemplateId(), request.getVariables()));
+    }
+
+    /**
+     * Render a template with the given variables.
+     * @param templateId the template to render
+     * @param variables the variable values, may be null
+     * @return the rendered content
+     */
+    public String render(String templateId, Map<String, String> variables) {
+        return resolve(templateId).render(variables);
+    }
+
+    private CompiledTemplate resolve(String templateId) {
+        long now = System.nanoTime();
+        CurrentVersion current = currentVersions.get(templateId);
+        if (current != null && now - current.expiresAtNanos() < 0) {
+            CompiledTemplate template = getCompiled(new TemplateKey(templateId, current.version()));
+            if (template != null) return template;
+        }
+
+        GetTemplateResponse response = templateServiceGrpcClient.getTemplate(templateId);
+        TemplateKey key = new TemplateKey(templateId, response.getVersion());
+        CompiledTemplate template = getCompiled(key);
+        if (template == null) {
+            template = CompiledTemplate.compile(response.getTemplateContent());
+            putCompiled(key, template);
+            log.debug("Compiled template: {} version: {}", templateId, response.getVersion());
+        }
+        currentVersions.put(templateId, new CurrentVersion(response.getVersion(), now + TimeUnit.MILLISECONDS.toNanos(versionTtlMs)));
+        return template;
+    }
+
+    private CompiledTemplate getCompiled(TemplateKey key) {
+        CacheSegment segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    private void putCompiled(TemplateKey key, CompiledTemplate template) {
+        CacheSegment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, template);
+        }
+    }
+
+    private CacheSegment segmentOf(TemplateKey key) {
+        int h = key.hashCode();
+        return segments[Math.floorMod(h ^ (h >>> 16), segments.length)];
+    }
+
+    /**
+     * Access-ordered part of the compiled template cache, guarded by its own monitor.
+     */
+    private final class CacheSegment extends LinkedHashMap<TemplateKey, CompiledTemplate> {
+        private final int maxSize;
+
+        private CacheSegment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<TemplateKey, CompiledTemplate> eldest) {
+            if (size() <= maxSize) return false;
+            TemplateKey key = eldest.getKey();
+            currentVersions.computeIfPresent(key.templateId(), (id, current) -> current.version() == key.version() ? null : current);
+            return true;
+        }
+    }
+
+    private record TemplateKey(String templateId, long version) {
+    }
+
+    private record CurrentVersion(long version, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.notificationservice.service;
+
+import io.grpc.stub.StreamObserver;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.notificationservice.grpc.client.TenantServiceGrpcClient;
+import org.example.proto.tenant.TenantQuota;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Node-local view of tenant quotas, kept current by the tenant-service WatchQuota stream.
+ * Lets the quota path skip asking tenant-service for a lease when the tenant is known to be out
+ * of quota. The stream starts with the quota of every tenant. After the stream drops it reconnects
+ * and re-reads the tenants it knew in batches, dropping the ones that no longer exist.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantQuotaWatcher {
+    private static final int RESYNC_BATCH_SIZE = 1000;
+
+    private final TenantServiceGrpcClient tenantServiceGrpcClient;
+
+    @Value("${notification.quota.watch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${notification.quota.watch.reconnect-ms:5000}")
+    private long reconnectMs;
+
+    private final Map<String, TenantQuota> quotas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService reconnectExecutor = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("quota-watch").daemon().factory());
+    private volatile boolean stopped;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) connect();
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        reconnectExecutor.shutdownNow();
+    }
+
+    /**
+     * @param tenantId the tenant to check
+     * @return true when tenant-service last reported the tenant out of quota
+     */
+    public boolean isExhausted(String tenantId) {
+        TenantQuota quota = quotas.get(tenantId);
+        return quota != null && !quota.getUnlimited() && quota.getRemaining() <= 0;
+    }
+
+    private void connect() {
+        if (stopped) return;
+        try {
+            tenantServiceGrpcClient.watchQuota(List.of(), new StreamObserver<>() {
+                @Override
+                public void onNext(TenantQuota quota) {
+                    quotas.put(quota.getTenantId(), quota);
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    log.warn("Quota watch stream failed, reconnecting in {} ms", reconnectMs, t);
+                    scheduleReconnect();
+                }
+
+                @Override
+                public void onCompleted() {
+                    log.info("Quota watch stream closed by tenant-service, reconnecting");
+                    scheduleReconnect();
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to open quota watch stream, retrying in {} ms", reconnectMs, e);
+            scheduleReconnect();
+            return;
+        }
+
+        // after the stream is open, so no change between the read and the subscription is lost
+        try {
+            resync();
+        } catch (Exception e) {
+            log.warn("Failed to resync tenant quotas, relying on the stream snapshot", e);
+        }
+    }
+
+    /**
+     * Re-read the quota of every tenant we know, changes pushed while disconnected were missed.
+     */
+    private void resync() {
+        List<String> tenantIds = new ArrayList<>(quotas.keySet());
+        for (int from = 0; from < tenantIds.size(); from += RESYNC_BATCH_SIZE) {
+            List<String> batch = tenantIds.subList(from, Math.min(tenantIds.size(), from + RESYNC_BATCH_SIZE));
+            var response = tenantServiceGrpcClient.getTenantQuotas(batch);
+            response.getQuotasList().forEach(quota -> quotas.put(quota.getTenantId(), quota));
+            response.getMissingTenantIdsList().forEach(quotas::remove);
+        }
+    }
+
+    private void scheduleReconnect() {
+        if (stopped) return;
+        reconnectExecutor.schedule(this::connect, reconnectMs, TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,14 @@
+-- Atomically take a block of quota from a tenant pool for a node-local lease.
+-- KEYS[1]: tenant quota key (tenant:quota:{tenantId})
+-- ARGV[1]: maximum quantity to take
+-- Returns the quantity granted, which may be less than requested and is 0 when the pool is empty.
+local requested = tonumber(ARGV[1])
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+if current <= 0 then
+    return 0
+end
+
+local granted = math.min(current, requested)
+redis.call('DECRBY', KEYS[1], granted)
+return granted
@@ -0,0 +1,12 @@
+-- Atomically reserve quota for a tenant in a single round trip.
+-- KEYS[1]: tenant quota key (tenant:quota:{tenantId})
+-- ARGV[1]: quantity to reserve
+-- Returns the remaining quota after the reservation, or -1 when the pool cannot cover the request.
+local requested = tonumber(ARGV[1])
+
+local current = tonumber(redis.call('GET', KEYS[1]) or '0')
+if current < requested then
+    return -1
+end
+
+return redis.call('DECRBY', KEYS[1], requested)
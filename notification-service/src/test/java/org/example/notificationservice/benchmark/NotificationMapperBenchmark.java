@@ -0,0 +1,74 @@
+package org.example.notificationservice.benchmark;
+
+import org.example.events.NotificationEvent;
+import org.example.notificationservice.dto.request.SendNotificationRequest;
+import org.example.notificationservice.mapper.NotificationMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.BeanUtils;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request to event mapping, hand-written mapper against the previous BeanUtils.copyProperties path.
+ * {@link #main} enables the GC profiler, so the report has ns/op and allocated bytes per op
+ * ({@code gc.alloc.rate.norm}) side by side.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotificationMapperBenchmark {
+
+    private SendNotificationRequest request;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        request = new SendNotificationRequest();
+        request.setTenantId("tenant-1");
+        request.setChannel("EMAIL");
+        request.setRecipient("alice@example.com");
+        request.setSubject("Your order shipped");
+        request.setContent("Hello Alice, your order A-100234 ships on 2025-01-31.");
+        request.setTemplateId("order-shipped");
+        request.setVariables(Map.of("name", "Alice"));
+    }
+
+    @Benchmark
+    public NotificationEvent handWritten() {
+        return NotificationMapper.toEventDto(request);
+    }
+
+    @Benchmark
+    public NotificationEvent beanUtils() {
+        NotificationEvent dto = new NotificationEvent();
+        BeanUtils.copyProperties(request, dto);
+        dto.setId(UUID.randomUUID());
+        dto.setCreatedAt(Instant.now());
+        return dto;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(NotificationMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
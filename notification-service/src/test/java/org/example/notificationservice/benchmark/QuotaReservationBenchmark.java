@@ -0,0 +1,148 @@
+package org.example.notificationservice.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.example.notificationservice.config.CacheConfig;
+import org.example.notificationservice.grpc.client.TenantServiceGrpcClient;
+import org.example.notificationservice.service.QuotaService;
+import org.example.notificationservice.service.TenantQuotaWatcher;
+import org.example.proto.tenant.GetTenantQuotaResponse;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Open-loop load harness comparing the legacy GET / SET / DECR quota path with the atomic
+ * reserve script. It needs a running Redis and is started manually, e.g.
+ * <pre>
+ * java -Dredis.host=localhost -Drate=5000 -Dseconds=30 ... QuotaReservationBenchmark
+ * </pre>
+ * Requests are scheduled at a fixed rate for a single tenant and latency is measured from the
+ * scheduled start, so a slow Redis shows up in the tail instead of lowering the offered load.
+ * Overdraw is the number of accepted sends above the quota granted by the simulated tenant-service.
+ */
+public final class QuotaReservationBenchmark {
+
+    private static final int LEASE_SIZE = 100;
+
+    public static void main(String[] args) throws Exception {
+        String host = System.getProperty("redis.host", "localhost");
+        int port = Integer.getInteger("redis.port", 6379);
+        int rate = Integer.getInteger("rate", 5000);
+        int seconds = Integer.getInteger("seconds", 30);
+        int tenantQuota = Integer.getInteger("tenantQuota", rate * seconds / 2);
+
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        RedisTemplate<String, Object> redisTemplate = new CacheConfig().redisTemplate(connectionFactory);
+
+        try {
+            run("legacy", rate, seconds, tenantQuota, redisTemplate, tenantService -> tenantId -> legacyReserve(redisTemplate, tenantService, tenantId));
+            run("script", rate, seconds, tenantQuota, redisTemplate, tenantService -> {
+                QuotaService quotaService = new QuotaService(redisTemplate, tenantService,
+                        new TenantQuotaWatcher(tenantService), new SimpleMeterRegistry());
+                ReflectionTestUtils.setField(quotaService, "refillLockMs", 2000L);
+                ReflectionTestUtils.setField(quotaService, "refillPollMs", 20L);
+                ReflectionTestUtils.invokeMethod(quotaService, "registerMetrics");
+                return tenantId -> quotaService.reserve(tenantId, 1);
+            });
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private static void run(String name, int rate, int seconds, int tenantQuota,
+                            RedisTemplate<String, Object> redisTemplate,
+                            Function<SimulatedTenantService, Consumer<String>> pathFactory) throws InterruptedException {
+        String tenantId = "bench-" + name + "-" + System.nanoTime();
+        SimulatedTenantService tenantService = new SimulatedTenantService(tenantQuota);
+        Consumer<String> path = pathFactory.apply(tenantService);
+
+        int total = rate * seconds;
+        long[] latencies = new long[total];
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        path.accept(tenantId);
+                        accepted.incrementAndGet();
+                    } catch (BaseException e) {
+                        rejected.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - scheduledAt;
+                    }
+                });
+            }
+        }
+        redisTemplate.delete("tenant:quota:" + tenantId);
+
+        Arrays.sort(latencies);
+        long overdraw = Math.max(0, accepted.get() - tenantService.granted.get());
+        System.out.printf("[%s] requests=%d accepted=%d rejected=%d granted=%d overdraw=%d (%.3f%%) p50=%.2fms p99=%.2fms p999=%.2fms%n",
+                name, total, accepted.get(), rejected.get(), tenantService.granted.get(), overdraw,
+                accepted.get() == 0 ? 0.0 : overdraw * 100.0 / accepted.get(),
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999));
+    }
+
+    /**
+     * The pre-script quota path: read, optionally refill with SET, then decrement in a separate call.
+     */
+    private static void legacyReserve(RedisTemplate<String, Object> redisTemplate, TenantServiceGrpcClient tenantService, String tenantId) {
+        String cacheKey = "tenant:quota:" + tenantId;
+        Integer quota = (Integer) redisTemplate.opsForValue().get(cacheKey);
+        if (quota == null || quota <= 0) {
+            quota = tenantService.getTenantQuota(tenantId, LEASE_SIZE).getQuotaQuantity();
+            redisTemplate.opsForValue().set(cacheKey, quota);
+        }
+        if (quota <= 0) {
+            throw new BaseException(ApiErrorMessage.QUOTA_EXCEEDED);
+        }
+        redisTemplate.opsForValue().decrement(cacheKey);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    /**
+     * Stand-in for tenant-service that hands out leases until the tenant quota is used up.
+     */
+    private static final class SimulatedTenantService extends TenantServiceGrpcClient {
+        private final AtomicInteger remaining;
+        private final AtomicLong granted = new AtomicLong();
+
+        private SimulatedTenantService(int quota) {
+            this.remaining = new AtomicInteger(quota);
+        }
+
+        @Override
+        public GetTenantQuotaResponse getTenantQuota(String tenantId, int quotaQuantity) {
+            int lease = Math.max(0, Math.min(quotaQuantity, remaining.getAndAdd(-quotaQuantity)));
+            granted.addAndGet(lease);
+            return GetTenantQuotaResponse.newBuilder().setQuotaQuantity(lease).build();
+        }
+    }
+}
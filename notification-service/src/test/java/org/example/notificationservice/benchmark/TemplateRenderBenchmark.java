@@ -0,0 +1,118 @@
+package org.example.notificationservice.benchmark;
+
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.example.notificationservice.grpc.client.TemplateServiceGrpcClient;
+import org.example.notificationservice.service.CompiledTemplate;
+import org.example.notificationservice.service.TemplateRenderer;
+import org.example.proto.template.GetTemplateResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template rendering throughput, started manually with
+ * <pre>
+ * java ... TemplateRenderBenchmark
+ * </pre>
+ * Scores are renders per second per thread and are read against the 1k, 10k and 100k renders per
+ * second targets. {@code distinctTemplates} above the cache size of 10000 forces LRU evictions and
+ * recompiles, the smaller values measure the cached path.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateRenderBenchmark {
+    private static final String CONTENT =
+            "Hello {{name}}, your order {{orderId}} of {{amount}} {{currency}} ships on {{date}}. Thanks for shopping with {{shop}}!";
+    private static final Map<String, String> VARIABLES = Map.of(
+            "name", "Alice", "orderId", "A-100234", "amount", "42.50",
+            "currency", "EUR", "date", "2025-01-31", "shop", "Example Store");
+
+    @Param({"1", "100", "20000"})
+    int distinctTemplates;
+
+    private TemplateRenderer renderer;
+    private CompiledTemplate compiled;
+    private StringBuilder buffer;
+    private String[] templateIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        renderer = new TemplateRenderer(new SimulatedTemplateService());
+        ReflectionTestUtils.setField(renderer, "cacheSize", 10_000);
+        ReflectionTestUtils.setField(renderer, "versionTtlMs", 60_000L);
+        ReflectionTestUtils.invokeMethod(renderer, "init");
+
+        compiled = CompiledTemplate.compile(CONTENT);
+        buffer = new StringBuilder(256);
+        templateIds = new String[distinctTemplates];
+        for (int i = 0; i < distinctTemplates; i++) {
+            templateIds[i] = "template-" + i;
+        }
+    }
+
+    /**
+     * Renderer path used by the send pipeline: version lookup, LRU lookup and render.
+     */
+    @Benchmark
+    public String render() {
+        String templateId = templateIds[next];
+        next = next + 1 == templateIds.length ? 0 : next + 1;
+        return renderer.render(templateId, VARIABLES);
+    }
+
+    /**
+     * Rendering an already compiled template into a reused buffer, the lower bound of {@link #render()}.
+     */
+    @Benchmark
+    public int appendCompiled() {
+        buffer.setLength(0);
+        compiled.appendTo(buffer, VARIABLES);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public CompiledTemplate compile() {
+        return CompiledTemplate.compile(CONTENT);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TemplateRenderBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * Stand-in for the template service that answers every id with the same content.
+     */
+    private static final class SimulatedTemplateService extends TemplateServiceGrpcClient {
+        @Override
+        public GetTemplateResponse getTemplate(String templateId) {
+            if (templateId.isEmpty()) throw new BaseException(ApiErrorMessage.TEMPLATE_NOT_FOUND);
+            return GetTemplateResponse.newBuilder()
+                    .setTemplateContent(CONTENT)
+                    .setVersion(1)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.notificationservice.unit.grpc;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.example.notificationservice.common.enums.NotificationStatus;
+import org.example.notificationservice.dto.request.SendNotificationRequest;
+import org.example.notificationservice.dto.response.SendNotificationBatchResponse;
+import org.example.notificationservice.grpc.server.NotificationGrpcService;
+import org.example.notificationservice.service.NotificationBatchService;
+import org.example.notificationservice.service.NotificationService;
+import org.example.proto.notification.SendRequest;
+import org.example.proto.notification.SendStreamResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationGrpcServiceTest {
+
+    @Mock
+    NotificationService notificationService;
+
+    @Mock
+    NotificationBatchService notificationBatchService;
+
+    @Mock
+    ServerCallStreamObserver<SendStreamResponse> responseObserver;
+
+    NotificationGrpcService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendStream_flushesChunksOffTransportThreadAndRequestsNext() {
+        Set<Thread> flushThreads = ConcurrentHashMap.newKeySet();
+        when(notificationBatchService.getChunkSize()).thenReturn(2);
+        when(notificationBatchService.sendChunk(any(), anyInt())).thenAnswer(invocation -> {
+            flushThreads.add(Thread.currentThread());
+            List<SendNotificationRequest> chunk = invocation.getArgument(0);
+            int firstIndex = invocation.getArgument(1);
+            return IntStream.range(0, chunk.size())
+                    .mapToObj(i -> chunk.get(i).getTenantId().isBlank()
+                            ? new SendNotificationBatchResponse.Item(firstIndex + i, null, NotificationStatus.FAILED, "Tenant ID must be provided.")
+                            : new SendNotificationBatchResponse.Item(firstIndex + i, "id-" + i, NotificationStatus.PENDING, null))
+                    .toList();
+        });
+        service = new NotificationGrpcService(notificationService, notificationBatchService);
+
+        StreamObserver<SendRequest> requests = service.sendStream(responseObserver);
+        requests.onNext(item("tenant-1"));
+        requests.onNext(item("tenant-1"));
+        verify(responseObserver, timeout(5000).times(2)).request(2);
+        requests.onNext(item(""));
+        requests.onCompleted();
+
+        ArgumentCaptor<SendStreamResponse> response = ArgumentCaptor.forClass(SendStreamResponse.class);
+        verify(responseObserver, timeout(5000)).onCompleted();
+        verify(responseObserver).onNext(response.capture());
+        assertEquals(2, response.getValue().getAccepted());
+        assertEquals(1, response.getValue().getRejected());
+        assertEquals(2, response.getValue().getRejectedItems(0).getIndex());
+        assertFalse(flushThreads.contains(Thread.currentThread()));
+        verify(notificationBatchService).sendChunk(any(), eq(0));
+        verify(notificationBatchService).sendChunk(any(), eq(2));
+    }
+
+    @Test
+    void sendStream_chunkFails_answersInternalOnce() {
+        when(notificationBatchService.getChunkSize()).thenReturn(1);
+        when(notificationBatchService.sendChunk(any(), anyInt())).thenThrow(new IllegalStateException("broker down"));
+        service = new NotificationGrpcService(notificationService, notificationBatchService);
+
+        StreamObserver<SendRequest> requests = service.sendStream(responseObserver);
+        requests.onNext(item("tenant-1"));
+
+        verify(responseObserver, timeout(5000)).onError(any());
+        requests.onCompleted();
+        verify(responseObserver, after(200).never()).onCompleted();
+        verify(responseObserver, times(1)).request(1);
+    }
+
+    private static SendRequest item(String tenantId) {
+        return SendRequest.newBuilder()
+                .setTenantId(tenantId)
+                .setChannel("email")
+                .setRecipient("a@b.com")
+                .setContent("hello")
+                .build();
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.notificationservice.unit.kafka;
+
+import org.example.events.NotificationEvent;
+import org.example.notificationservice.kafka.producer.HotTenantKeyStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotTenantKeyStrategyTest {
+
+    HotTenantKeyStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        strategy = new HotTenantKeyStrategy();
+        ReflectionTestUtils.setField(strategy, "topN", 1);
+        ReflectionTestUtils.setField(strategy, "salts", 8);
+    }
+
+    @Test
+    void keyFor_beforeFirstWindow_keysByTenant() {
+        assertEquals("tenant-1", strategy.keyFor(event("tenant-1", "a@b.com")));
+    }
+
+    @Test
+    void keyFor_hotTenant_sameRecipientKeepsOneKey() {
+        send("tenant-1", 10);
+        send("tenant-2", 2);
+        strategy.rollWindow();
+
+        String key = strategy.keyFor(event("tenant-1", "a@b.com"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(key, strategy.keyFor(event("tenant-1", "a@b.com")));
+        }
+        assertEquals("tenant-1#" + Math.floorMod("a@b.com".hashCode(), 8), key);
+        assertEquals("tenant-2", strategy.keyFor(event("tenant-2", "a@b.com")));
+    }
+
+    @Test
+    void keyFor_hotTenant_spreadsRecipientsOverSalts() {
+        send("tenant-1", 10);
+        strategy.rollWindow();
+
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            keys.add(strategy.keyFor(event("tenant-1", "user-" + i + "@b.com")));
+        }
+        assertTrue(keys.size() > 1);
+        assertTrue(keys.size() <= 8);
+        assertTrue(keys.stream().allMatch(key -> key.startsWith("tenant-1#")));
+    }
+
+    @Test
+    void keyFor_hotTenantWithoutRecipient_usesFirstSalt() {
+        send("tenant-1", 10);
+        strategy.rollWindow();
+
+        assertEquals("tenant-1#0", strategy.keyFor(event("tenant-1", null)));
+    }
+
+    @Test
+    void rollWindow_tenantLeavesTopN_fallsBackToPlainKey() {
+        send("tenant-1", 10);
+        strategy.rollWindow();
+        assertNotEquals("tenant-1", strategy.keyFor(event("tenant-1", "a@b.com")));
+
+        // the next window only counts what was sent since the roll
+        send("tenant-2", 20);
+        strategy.rollWindow();
+
+        assertEquals("tenant-1", strategy.keyFor(event("tenant-1", "a@b.com")));
+        assertEquals("tenant-2#" + Math.floorMod("a@b.com".hashCode(), 8), strategy.keyFor(event("tenant-2", "a@b.com")));
+    }
+
+    @Test
+    void rollWindow_emptyWindow_clearsHotTenants() {
+        send("tenant-1", 10);
+        strategy.rollWindow();
+        strategy.rollWindow();
+
+        assertEquals("tenant-1", strategy.keyFor(event("tenant-1", "a@b.com")));
+    }
+
+    private void send(String tenantId, int count) {
+        for (int i = 0; i < count; i++) {
+            strategy.keyFor(event(tenantId, "user-" + i + "@b.com"));
+        }
+    }
+
+    private static NotificationEvent event(String tenantId, String recipient) {
+        NotificationEvent event = new NotificationEvent();
+        event.setTenantId(tenantId);
+        event.setRecipient(recipient);
+        return event;
+    }
+}
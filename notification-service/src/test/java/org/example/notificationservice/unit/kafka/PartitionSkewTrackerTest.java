@@ -0,0 +1,78 @@
+package org.example.notificationservice.unit.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.notificationservice.kafka.producer.PartitionSkewTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionSkewTrackerTest {
+
+    SimpleMeterRegistry meterRegistry;
+    PartitionSkewTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tracker = new PartitionSkewTracker(meterRegistry);
+        ReflectionTestUtils.invokeMethod(tracker, "registerMetrics");
+    }
+
+    @Test
+    void rollWindow_unevenSpread_reportsBusiestOverAverage() {
+        record(0, 3);
+        record(1, 1);
+
+        tracker.rollWindow();
+
+        assertEquals(1.5, skew());
+        assertEquals(3.0, meterRegistry.get("notification.publish.partition").tag("partition", "0").counter().count());
+    }
+
+    @Test
+    void rollWindow_evenSpread_isOne() {
+        record(0, 5);
+        record(1, 5);
+        record(2, 5);
+
+        tracker.rollWindow();
+
+        assertEquals(1.0, skew());
+    }
+
+    @Test
+    void rollWindow_countsOnlyTheLastWindow() {
+        record(0, 9);
+        record(1, 1);
+        tracker.rollWindow();
+
+        record(0, 2);
+        record(1, 2);
+        tracker.rollWindow();
+
+        assertEquals(1.0, skew());
+        assertEquals(11.0, meterRegistry.get("notification.publish.partition").tag("partition", "0").counter().count());
+    }
+
+    @Test
+    void rollWindow_noEvents_isOne() {
+        record(0, 4);
+        tracker.rollWindow();
+
+        tracker.rollWindow();
+
+        assertEquals(1.0, skew());
+    }
+
+    private void record(int partition, int count) {
+        for (int i = 0; i < count; i++) {
+            tracker.record(partition);
+        }
+    }
+
+    private double skew() {
+        return meterRegistry.get("notification.publish.partition.skew").gauge().value();
+    }
+}
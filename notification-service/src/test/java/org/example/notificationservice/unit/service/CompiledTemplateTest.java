@@ -0,0 +1,64 @@
+package org.example.notificationservice.unit.service;
+
+import org.example.notificationservice.service.CompiledTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledTemplateTest {
+
+    @Test
+    void render_replacesPlaceholders() {
+        CompiledTemplate template = CompiledTemplate.compile("Hello {{name}}, order {{ orderId }} shipped.");
+
+        assertEquals("Hello Alice, order A-1 shipped.", template.render(Map.of("name", "Alice", "orderId", "A-1")));
+    }
+
+    @Test
+    void render_withoutPlaceholders_keepsContent() {
+        assertEquals("plain text", CompiledTemplate.compile("plain text").render(Map.of("name", "Alice")));
+        assertEquals("", CompiledTemplate.compile("").render(null));
+    }
+
+    @Test
+    void render_adjacentPlaceholders() {
+        CompiledTemplate template = CompiledTemplate.compile("{{a}}{{b}}{{a}}");
+
+        assertEquals("xyx", template.render(Map.of("a", "x", "b", "y")));
+    }
+
+    @Test
+    void render_missingVariables_renderEmpty() {
+        CompiledTemplate template = CompiledTemplate.compile("Hi {{name}}, code {{code}}.");
+
+        assertEquals("Hi , code 42.", template.render(Map.of("code", "42")));
+        assertEquals("Hi , code .", template.render(null));
+    }
+
+    @Test
+    void render_unterminatedPlaceholder_keptAsLiteral() {
+        assertEquals("Hello {{name", CompiledTemplate.compile("Hello {{name").render(Map.of("name", "Alice")));
+        assertEquals("Hi Alice and {{other", CompiledTemplate.compile("Hi {{name}} and {{other").render(Map.of("name", "Alice")));
+    }
+
+    @Test
+    void render_closeWithoutOpen_keptAsLiteral() {
+        assertEquals("a }} b Alice", CompiledTemplate.compile("a }} b {{name}}").render(Map.of("name", "Alice")));
+    }
+
+    @Test
+    void render_emptyPlaceholder_rendersEmpty() {
+        assertEquals("[]", CompiledTemplate.compile("[{{}}]").render(Map.of("name", "Alice")));
+    }
+
+    @Test
+    void appendTo_appendsAfterExistingContent() {
+        StringBuilder out = new StringBuilder("> ");
+
+        CompiledTemplate.compile("{{name}}!").appendTo(out, Map.of("name", "Alice"));
+
+        assertEquals("> Alice!", out.toString());
+    }
+}
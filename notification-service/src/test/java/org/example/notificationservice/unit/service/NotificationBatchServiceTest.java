@@ -0,0 +1,72 @@
+package org.example.notificationservice.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.notificationservice.common.enums.NotificationStatus;
+import org.example.notificationservice.dto.request.SendNotificationRequest;
+import org.example.notificationservice.dto.response.SendNotificationBatchResponse;
+import org.example.notificationservice.kafka.producer.KafkaProducerService;
+import org.example.notificationservice.service.ChannelCache;
+import org.example.notificationservice.service.NotificationBatchService;
+import org.example.notificationservice.service.QuotaLeaseManager;
+import org.example.notificationservice.service.TemplateRenderer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.validation.Validator;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationBatchServiceTest {
+
+    @Mock
+    QuotaLeaseManager quotaLeaseManager;
+
+    @Mock
+    ChannelCache channelCache;
+
+    @Mock
+    TemplateRenderer templateRenderer;
+
+    @Mock
+    KafkaProducerService kafkaProducerService;
+
+    @Mock
+    Validator validator;
+
+    @Test
+    void validate_blankTenant_isRejected() {
+        assertEquals("Tenant ID must be provided.", service().validate(request(" ")));
+        assertEquals("Tenant ID must be provided.", service().validate(request(null)));
+        verifyNoInteractions(validator);
+    }
+
+    @Test
+    void sendChunk_blankTenant_rejectedPerItemWithoutQuota() {
+        List<SendNotificationBatchResponse.Item> items = service().sendChunk(List.of(request(""), request("")), 10);
+
+        assertEquals(2, items.size());
+        assertEquals(NotificationStatus.FAILED, items.get(0).getNotificationStatus());
+        assertEquals(11, items.get(1).getIndex());
+        assertEquals("Tenant ID must be provided.", items.get(1).getError());
+        verifyNoInteractions(quotaLeaseManager, kafkaProducerService);
+    }
+
+    private NotificationBatchService service() {
+        return new NotificationBatchService(quotaLeaseManager, channelCache, templateRenderer, kafkaProducerService,
+                validator, new ObjectMapper());
+    }
+
+    private static SendNotificationRequest request(String tenantId) {
+        SendNotificationRequest request = new SendNotificationRequest();
+        request.setTenantId(tenantId);
+        request.setChannel("email");
+        request.setRecipient("a@b.com");
+        request.setContent("hello");
+        return request;
+    }
+}
@@ -0,0 +1,180 @@
+package org.example.notificationservice.unit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.notificationservice.common.exception.ApiErrorMessage;
+import org.example.notificationservice.common.exception.BaseException;
+import org.example.notificationservice.service.QuotaLeaseManager;
+import org.example.notificationservice.service.QuotaService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuotaLeaseManagerTest {
+
+    @Mock
+    QuotaService quotaService;
+
+    SimpleMeterRegistry meterRegistry;
+    QuotaLeaseManager manager;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new QuotaLeaseManager(quotaService, meterRegistry);
+        // fixed lease size so the rate-based sizing does not depend on test timing
+        ReflectionTestUtils.setField(manager, "minLeaseSize", 10);
+        ReflectionTestUtils.setField(manager, "maxLeaseSize", 10);
+        ReflectionTestUtils.setField(manager, "refillHorizonMs", 2000L);
+        ReflectionTestUtils.setField(manager, "lowWatermark", -1.0); // no background refills unless a test asks
+        ReflectionTestUtils.setField(manager, "leaseTtlMs", 30000L);
+        ReflectionTestUtils.invokeMethod(manager, "registerMetrics");
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.returnAllLeases();
+    }
+
+    @Test
+    void acquire_firstSend_leasesBlockAndServesFromIt() {
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L);
+
+        for (int i = 0; i < 10; i++) {
+            manager.acquire("tenant-1", 1);
+        }
+
+        verify(quotaService, times(1)).leaseBlock("tenant-1", 10);
+        assertEquals(0.0, outstanding());
+    }
+
+    @Test
+    void acquire_lowWatermark_renewsLeaseInBackground() {
+        ReflectionTestUtils.setField(manager, "lowWatermark", 0.25);
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L);
+
+        manager.acquire("tenant-1", 8);
+
+        verify(quotaService, timeout(5000).times(2)).leaseBlock("tenant-1", 10);
+        manager.acquire("tenant-1", 9); // 3 left, above the watermark of the renewed block
+        verify(quotaService, times(2)).leaseBlock("tenant-1", 10);
+    }
+
+    @Test
+    void acquire_drainedLease_refillsOnCallerThread() {
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L);
+
+        manager.acquire("tenant-1", 10);
+        manager.acquire("tenant-1", 4);
+
+        verify(quotaService, times(2)).leaseBlock("tenant-1", 10);
+        assertEquals(6.0, outstanding());
+    }
+
+    @Test
+    void acquire_largerThanLease_leasesWholeQuantity() {
+        when(quotaService.leaseBlock("tenant-1", 25)).thenReturn(25L);
+
+        manager.acquire("tenant-1", 25);
+
+        verify(quotaService).leaseBlock("tenant-1", 25);
+        assertEquals(0.0, outstanding());
+    }
+
+    @Test
+    void acquire_poolEmpty_throwsQuotaExceeded() {
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L, 0L);
+        manager.acquire("tenant-1", 10);
+
+        BaseException ex = assertThrows(BaseException.class, () -> manager.acquire("tenant-1", 1));
+
+        assertEquals(ApiErrorMessage.QUOTA_EXCEEDED.getCode(), ex.getCode());
+    }
+
+    @Test
+    void expireLeases_pastTtl_returnsUnusedQuota() {
+        ReflectionTestUtils.setField(manager, "leaseTtlMs", 0L);
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L);
+        manager.acquire("tenant-1", 3);
+
+        manager.expireLeases();
+
+        verify(quotaService).release("tenant-1", 7L);
+        assertEquals(0.0, outstanding());
+        assertEquals(7.0, meterRegistry.get("quota.lease.returned").counter().count());
+    }
+
+    @Test
+    void expireLeases_withinTtl_keepsLease() {
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L);
+        manager.acquire("tenant-1", 3);
+
+        manager.expireLeases();
+
+        verify(quotaService, never()).release(anyString(), anyLong());
+        assertEquals(7.0, outstanding());
+    }
+
+    @Test
+    void acquire_afterExpiry_leasesNewBlock() {
+        ReflectionTestUtils.setField(manager, "leaseTtlMs", 0L);
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L);
+        manager.acquire("tenant-1", 3);
+        manager.expireLeases();
+
+        manager.acquire("tenant-1", 3);
+
+        verify(quotaService, times(2)).leaseBlock("tenant-1", 10);
+        assertEquals(7.0, outstanding());
+    }
+
+    @Test
+    void release_liveLease_refundsLocally() {
+        when(quotaService.leaseBlock("tenant-1", 10)).thenReturn(10L);
+        manager.acquire("tenant-1", 10);
+
+        manager.release("tenant-1", 4);
+        manager.acquire("tenant-1", 4);
+
+        verify(quotaService, times(1)).leaseBlock("tenant-1", 10);
+        verify(quotaService, never()).release(anyString(), anyLong());
+    }
+
+    @Test
+    void release_noLease_refundsPool() {
+        manager.release("tenant-1", 4);
+
+        verify(quotaService).release("tenant-1", 4L);
+    }
+
+    @Test
+    void release_nothing_isNoOp() {
+        manager.release("tenant-1", 0);
+
+        verifyNoInteractions(quotaService);
+    }
+
+    @Test
+    void returnAllLeases_shutdown_returnsEveryLease() {
+        when(quotaService.leaseBlock(anyString(), eq(10))).thenReturn(10L);
+        manager.acquire("tenant-1", 4);
+        manager.acquire("tenant-2", 9);
+
+        manager.returnAllLeases();
+
+        verify(quotaService).release("tenant-1", 6L);
+        verify(quotaService).release("tenant-2", 1L);
+        assertEquals(0.0, outstanding());
+    }
+
+    private double outstanding() {
+        return meterRegistry.get("quota.lease.outstanding").gauge().value();
+    }
+}
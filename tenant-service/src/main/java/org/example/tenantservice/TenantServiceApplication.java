@@ -1,8 +1,10 @@
 package org.example.tenantservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class TenantServiceApplication {
 
     public static void main(String[] args) {
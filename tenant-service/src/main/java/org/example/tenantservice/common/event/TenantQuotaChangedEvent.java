@@ -0,0 +1,8 @@
+package org.example.tenantservice.common.event;
+
+/**
+ * Published after the quota limit or usage of a tenant changed.
+ * @param tenantId the tenant whose quota changed
+ */
+public record TenantQuotaChangedEvent(String tenantId) {
+}
@@ -20,7 +20,10 @@ public class ApiErrorMessage {
         UNAUTHORIZED = new ApiErrorMessage(1000006, "Unauthorized.", HttpStatus.UNAUTHORIZED),
         API_KEY_NOT_FOUND = new ApiErrorMessage(1000007, "API Key not found.", HttpStatus.NOT_FOUND),
         FORBIDDEN = new ApiErrorMessage(1000008, "Forbidden.", HttpStatus.FORBIDDEN),
-        API_KEY_REVOKED = new ApiErrorMessage(1000009, "API Key has been revoked.", HttpStatus.UNAUTHORIZED);
+        API_KEY_REVOKED = new ApiErrorMessage(1000009, "API Key has been revoked.", HttpStatus.UNAUTHORIZED),
+        API_KEY_EXPIRED = new ApiErrorMessage(1000010, "API Key has expired.", HttpStatus.UNAUTHORIZED),
+        TOO_MANY_REQUESTS = new ApiErrorMessage(1000011, "Too many requests.", HttpStatus.TOO_MANY_REQUESTS),
+        LOGIN_OVERLOADED = new ApiErrorMessage(1000012, "Too many logins in progress, retry shortly.", HttpStatus.SERVICE_UNAVAILABLE);
     protected final int code;
     protected final String message;
     protected final HttpStatus status;
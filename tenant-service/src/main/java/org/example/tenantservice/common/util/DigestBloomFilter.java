@@ -0,0 +1,58 @@
+package org.example.tenantservice.common.util;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over hex SHA-256 digests.
+ * The digest is already uniformly distributed, so its first two 64-bit words serve as the two base
+ * hashes for double hashing and no further hashing is needed. Safe for concurrent puts and reads.
+ */
+public final class DigestBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions the number of digests the filter is sized for
+     * @param falsePositiveRate the wanted false positive rate at that size
+     */
+    public DigestBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) / 64);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * LN2));
+    }
+
+    public void put(String hexDigest) {
+        long h1 = HexFormat.fromHexDigitsToLong(hexDigest, 0, 16);
+        long h2 = HexFormat.fromHexDigitsToLong(hexDigest, 16, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = words.get(word);
+                if ((current & mask) != 0) break;
+            } while (!words.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    /**
+     * @return false if the digest was certainly never put, true if it probably was
+     */
+    public boolean mightContain(String hexDigest) {
+        long h1 = HexFormat.fromHexDigitsToLong(hexDigest, 0, 16);
+        long h2 = HexFormat.fromHexDigitsToLong(hexDigest, 16, 32) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.tenantservice.common.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache whose entries expire at a caller-given time.
+ * Keys are spread over segments, each an access-ordered map with its own lock, so a full cache
+ * evicts the least recently used entry of the segment in constant time and concurrent readers
+ * rarely share a lock. Times are compared as {@code now - expiresAt < 0}, so both
+ * {@link System#currentTimeMillis()} and {@link System#nanoTime()} readings work as long as one
+ * cache uses one clock.
+ */
+public final class ExpiringLruCache<K, V> {
+    private static final int SEGMENTS = 16;
+
+    private final Segment<K, V>[] segments;
+
+    /**
+     * @param maxSize the maximum number of entries, split evenly over the segments; small caches use
+     *                one segment so eviction is exactly least recently used
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringLruCache(int maxSize) {
+        int segmentCount = maxSize >= SEGMENTS * 64 ? SEGMENTS : 1;
+        int perSegment = Math.max(1, maxSize / segmentCount);
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+    }
+
+    /**
+     * @param key the key
+     * @param now the current time
+     * @return the value, null if missing or expired
+     */
+    public V get(K key, long now) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) return null;
+            if (now - entry.expiresAt() < 0) return entry.value();
+            segment.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Store a value, evicting the least recently used entry of its segment when that is full.
+     * Expired entries found at the old end of the segment are dropped first.
+     */
+    public void put(K key, V value, long expiresAt, long now) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            Iterator<Entry<V>> eldest = segment.values().iterator();
+            for (int i = 0; i < 4 && eldest.hasNext(); i++) {
+                if (now - eldest.next().expiresAt() < 0) break;
+                eldest.remove();
+            }
+            segment.put(key, new Entry<>(value, expiresAt));
+        }
+    }
+
+    public void remove(K key) {
+        Segment<K, V> segment = segmentOf(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentOf(K key) {
+        int h = key.hashCode();
+        return segments[Math.floorMod(h ^ (h >>> 16), segments.length)];
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
@@ -4,6 +4,7 @@ import net.devh.boot.grpc.client.channelfactory.GrpcChannelConfigurer;
 import net.devh.boot.grpc.server.serverfactory.GrpcServerConfigurer;
 import org.example.tenantservice.config.logger.GrpcClientLoggingInterceptor;
 import org.example.tenantservice.config.logger.GrpcServerLoggingInterceptor;
+import org.example.tenantservice.config.security.GrpcSourceInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -11,11 +12,12 @@ import org.springframework.context.annotation.Configuration;
 public class GrpcConfig {
 
     /**
-     * Register gRPC Server Interceptor
+     * Register gRPC Server Interceptors, the last added runs first
      */
     @Bean
-    public GrpcServerConfigurer grpcServerConfigurer(GrpcServerLoggingInterceptor serverInterceptor) {
-        return serverBuilder -> serverBuilder.intercept(serverInterceptor);
+    public GrpcServerConfigurer grpcServerConfigurer(GrpcServerLoggingInterceptor serverInterceptor,
+                                                     GrpcSourceInterceptor sourceInterceptor) {
+        return serverBuilder -> serverBuilder.intercept(serverInterceptor).intercept(sourceInterceptor);
     }
 
     /**
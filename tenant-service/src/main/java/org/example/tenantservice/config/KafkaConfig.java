@@ -0,0 +1,43 @@
+package org.example.tenantservice.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.util.Map;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * Batch listener factory for the quota debit consumer.
+     * A poll waits up to {@code window-ms} for {@code min-batch-bytes} of results, so each batch
+     * folds many deliveries into one debit per tenant. Offsets are committed once per batch, after
+     * the listener returned.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> quotaDebitListenerContainerFactory(
+            KafkaProperties kafkaProperties,
+            @Value("${tenant.quota-debit.max-batch:5000}") int maxBatch,
+            @Value("${tenant.quota-debit.window-ms:500}") int windowMs,
+            @Value("${tenant.quota-debit.min-batch-bytes:65536}") int minBatchBytes,
+            @Value("${tenant.quota-debit.concurrency:1}") int concurrency) {
+        Map<String, Object> props = kafkaProperties.buildConsumerProperties(null);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxBatch);
+        props.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, windowMs);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, minBatchBytes);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+}
@@ -3,6 +3,7 @@ package org.example.tenantservice.config.logger;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.example.tenantservice.config.security.SourceRateLimitInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -17,14 +18,18 @@ public class WebConfig implements WebMvcConfigurer {
 
     private static final long MAX_AGE_SECS = 3600;
     private final HistoryRequestInterceptor historyRequestInterceptor;
+    private final SourceRateLimitInterceptor sourceRateLimitInterceptor;
 
     /**
-     * Register the HistoryRequestInterceptor to log all incoming requests
+     * Register the HistoryRequestInterceptor to log all incoming requests,
+     * and throttle API key validation per source so a guessing burst cannot exhaust the database pool
      */
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(historyRequestInterceptor)
                 .addPathPatterns("/**");
+        registry.addInterceptor(sourceRateLimitInterceptor)
+                .addPathPatterns("/auth/internal/apikeys/validate");
     }
 
     /**
@@ -0,0 +1,36 @@
+package org.example.tenantservice.config.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Fixed-length digest of a raw API key, used to store, index and cache keys without keeping the raw value.
+ */
+public final class ApiKeyDigest {
+    public static final int PREFIX_LENGTH = 8; // leading characters of the raw key kept to tell keys apart
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private ApiKeyDigest() {
+    }
+
+    /**
+     * @param rawApiKey the raw API key
+     * @return the lowercase hex SHA-256 of the key, 64 characters
+     */
+    public static String of(String rawApiKey) {
+        return HexFormat.of().formatHex(SHA_256.get().digest(rawApiKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static String prefixOf(String rawApiKey) {
+        return rawApiKey.substring(0, Math.min(PREFIX_LENGTH, rawApiKey.length()));
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.tenantservice.config.security;
+
+import io.grpc.Context;
+import io.grpc.Contexts;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+
+/**
+ * gRPC Server Interceptor - resolves the calling source the same way as the HTTP throttle,
+ * from the peer address and a trusted proxy's x-forwarded-for metadata, and exposes it as {@link #SOURCE}
+ */
+@Component
+@RequiredArgsConstructor
+public class GrpcSourceInterceptor implements ServerInterceptor {
+
+    public static final Context.Key<String> SOURCE = Context.keyWithDefault("source", "unknown");
+
+    private static final Metadata.Key<String> FORWARDED_FOR = Metadata.Key.of("x-forwarded-for", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final SourceRateLimiter sourceRateLimiter;
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call,
+            Metadata headers,
+            ServerCallHandler<ReqT, RespT> next
+    ) {
+        SocketAddress peer = call.getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+        String remoteAddr = peer instanceof InetSocketAddress inet && inet.getAddress() != null
+                ? inet.getAddress().getHostAddress()
+                : String.valueOf(peer);
+        String source = sourceRateLimiter.sourceOf(remoteAddr, headers.get(FORWARDED_FOR));
+        return Contexts.interceptCall(Context.current().withValue(SOURCE, source), call, headers, next);
+    }
+}
@@ -1,10 +1,13 @@
 package org.example.tenantservice.config.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import org.example.tenantservice.common.util.ExpiringLruCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,27 +19,42 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 
 /**
- * Filter to authenticate requests using JWT tokens
+ * Filter to authenticate requests using JWT tokens.
+ * The principal is built from the token claims, so a request costs one signature check and no
+ * user lookup; tokens seen recently skip even that through a bounded LRU cache keyed by signature,
+ * disabled with {@code app.jwtCache.maxSize: 0}.
+ * Tokens issued before the tenant id was embedded fall back to loading the user by email.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+    private final ExpiringLruCache<String, VerifiedToken> verifiedTokens;
+
+    private final long cacheTtlMs;
+
+    public JwtAuthFilter(JwtUtils jwtUtils,
+                         UserDetailsServiceImpl userDetailsService,
+                         @Value("${app.jwtCache.ttlMs:60000}") long cacheTtlMs,
+                         @Value("${app.jwtCache.maxSize:10000}") int cacheMaxSize) {
+        this.jwtUtils = jwtUtils;
+        this.userDetailsService = userDetailsService;
+        this.cacheTtlMs = cacheTtlMs;
+        this.verifiedTokens = cacheMaxSize > 0 ? new ExpiringLruCache<>(cacheMaxSize) : null;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            UserDetails userDetails = jwt == null ? null : authenticate(jwt);
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                authentication.setDetails(detailsSource.buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
@@ -46,6 +64,39 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Verify a token once and build its principal
+     * @param jwt the bearer token
+     * @return the principal, null if the token is not valid
+     */
+    public UserDetails authenticate(String jwt) {
+        long now = System.currentTimeMillis();
+        String signature = jwt.substring(jwt.lastIndexOf('.') + 1);
+        VerifiedToken cached = verifiedTokens == null ? null : verifiedTokens.get(signature, now);
+        if (cached != null && cached.token().equals(jwt)) {
+            return cached.principal();
+        }
+
+        Claims claims;
+        try {
+            claims = jwtUtils.parseClaims(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("Invalid JWT token: " + e.getMessage());
+            return null;
+        }
+
+        UserDetails principal = jwtUtils.toPrincipal(claims);
+        if (principal == null) {
+            principal = userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        if (verifiedTokens != null) {
+            long expiresAt = claims.getExpiration() == null ? now + cacheTtlMs : Math.min(claims.getExpiration().getTime(), now + cacheTtlMs);
+            verifiedTokens.put(signature, new VerifiedToken(jwt, principal), expiresAt, now);
+        }
+        return principal;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
@@ -53,4 +104,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
         return null;
     }
+
+    private record VerifiedToken(String token, UserDetails principal) {
+    }
 }
@@ -2,6 +2,7 @@ package org.example.tenantservice.config.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -10,9 +11,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -23,13 +25,17 @@ import java.util.stream.Collectors;
 @Slf4j
 @Component
 public class JwtUtils {
+    public static final String TENANT_ID_CLAIM = "tenantId";
+    public static final String AUTHORITIES_CLAIM = "authorities";
+
     @Value("${app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
-    private Key key;
+    private SecretKey key;
+    private JwtParser parser; // immutable and thread-safe, built once
 
     @PostConstruct
     public void init() {
@@ -37,10 +43,14 @@ public class JwtUtils {
         byte[] keyBytes = Decoders.BASE64.decode(this.jwtSecret);
         // Create a secure Key object from the byte array
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser()
+                .verifyWith(this.key)
+                .build();
     }
 
     /**
      * Generates a JWT token from an Authentication object.
+     * The tenant id and authorities are embedded so requests can be authenticated from the token alone.
      * @param authentication the authentication object containing user details
      * @return the generated JWT token as a String
      */
@@ -50,9 +60,14 @@ public class JwtUtils {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
-        return Jwts.builder()
+        var builder = Jwts.builder()
                 .subject(username)
-                .claim("authorities", authorities)
+                .claim(AUTHORITIES_CLAIM, authorities);
+        if (authentication.getPrincipal() instanceof CustomUserDetails user) {
+            builder.claim(TENANT_ID_CLAIM, user.getId());
+        }
+
+        return builder
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + this.jwtExpirationMs))
                 .signWith(this.key)
@@ -60,40 +75,28 @@ public class JwtUtils {
     }
 
     /**
-     * Parses the JWT token to get all claims.
+     * Verifies the JWT token and returns all its claims.
      * @param token the JWT token as a String
      * @return the Claims object containing all claims from the token
+     * @throws JwtException if the token is malformed, expired or not signed with our key
      */
-    private Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((javax.crypto.SecretKey) this.key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
-     * Extracts the username from the JWT token.
-     * @param token the JWT token as a String
-     * @return the username (subject) extracted from the token
+     * Builds the authenticated principal from verified claims.
+     * @param claims claims returned by {@link #parseClaims(String)}
+     * @return the principal, null for tokens issued before the tenant id was embedded
      */
-    public String getUserNameFromJwtToken(String token) {
-        return parseClaims(token).getSubject();
-    }
+    public CustomUserDetails toPrincipal(Claims claims) {
+        String tenantId = claims.get(TENANT_ID_CLAIM, String.class);
+        if (tenantId == null) return null;
 
-    /**
-     * Validates a JWT token.
-     * @param authToken the JWT token as a String
-     * @return true if the token is valid, false otherwise
-     */
-    public boolean validateJwtToken(String authToken) {
-        try {
-            // Only parsing the claims to check validity
-            parseClaims(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.error("Invalid JWT token: {}", e.getMessage());
-        }
-        return false;
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        List<SimpleGrantedAuthority> grantedAuthorities = authorities == null
+                ? List.of()
+                : authorities.stream().map(a -> new SimpleGrantedAuthority(String.valueOf(a))).toList();
+        return new CustomUserDetails(tenantId, claims.getSubject(), null, grantedAuthorities);
     }
-}
\ No newline at end of file
+}
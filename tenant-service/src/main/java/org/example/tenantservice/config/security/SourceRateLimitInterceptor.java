@@ -0,0 +1,46 @@
+package org.example.tenantservice.config.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Answers 429 once the request source runs out of {@link SourceRateLimiter} tokens.
+ * A token is taken only when the key is rejected, so valid keys are never throttled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SourceRateLimitInterceptor implements HandlerInterceptor {
+
+    private final SourceRateLimiter sourceRateLimiter;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String source = sourceOf(request);
+        if (!sourceRateLimiter.isThrottled(source)) return true;
+
+        log.warn("Throttled {} from {}", request.getRequestURI(), source);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        throw new BaseException(ApiErrorMessage.TOO_MANY_REQUESTS);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        // invalid, revoked and expired keys all answer 401
+        if (response.getStatus() == HttpStatus.UNAUTHORIZED.value()) {
+            sourceRateLimiter.tryAcquire(sourceOf(request), 1);
+        }
+    }
+
+    private String sourceOf(HttpServletRequest request) {
+        return sourceRateLimiter.sourceOf(request.getRemoteAddr(), request.getHeader("X-Forwarded-For"));
+    }
+}
@@ -0,0 +1,145 @@
+package org.example.tenantservice.config.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Token bucket per request source, shared by every entry point that validates API keys so a
+ * source has one guessing budget whether it calls over HTTP or gRPC. Only rejected keys take a
+ * token and a source is turned away while its bucket is empty, so valid keys never drain the budget
+ * of a busy caller such as the gateway.
+ * The source is the remote address. Only when that is one of {@code trusted-proxies} is the
+ * forwarded-for list read, from the right, taking the first hop not added by a trusted proxy; the
+ * hops further left are client supplied and never used as a key. Buckets idle for a full refill
+ * are dropped. Once {@code max-sources} buckets exist, sources without one share a single
+ * overflow bucket, so a caller cycling through addresses cannot mint fresh budgets.
+ */
+@Component
+public class SourceRateLimiter {
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final double ratePerNano;
+    private final double burst;
+    private final int maxSources;
+    private final Set<String> trustedProxies;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Bucket overflow;
+    private final AtomicLong lastEvictionNanos;
+
+    public SourceRateLimiter(@Value("${tenant.apikey-throttle.rate-per-second:50}") double ratePerSecond,
+                             @Value("${tenant.apikey-throttle.burst:100}") int burst,
+                             @Value("${tenant.apikey-throttle.max-sources:100000}") int maxSources,
+                             @Value("${tenant.apikey-throttle.trusted-proxies:}") Set<String> trustedProxies) {
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.maxSources = maxSources;
+        this.trustedProxies = trustedProxies.stream().map(String::trim).filter(p -> !p.isEmpty()).collect(Collectors.toSet());
+        long now = System.nanoTime();
+        this.overflow = new Bucket(burst, now);
+        this.lastEvictionNanos = new AtomicLong(now);
+    }
+
+    /**
+     * Resolve the source to throttle
+     * @param remoteAddr address of the connected peer
+     * @param forwardedFor comma separated forwarded-for hops, may be null
+     * @return the closest hop not added by a trusted proxy
+     */
+    public String sourceOf(String remoteAddr, String forwardedFor) {
+        if (!trustedProxies.contains(remoteAddr) || forwardedFor == null || forwardedFor.isBlank()) return remoteAddr;
+
+        String source = remoteAddr;
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) break;
+            source = hop;
+            if (!trustedProxies.contains(hop)) break;
+        }
+        return source;
+    }
+
+    /**
+     * Check whether a source has run out of tokens, without taking one
+     * @return true while the source must be turned away
+     */
+    public boolean isThrottled(String source) {
+        Bucket bucket = buckets.get(source);
+        if (bucket == null) {
+            if (buckets.size() < maxSources) return false; // a fresh bucket starts full
+            bucket = overflow;
+        }
+        return !bucket.hasToken(System.nanoTime(), ratePerNano, burst);
+    }
+
+    /**
+     * Take up to {@code permits} tokens from the bucket of a source
+     * @return the number of tokens taken, 0 when the source is throttled
+     */
+    public int tryAcquire(String source, int permits) {
+        long now = System.nanoTime();
+        return bucketOf(source, now).take(permits, now, ratePerNano, burst);
+    }
+
+    @Scheduled(fixedDelayString = "${tenant.apikey-throttle.sweep-interval-ms:60000}")
+    public void sweep() {
+        evictIdle(System.nanoTime());
+    }
+
+    private Bucket bucketOf(String source, long now) {
+        Bucket bucket = buckets.get(source);
+        if (bucket != null) return bucket;
+        if (buckets.size() >= maxSources) {
+            // scanning for idle buckets is linear, so a full map is swept at most once per second
+            long last = lastEvictionNanos.get();
+            if (now - last < EVICTION_INTERVAL_NANOS || !lastEvictionNanos.compareAndSet(last, now)) return overflow;
+            evictIdle(now);
+            if (buckets.size() >= maxSources) return overflow;
+        }
+        return buckets.computeIfAbsent(source, s -> new Bucket(burst, now));
+    }
+
+    private void evictIdle(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now, ratePerNano, burst));
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAtNanos;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAtNanos = now;
+        }
+
+        private synchronized int take(int permits, long now, double ratePerNano, double burst) {
+            refill(now, ratePerNano, burst);
+            int taken = (int) Math.min(permits, Math.floor(tokens));
+            tokens -= taken;
+            return taken;
+        }
+
+        private synchronized boolean hasToken(long now, double ratePerNano, double burst) {
+            refill(now, ratePerNano, burst);
+            return tokens >= 1;
+        }
+
+        private synchronized boolean isFull(long now, double ratePerNano, double burst) {
+            refill(now, ratePerNano, burst);
+            return tokens >= burst;
+        }
+
+        private void refill(long now, double ratePerNano, double burst) {
+            tokens = Math.min(burst, tokens + (now - refilledAtNanos) * ratePerNano);
+            refilledAtNanos = now;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.tenantservice.config.security;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Result of a successful API key check, as kept in the verification caches.
+ * @param tenantId the tenant owning the key
+ * @param permissionBits API permissions of the key, one bit per {@code Permission.bitIndex}
+ * @param expiresAtMillis when the key expires, {@link Long#MAX_VALUE} if never
+ */
+public record VerifiedApiKey(String tenantId, long[] permissionBits, long expiresAtMillis) {
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+
+    /**
+     * Compact string form for Redis: {@code expiresAt|tenantId|word,word,...} with the bit words in hex.
+     */
+    public String encode() {
+        StringBuilder sb = new StringBuilder(64).append(expiresAtMillis).append('|').append(tenantId).append('|');
+        for (int i = 0; i < permissionBits.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(HexFormat.of().toHexDigits(permissionBits[i]));
+        }
+        return sb.toString();
+    }
+
+    public static VerifiedApiKey decode(String value) {
+        int first = value.indexOf('|');
+        int second = value.indexOf('|', first + 1);
+        String words = value.substring(second + 1);
+        long[] bits = words.isEmpty()
+                ? new long[0]
+                : Arrays.stream(words.split(",")).mapToLong(HexFormat::fromHexDigitsToLong).toArray();
+        return new VerifiedApiKey(value.substring(first + 1, second), bits, Long.parseLong(value.substring(0, first)));
+    }
+}
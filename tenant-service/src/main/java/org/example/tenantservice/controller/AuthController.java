@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/auth")
@@ -36,17 +37,17 @@ public class AuthController {
 
     /**
      * Public endpoint for user login.
+     * The password is verified on the login pool and the servlet thread is released meanwhile.
      * @param loginRequest User login request
-     * @return JWT token if login is successful
+     * @return JWT token if login is successful, 503 if the login pool is saturated
      */
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<JwtResponse>> login(@Valid @RequestBody LoginRequest loginRequest) {
-        String jwt = authService.loginUser(loginRequest.getEmail(), loginRequest.getPassword());
-        return ResponseEntity.ok(ApiResponse.ok(new JwtResponse(jwt)));
+    public CompletableFuture<ResponseEntity<ApiResponse<JwtResponse>>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        return authService.loginUserAsync(loginRequest.getEmail(), loginRequest.getPassword())
+                .thenApply(jwt -> ResponseEntity.ok(ApiResponse.ok(new JwtResponse(jwt))));
     }
 
-    // Internal endpoint for API key validation
-    // TODO: Convert to gRPC to optimize performance
+    // Internal endpoint for API key validation, the gateway uses the ValidateApiKey gRPC call instead
     @GetMapping("/internal/apikeys/validate")
     public ResponseEntity<Set<String>> validateApiKey(@RequestHeader("X-API-Key-To-Validate") String rawApiKey) {
         Set<String> permissions = authService.validateApiKeyAndGetPermissions(rawApiKey);
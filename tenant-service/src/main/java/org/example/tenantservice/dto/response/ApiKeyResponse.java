@@ -11,7 +11,8 @@ import java.util.Set;
 @Setter
 public class ApiKeyResponse {
     public String id;
-    public String key;
+    public String key;       // only returned on creation
+    public String keyPrefix;
     public Instant expiredAt;
     public boolean revoked;
     public Set<Permission> permissions;
@@ -2,24 +2,56 @@ package org.example.tenantservice.grpc.server;
 
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.server.service.GrpcService;
+import org.example.proto.tenant.ApiKeyValidation;
+import org.example.proto.tenant.ApiPermission;
 import org.example.proto.tenant.GetTenantQuotaRequest;
 import org.example.proto.tenant.GetTenantQuotaResponse;
+import org.example.proto.tenant.GetTenantQuotasRequest;
+import org.example.proto.tenant.GetTenantQuotasResponse;
+import org.example.proto.tenant.ListApiPermissionsRequest;
+import org.example.proto.tenant.ListApiPermissionsResponse;
+import org.example.proto.tenant.TenantQuota;
 import org.example.proto.tenant.TenantServiceGrpc;
-import org.example.tenantservice.model.Tenant;
-import org.example.tenantservice.repository.TenantRepository;
+import org.example.proto.tenant.ValidateApiKeyRequest;
+import org.example.proto.tenant.ValidateApiKeysRequest;
+import org.example.proto.tenant.ValidateApiKeysResponse;
+import org.example.proto.tenant.WatchQuotaRequest;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.config.security.GrpcSourceInterceptor;
+import org.example.tenantservice.config.security.SourceRateLimiter;
+import org.example.tenantservice.config.security.VerifiedApiKey;
+import org.example.tenantservice.mapper.ApiKeyValidationMapper;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+import org.example.tenantservice.service.AuthService;
+import org.example.tenantservice.service.PermissionCatalog;
+import org.example.tenantservice.service.TenantQuotaCache;
+import org.example.tenantservice.service.TenantQuotaService;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @GrpcService
 @RequiredArgsConstructor
 @Slf4j
 public class TenantGrpcService extends TenantServiceGrpc.TenantServiceImplBase {
 
-    final TenantRepository tenantRepository;
+    private static final int MAX_TENANTS_PER_CALL = 1000;
+    private static final int MAX_API_KEYS_PER_CALL = 1000;
+    private static final ApiKeyValidation THROTTLED = ApiKeyValidationMapper.toProto(new BaseException(ApiErrorMessage.TOO_MANY_REQUESTS));
+
+    final TenantQuotaCache tenantQuotaCache;
+    final TenantQuotaService tenantQuotaService;
+    final AuthService authService;
+    final PermissionCatalog permissionCatalog;
+    final SourceRateLimiter sourceRateLimiter;
 
     /**
      * Get Tenant Quota
@@ -35,25 +67,150 @@ public class TenantGrpcService extends TenantServiceGrpc.TenantServiceImplBase {
             return;
         }
 
-        Optional<Tenant> tenant = tenantRepository.findById(request.getTenantId());
+        Optional<TenantQuotaView> quota = tenantQuotaCache.get(request.getTenantId());
 
-        if (tenant.isEmpty()) {
+        if (quota.isEmpty()) {
             Status status = Status.INVALID_ARGUMENT.withDescription("Tenant not found.");
             responseObserver.onError(new StatusRuntimeException(status));
             return;
         }
 
-        int quotaQuantity = tenant.get().getQuotaLimit() < request.getQuotaQuantity()? tenant.get().getQuotaLimit() : request.getQuotaQuantity();
+        int quotaLimit = quota.get().getQuotaLimit() == null ? 0 : quota.get().getQuotaLimit();
+        int quotaUsed = quota.get().getQuotaUsed() == null ? 0 : quota.get().getQuotaUsed();
+        // -1 is an unlimited quota, grant the full request; otherwise never more than what is left
+        int quotaQuantity = quotaLimit < 0
+                ? request.getQuotaQuantity()
+                : Math.max(0, Math.min(quotaLimit - quotaUsed, request.getQuotaQuantity()));
 
         GetTenantQuotaResponse response = GetTenantQuotaResponse.newBuilder()
                 .setQuotaQuantity(quotaQuantity)
                 .build();
 
         responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Get the quota of many tenants in one call
+     * @param request GetTenantQuotasRequest
+     * @param responseObserver StreamObserver<GetTenantQuotasResponse>
+     */
+    @Override
+    public void getTenantQuotas(GetTenantQuotasRequest request, StreamObserver<GetTenantQuotasResponse> responseObserver) {
+        log.debug("Received GetTenantQuotasRequest for {} tenants", request.getTenantIdsCount());
+        if (request.getTenantIdsCount() > MAX_TENANTS_PER_CALL) {
+            Status status = Status.INVALID_ARGUMENT.withDescription("At most " + MAX_TENANTS_PER_CALL + " tenants per call.");
+            responseObserver.onError(new StatusRuntimeException(status));
+            return;
+        }
 
-//        tenant.get().setQuotaLimit(tenant.get().getQuotaLimit() - quotaQuantity);
-//        tenantRepository.save(tenant.get());
+        List<TenantQuota> quotas = tenantQuotaService.getQuotas(request.getTenantIdsList());
+        Set<String> found = quotas.stream().map(TenantQuota::getTenantId).collect(Collectors.toSet());
 
+        GetTenantQuotasResponse response = GetTenantQuotasResponse.newBuilder()
+                .addAllQuotas(quotas)
+                .addAllMissingTenantIds(request.getTenantIdsList().stream()
+                        .filter(id -> !found.contains(id))
+                        .distinct()
+                        .toList())
+                .build();
+
+        responseObserver.onNext(response);
         responseObserver.onCompleted();
     }
+
+    /**
+     * Stream quota changes of the requested tenants, starting with their current quota
+     * @param request WatchQuotaRequest
+     * @param responseObserver StreamObserver<TenantQuota>
+     */
+    @Override
+    public void watchQuota(WatchQuotaRequest request, StreamObserver<TenantQuota> responseObserver) {
+        log.debug("Received WatchQuotaRequest for {} tenants", request.getTenantIdsCount());
+        tenantQuotaService.watch(request.getTenantIdsList(), (ServerCallStreamObserver<TenantQuota>) responseObserver);
+    }
+
+    /**
+     * Validate an API key and return its tenant, permissions and quota in one call
+     * @param request ValidateApiKeyRequest
+     * @param responseObserver StreamObserver<ApiKeyValidation>, not valid with the reason when the key is rejected
+     */
+    @Override
+    public void validateApiKey(ValidateApiKeyRequest request, StreamObserver<ApiKeyValidation> responseObserver) {
+        if (request.getApiKey().isEmpty()) {
+            Status status = Status.INVALID_ARGUMENT.withDescription("API key must be provided.");
+            responseObserver.onError(new StatusRuntimeException(status));
+            return;
+        }
+        String source = GrpcSourceInterceptor.SOURCE.get();
+        if (sourceRateLimiter.isThrottled(source)) {
+            log.warn("Throttled ValidateApiKey from {}", source);
+            responseObserver.onError(new StatusRuntimeException(Status.RESOURCE_EXHAUSTED.withDescription("Too many requests.")));
+            return;
+        }
+
+        responseObserver.onNext(validate(request.getApiKey(), source));
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Validate many API keys in one call, each rejected key takes a token of the caller's throttle budget
+     * @param request ValidateApiKeysRequest
+     * @param responseObserver StreamObserver<ValidateApiKeysResponse>, one validation per key in request order,
+     *                         keys after the budget ran out are not valid with TOO_MANY_REQUESTS
+     */
+    @Override
+    public void validateApiKeys(ValidateApiKeysRequest request, StreamObserver<ValidateApiKeysResponse> responseObserver) {
+        log.debug("Received ValidateApiKeysRequest for {} keys", request.getApiKeysCount());
+        if (request.getApiKeysCount() > MAX_API_KEYS_PER_CALL) {
+            Status status = Status.INVALID_ARGUMENT.withDescription("At most " + MAX_API_KEYS_PER_CALL + " API keys per call.");
+            responseObserver.onError(new StatusRuntimeException(status));
+            return;
+        }
+
+        String source = GrpcSourceInterceptor.SOURCE.get();
+        ValidateApiKeysResponse.Builder response = ValidateApiKeysResponse.newBuilder();
+        int throttled = 0;
+        for (String apiKey : request.getApiKeysList()) {
+            if (throttled > 0 || sourceRateLimiter.isThrottled(source)) {
+                response.addValidations(THROTTLED);
+                throttled++;
+            } else {
+                response.addValidations(validate(apiKey, source));
+            }
+        }
+        if (throttled > 0) {
+            log.warn("Throttled {} of {} keys in ValidateApiKeys from {}", throttled, request.getApiKeysCount(), source);
+        }
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * List the API permissions with their bit index, to decode ApiKeyValidation.permissionBits
+     * @param request ListApiPermissionsRequest
+     * @param responseObserver StreamObserver<ListApiPermissionsResponse>
+     */
+    @Override
+    public void listApiPermissions(ListApiPermissionsRequest request, StreamObserver<ListApiPermissionsResponse> responseObserver) {
+        ListApiPermissionsResponse.Builder response = ListApiPermissionsResponse.newBuilder();
+        permissionCatalog.apiPermissionsByBit().forEach((bit, name) -> response.addPermissions(ApiPermission.newBuilder()
+                .setName(name)
+                .setBitIndex(bit)
+                .build()));
+
+        responseObserver.onNext(response.build());
+        responseObserver.onCompleted();
+    }
+
+    private ApiKeyValidation validate(String apiKey, String source) {
+        try {
+            VerifiedApiKey key = authService.verifyApiKey(apiKey);
+            return ApiKeyValidationMapper.toProto(key, tenantQuotaCache.get(key.tenantId()).orElse(null));
+        } catch (BaseException e) {
+            sourceRateLimiter.tryAcquire(source, 1); // only rejections count against the guessing budget
+            return ApiKeyValidationMapper.toProto(e);
+        }
+    }
 }
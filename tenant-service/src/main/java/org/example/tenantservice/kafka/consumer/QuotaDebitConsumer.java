@@ -0,0 +1,59 @@
+package org.example.tenantservice.kafka.consumer;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.example.events.NotificationResultEvent;
+import org.example.tenantservice.common.event.TenantQuotaChangedEvent;
+import org.example.tenantservice.model.QuotaDebitOffset;
+import org.example.tenantservice.service.QuotaDebitService;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consumes notification.result in batches and debits tenant quota.
+ * The database holds the authoritative position: on assignment every partition is moved to the
+ * offset stored with the last applied debit, and Kafka offsets are only committed after the
+ * debit transaction of a batch committed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class QuotaDebitConsumer implements ConsumerSeekAware {
+    public static final String NOTIFICATION_RESULT_TOPIC = "notification.result";
+
+    private final QuotaDebitService quotaDebitService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @KafkaListener(
+            topics = NOTIFICATION_RESULT_TOPIC,
+            groupId = "${tenant.quota-debit.group-id:tenant-quota-debit}",
+            containerFactory = "quotaDebitListenerContainerFactory"
+    )
+    public void listen(List<ConsumerRecord<String, NotificationResultEvent>> records) {
+        Map<String, Integer> deltas = quotaDebitService.apply(records);
+        deltas.keySet().forEach(tenantId -> eventPublisher.publishEvent(new TenantQuotaChangedEvent(tenantId)));
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<String> ids = assignments.keySet().stream()
+                .map(tp -> QuotaDebitOffset.idOf(tp.topic(), tp.partition()))
+                .toList();
+        Map<String, QuotaDebitOffset> stored = quotaDebitService.findOffsets(ids);
+
+        for (TopicPartition tp : assignments.keySet()) {
+            QuotaDebitOffset offset = stored.get(QuotaDebitOffset.idOf(tp.topic(), tp.partition()));
+            if (offset != null) {
+                log.debug("Resuming {} at stored offset {}", tp, offset.getNextOffset());
+                callback.seek(tp.topic(), tp.partition(), offset.getNextOffset());
+            }
+        }
+    }
+}
@@ -2,12 +2,15 @@ package org.example.tenantservice.mapper;
 
 import org.example.tenantservice.dto.response.ApiKeyResponse;
 import org.example.tenantservice.model.ApiKey;
-import org.example.tenantservice.util.MapUtil;
 
 public class ApiKeyMapper {
     public static ApiKeyResponse toDto(ApiKey entity) {
         ApiKeyResponse dto = new ApiKeyResponse();
-        MapUtil.copyProperties(entity, dto);
+        dto.setId(entity.getId());
+        dto.setKey(entity.getKey());
+        dto.setKeyPrefix(entity.getKeyPrefix());
+        dto.setExpiredAt(entity.getExpiredAt());
+        dto.setRevoked(entity.isRevoked());
         dto.setPermissions(entity.getPermissions());
         return dto;
     }
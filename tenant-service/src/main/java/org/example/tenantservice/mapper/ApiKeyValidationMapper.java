@@ -0,0 +1,31 @@
+package org.example.tenantservice.mapper;
+
+import com.google.protobuf.ByteString;
+import org.example.proto.tenant.ApiKeyValidation;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.config.security.VerifiedApiKey;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+
+import java.util.BitSet;
+
+public class ApiKeyValidationMapper {
+    public static ApiKeyValidation toProto(VerifiedApiKey key, TenantQuotaView quota) {
+        ApiKeyValidation.Builder builder = ApiKeyValidation.newBuilder()
+                .setValid(true)
+                .setTenantId(key.tenantId())
+                .setPermissionBits(ByteString.copyFrom(BitSet.valueOf(key.permissionBits()).toByteArray()))
+                .setExpiresAt(key.expiresAtMillis() == Long.MAX_VALUE ? 0 : key.expiresAtMillis());
+        if (quota != null) {
+            builder.setQuota(TenantQuotaMapper.toProto(quota));
+        }
+        return builder.build();
+    }
+
+    public static ApiKeyValidation toProto(BaseException rejection) {
+        return ApiKeyValidation.newBuilder()
+                .setValid(false)
+                .setErrorCode(rejection.getCode())
+                .setError(rejection.getMessage())
+                .build();
+    }
+}
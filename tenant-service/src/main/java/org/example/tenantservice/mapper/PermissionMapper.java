@@ -0,0 +1,14 @@
+package org.example.tenantservice.mapper;
+
+import org.example.tenantservice.dto.request.PermissionCreateRequest;
+import org.example.tenantservice.model.Permission;
+
+public class PermissionMapper {
+    public static Permission toEntity(PermissionCreateRequest request) {
+        Permission entity = new Permission();
+        entity.setName(request.getName());
+        entity.setType(request.getType());
+        entity.setDescription(request.getDescription());
+        return entity;
+    }
+}
@@ -2,12 +2,17 @@ package org.example.tenantservice.mapper;
 
 import org.example.tenantservice.dto.response.TenantResponse;
 import org.example.tenantservice.model.Tenant;
-import org.example.tenantservice.util.MapUtil;
 
 public class TenantMapper {
     public static TenantResponse toDto(Tenant tenant) {
         TenantResponse response = new TenantResponse();
-        MapUtil.copyProperties(tenant, response);
+        response.setId(tenant.getId());
+        response.setName(tenant.getName());
+        response.setPlan(tenant.getPlan());
+        response.setEmail(tenant.getEmail());
+        response.setQuotaLimit(tenant.getQuotaLimit());
+        response.setQuotaUsed(tenant.getQuotaUsed());
+        response.setPermissions(tenant.getPermissions());
         return response;
     }
 }
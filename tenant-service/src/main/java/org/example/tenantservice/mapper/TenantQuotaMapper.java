@@ -0,0 +1,19 @@
+package org.example.tenantservice.mapper;
+
+import org.example.proto.tenant.TenantQuota;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+
+public class TenantQuotaMapper {
+    public static TenantQuota toProto(TenantQuotaView view) {
+        int limit = view.getQuotaLimit() == null ? 0 : view.getQuotaLimit();
+        int used = view.getQuotaUsed() == null ? 0 : view.getQuotaUsed();
+        boolean unlimited = limit < 0;
+        return TenantQuota.newBuilder()
+                .setTenantId(view.getId())
+                .setQuotaLimit(limit)
+                .setQuotaUsed(used)
+                .setRemaining(unlimited ? 0 : Math.max(0, limit - used))
+                .setUnlimited(unlimited)
+                .build();
+    }
+}
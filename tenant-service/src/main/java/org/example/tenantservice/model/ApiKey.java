@@ -17,8 +17,15 @@ public class ApiKey {
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    @Column(name = "api_key_value", unique = true, nullable = false)
-    private String key;
+    @Transient
+    private String key; // raw key, only known right after creation
+
+    // NOT NULL is set by ApiKeyHashMigration, so the column can be added to a table that still has rows without a digest
+    @Column(name = "api_key_hash", unique = true, length = 64)
+    private String keyHash; // see ApiKeyDigest
+
+    @Column(length = 8)
+    private String keyPrefix;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tenant_id", nullable = false)
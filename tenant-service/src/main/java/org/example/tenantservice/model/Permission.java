@@ -26,4 +26,7 @@ public class Permission {
     private PermissionType type;
 
     private String description;
-}
\ No newline at end of file
+
+    @Column(unique = true)
+    private Integer bitIndex; // position in the permission bitsets of verified API keys
+}
@@ -0,0 +1,36 @@
+package org.example.tenantservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A notification already billed, written in the same transaction as its quota debit.
+ * A result re-published at a later offset carries the same messageId and is not billed again.
+ * Rows are purged once they are older than the dedupe retention.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "quota_debit_message", indexes = @Index(name = "idx_quota_debit_message_applied_at", columnList = "appliedAt"))
+public class QuotaDebitMessage implements Persistable<UUID> {
+    @Id
+    private UUID id; // messageId of the delivery result
+
+    @Column(nullable = false)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private Instant appliedAt;
+
+    @Override
+    public boolean isNew() {
+        return true; // only written for messageIds that were checked to be absent, skips the select before insert
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.tenantservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Next notification.result offset to apply for one partition.
+ * Written in the same transaction as the quota debits, so a replayed record is recognised and skipped.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "quota_debit_offset")
+public class QuotaDebitOffset {
+    @Id
+    private String id; // {topic}-{partition}
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(name = "partition_no", nullable = false)
+    private int partition;
+
+    @Column(nullable = false)
+    private long nextOffset;
+
+    public static String idOf(String topic, int partition) {
+        return topic + "-" + partition;
+    }
+}
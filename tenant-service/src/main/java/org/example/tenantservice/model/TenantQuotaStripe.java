@@ -0,0 +1,35 @@
+package org.example.tenantservice.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One stripe of a tenant's quota usage.
+ * Debits of a hot tenant are spread over several stripe rows so they do not all queue on the tenant row lock;
+ * the usage of a tenant is {@code tenant.quotaUsed} plus the sum of its stripes until they are compacted.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "tenant_quota_stripe", indexes = @Index(name = "idx_tenant_quota_stripe_tenant", columnList = "tenantId"))
+public class TenantQuotaStripe {
+    @Id
+    private String id; // {tenantId}-{stripe}
+
+    @Column(nullable = false)
+    private String tenantId;
+
+    @Column(nullable = false)
+    private int stripe;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer used = 0;  // not yet folded into tenant.quotaUsed
+
+    public static String idOf(String tenantId, int stripe) {
+        return tenantId + "-" + stripe;
+    }
+}
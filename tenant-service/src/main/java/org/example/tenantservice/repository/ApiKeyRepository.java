@@ -1,14 +1,21 @@
 package org.example.tenantservice.repository;
 
 import org.example.tenantservice.model.ApiKey;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 @Repository
 public interface ApiKeyRepository extends JpaRepository<ApiKey, String> {
     Set<ApiKey> findByTenantId(String tenantId);
-    Optional<ApiKey> findByKey(String key);
+    Optional<ApiKey> findByKeyHash(String keyHash);
+
+    @Query("select k.keyHash from ApiKey k where k.revoked = false and k.keyHash > :after order by k.keyHash")
+    List<String> findActiveKeyHashesAfter(@Param("after") String after, Pageable page);
 }
@@ -3,8 +3,10 @@ package org.example.tenantservice.repository;
 import org.example.tenantservice.common.enums.PermissionType;
 import org.example.tenantservice.model.Permission;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -12,4 +14,8 @@ import java.util.Set;
 public interface PermissionRepository extends JpaRepository<Permission, String> {
     Optional<Permission> findByNameAndType(String name, PermissionType type);
     Set<Permission> findByType(PermissionType type);
+    List<Permission> findByBitIndexIsNull();
+
+    @Query("select max(p.bitIndex) from Permission p")
+    Integer findMaxBitIndex();
 }
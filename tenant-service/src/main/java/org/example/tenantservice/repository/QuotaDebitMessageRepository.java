@@ -0,0 +1,24 @@
+package org.example.tenantservice.repository;
+
+import org.example.tenantservice.model.QuotaDebitMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface QuotaDebitMessageRepository extends JpaRepository<QuotaDebitMessage, UUID> {
+
+    @Query("select m.id from QuotaDebitMessage m where m.id in :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @Modifying
+    @Query("delete from QuotaDebitMessage m where m.appliedAt < :before")
+    int deleteAppliedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,9 @@
+package org.example.tenantservice.repository;
+
+import org.example.tenantservice.model.QuotaDebitOffset;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuotaDebitOffsetRepository extends JpaRepository<QuotaDebitOffset, String> {
+}
@@ -0,0 +1,20 @@
+package org.example.tenantservice.repository;
+
+import org.example.tenantservice.model.TenantQuotaStripe;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TenantQuotaStripeRepository extends JpaRepository<TenantQuotaStripe, String> {
+
+    List<TenantQuotaStripe> findByUsedNot(Integer used);
+
+    @Modifying
+    @Query("update TenantQuotaStripe s set s.used = s.used + :delta where s.id = :id")
+    int incrementUsed(@Param("id") String id, @Param("delta") int delta);
+}
@@ -1,14 +1,41 @@
 package org.example.tenantservice.repository;
 
 import org.example.tenantservice.model.Tenant;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TenantRepository extends JpaRepository<Tenant, String>
 {
+    // Usage not yet compacted into the tenant row lives in its quota stripes
+    String QUOTA_USED = "cast(t.quotaUsed + coalesce((select sum(s.used) from TenantQuotaStripe s " +
+            "where s.tenantId = t.id), 0) as Integer)";
+
     Optional<Tenant> findByEmail(String email);
+
+    @Query("select t.id as id, t.plan as plan, t.quotaLimit as quotaLimit, " + QUOTA_USED + " as quotaUsed " +
+            "from Tenant t where t.id = :id")
+    Optional<TenantQuotaView> findQuotaViewById(@Param("id") String id);
+
+    @Query("select t.id as id, t.plan as plan, t.quotaLimit as quotaLimit, " + QUOTA_USED + " as quotaUsed " +
+            "from Tenant t where t.id in :ids")
+    List<TenantQuotaView> findQuotaViewsByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query("select t.id as id, t.plan as plan, t.quotaLimit as quotaLimit, " + QUOTA_USED + " as quotaUsed " +
+            "from Tenant t where t.id > :after order by t.id")
+    List<TenantQuotaView> findQuotaViewsAfter(@Param("after") String after, Pageable page);
+
+    @Modifying
+    @Query("update Tenant t set t.quotaUsed = t.quotaUsed + :delta where t.id = :id")
+    int incrementQuotaUsed(@Param("id") String id, @Param("delta") int delta);
 }
 
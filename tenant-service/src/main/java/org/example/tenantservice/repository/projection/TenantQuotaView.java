@@ -0,0 +1,16 @@
+package org.example.tenantservice.repository.projection;
+
+import org.example.tenantservice.common.enums.Plan;
+
+/**
+ * Quota columns of a tenant, read without loading the entity or its permissions.
+ */
+public interface TenantQuotaView {
+    String getId();
+
+    Plan getPlan();
+
+    Integer getQuotaLimit();
+
+    Integer getQuotaUsed();
+}
@@ -0,0 +1,82 @@
+package org.example.tenantservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.config.security.ApiKeyDigest;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Moves API keys stored before digests were introduced onto {@code api_key_hash} on startup.
+ * Hibernate adds the digest column as nullable to an existing table; while the old raw
+ * {@code api_key_value} column exists its rows are hashed in pages, then the raw column is dropped
+ * and the digest column made NOT NULL, all in one transaction under a table lock so nodes starting
+ * together migrate once. Runs after the schema update and before the rejection filter loads digests.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@Slf4j
+public class ApiKeyHashMigration {
+    private static final int PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public ApiKeyHashMigration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PostConstruct
+    void migrate() {
+        if (!columnExists("api_key_value") && !hashNullable()) return;
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("lock table api_key in access exclusive mode");
+            if (columnExists("api_key_value")) {
+                int migrated = backfillHashes();
+                jdbcTemplate.execute("alter table api_key drop column api_key_value");
+                log.info("Hashed {} stored API keys and dropped the raw key column", migrated);
+            }
+            if (hashNullable()) {
+                jdbcTemplate.execute("alter table api_key alter column api_key_hash set not null");
+            }
+        });
+    }
+
+    private int backfillHashes() {
+        int migrated = 0;
+        while (true) {
+            List<Object[]> page = jdbcTemplate.query(
+                    "select id, api_key_value from api_key where api_key_hash is null and api_key_value is not null order by id limit ?",
+                    (rs, i) -> {
+                        String raw = rs.getString(2);
+                        return new Object[]{ApiKeyDigest.of(raw), ApiKeyDigest.prefixOf(raw), rs.getString(1)};
+                    },
+                    PAGE_SIZE);
+            if (page.isEmpty()) return migrated;
+            jdbcTemplate.batchUpdate("update api_key set api_key_hash = ?, key_prefix = ? where id = ?", page);
+            migrated += page.size();
+        }
+    }
+
+    private boolean columnExists(String column) {
+        Integer count = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.columns"
+                        + " where table_schema = current_schema() and table_name = 'api_key' and column_name = ?",
+                Integer.class, column);
+        return count != null && count > 0;
+    }
+
+    private boolean hashNullable() {
+        List<String> nullable = jdbcTemplate.queryForList(
+                "select is_nullable from information_schema.columns"
+                        + " where table_schema = current_schema() and table_name = 'api_key' and column_name = 'api_key_hash'",
+                String.class);
+        return !nullable.isEmpty() && "YES".equals(nullable.get(0));
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.tenantservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.common.util.DigestBloomFilter;
+import org.example.tenantservice.repository.ApiKeyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rejects bad API keys before they reach the database.
+ * A Bloom filter of the digests of all active keys answers "certainly unknown" for guessed keys,
+ * and a short-lived miss cache remembers keys the database rejected (false positives of the
+ * filter, revoked and expired keys). Keys created or changed on any node are announced on Redis
+ * pub/sub; the filter is also rebuilt periodically, which drops revoked keys and covers lost messages.
+ */
+@Service
+@DependsOn("apiKeyHashMigration") // the filter is built from the digests of stored keys
+@RequiredArgsConstructor
+@Slf4j
+public class ApiKeyRejectionCache implements MessageListener {
+    private static final ChannelTopic KNOWN_KEY_TOPIC = new ChannelTopic("tenant:apikey:known");
+    private static final int REBUILD_PAGE_SIZE = 10_000;
+
+    private final ApiKeyRepository apiKeyRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tenant.apikey-filter.expected-keys:1000000}")
+    private long expectedKeys;
+
+    @Value("${tenant.apikey-filter.false-positive-rate:0.001}")
+    private double falsePositiveRate;
+
+    @Value("${tenant.apikey-filter.miss-ttl-ms:30000}")
+    private long missTtlMs;
+
+    @Value("${tenant.apikey-filter.miss-max-size:100000}")
+    private int missMaxSize;
+
+    private volatile DigestBloomFilter knownDigests; // null until the first build, nothing is rejected by the filter before that
+    private volatile Set<String> addedDuringRebuild;
+    private final Map<String, Miss> misses = new ConcurrentHashMap<>();
+
+    private Counter filterRejectedCounter;
+    private Counter missRejectedCounter;
+
+    @PostConstruct
+    void init() {
+        filterRejectedCounter = Counter.builder("apikey.rejected")
+                .tag("by", "filter")
+                .description("API keys rejected by the known-key filter")
+                .register(meterRegistry);
+        missRejectedCounter = Counter.builder("apikey.rejected")
+                .tag("by", "miss-cache")
+                .description("API keys rejected by the miss cache")
+                .register(meterRegistry);
+        redisMessageListenerContainer.addMessageListener(this, KNOWN_KEY_TOPIC);
+        rebuild();
+    }
+
+    /**
+     * Fail fast for a key that is certainly unknown or was rejected recently
+     * @param digest the key digest
+     * @throws BaseException the rejection to answer with
+     */
+    public void checkRejected(String digest) {
+        Miss miss = misses.get(digest);
+        if (miss != null && System.currentTimeMillis() < miss.expiresAtMillis()) {
+            missRejectedCounter.increment();
+            BaseException e = miss.error();
+            throw new BaseException(e.getCode(), e.getStatus(), e.getMessage(), e.getDetails());
+        }
+
+        DigestBloomFilter filter = knownDigests;
+        if (filter != null && !filter.mightContain(digest)) {
+            filterRejectedCounter.increment();
+            throw new BaseException(ApiErrorMessage.INVALID_API_KEY);
+        }
+    }
+
+    /**
+     * Remember a rejection for {@code miss-ttl-ms}
+     * @param digest the key digest
+     * @param error the rejection returned by the database check
+     */
+    public void recordRejected(String digest, BaseException error) {
+        long now = System.currentTimeMillis();
+        if (misses.size() >= missMaxSize) {
+            misses.values().removeIf(miss -> now >= miss.expiresAtMillis());
+            if (misses.size() >= missMaxSize) return;
+        }
+        misses.put(digest, new Miss(error, now + missTtlMs));
+    }
+
+    /**
+     * Add a created or changed key to the filter and drop its misses, on every node
+     * @param digest the key digest
+     */
+    public void markKnown(String digest) {
+        addLocally(digest);
+        try {
+            stringRedisTemplate.convertAndSend(KNOWN_KEY_TOPIC.getTopic(), digest);
+        } catch (Exception e) {
+            log.error("Failed to announce API key, other nodes accept it after their next filter rebuild", e);
+        }
+    }
+
+    /**
+     * Rebuild the filter from the active keys in the database
+     */
+    @Scheduled(fixedDelayString = "${tenant.apikey-filter.rebuild-ms:300000}", initialDelayString = "${tenant.apikey-filter.rebuild-ms:300000}")
+    public synchronized void rebuild() {
+        Set<String> added = ConcurrentHashMap.newKeySet();
+        addedDuringRebuild = added;
+        try {
+            DigestBloomFilter filter = new DigestBloomFilter(expectedKeys, falsePositiveRate);
+            long count = 0;
+            String after = "";
+            List<String> page;
+            do {
+                page = apiKeyRepository.findActiveKeyHashesAfter(after, PageRequest.ofSize(REBUILD_PAGE_SIZE));
+                page.forEach(filter::put);
+                count += page.size();
+                if (!page.isEmpty()) after = page.get(page.size() - 1);
+            } while (page.size() == REBUILD_PAGE_SIZE);
+
+            knownDigests = filter;
+            added.forEach(filter::put); // keys created while the database was being read
+            if (count > expectedKeys) {
+                log.warn("{} active API keys exceed the filter size of {}, raise tenant.apikey-filter.expected-keys", count, expectedKeys);
+            }
+            log.debug("Rebuilt API key filter with {} keys", count);
+        } catch (Exception e) {
+            log.error("Failed to rebuild API key filter, keeping the previous one", e);
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        addLocally(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void addLocally(String digest) {
+        misses.remove(digest);
+        Set<String> added = addedDuringRebuild;
+        if (added != null) added.add(digest);
+        DigestBloomFilter filter = knownDigests;
+        if (filter != null) filter.put(digest);
+    }
+
+    private record Miss(BaseException error, long expiresAtMillis) {
+    }
+}
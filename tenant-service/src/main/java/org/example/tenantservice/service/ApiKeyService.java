@@ -3,30 +3,29 @@ package org.example.tenantservice.service;
 import lombok.RequiredArgsConstructor;
 import org.example.tenantservice.common.exception.ApiErrorMessage;
 import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.config.security.ApiKeyDigest;
 import org.example.tenantservice.config.security.CustomUserDetails;
 import org.example.tenantservice.dto.request.ApiKeyCreateRequest;
 import org.example.tenantservice.model.ApiKey;
-import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.model.Tenant;
 import org.example.tenantservice.repository.ApiKeyRepository;
-import org.example.tenantservice.repository.PermissionRepository;
 import org.example.tenantservice.repository.TenantRepository;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.security.SecureRandom;
 import java.util.Base64;
-import java.util.HashSet;
 import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ApiKeyService {
 
-    private final PermissionRepository permissionRepository;
+    private final PermissionCatalog permissionCatalog;
     private final ApiKeyRepository apiKeyRepository;
     private final TenantRepository tenantRepository;
     private final AuthService authService;
+    private final ApiKeyVerificationCache apiKeyVerificationCache;
+    private final ApiKeyRejectionCache apiKeyRejectionCache;
     private static final SecureRandom secureRandom = new SecureRandom();
 
     /**
@@ -42,16 +41,15 @@ public class ApiKeyService {
         newApiKey.setTenant(tenant);
         newApiKey.setExpiredAt(request.getExpiredAt());
 
-        Set<Permission> permissions = new HashSet<>();
-        for (String permissionId : request.getPermissionIds()) {
-            Permission permission = permissionRepository.findById(permissionId).orElseThrow(() -> new BaseException(ApiErrorMessage.PERMISSION_NOT_FOUND));
-            permissions.add(permission);
-        }
-
-        newApiKey.setPermissions(permissions);
+        newApiKey.setPermissions(permissionCatalog.resolve(request.getPermissionIds()));
         newApiKey.setRevoked(false);
-        newApiKey.setKey(generateApiKey());
-        return apiKeyRepository.save(newApiKey);
+        String rawApiKey = generateApiKey();
+        newApiKey.setKey(rawApiKey);
+        newApiKey.setKeyHash(ApiKeyDigest.of(rawApiKey));
+        newApiKey.setKeyPrefix(ApiKeyDigest.prefixOf(rawApiKey));
+        ApiKey saved = apiKeyRepository.save(newApiKey);
+        apiKeyRejectionCache.markKnown(newApiKey.getKeyHash());
+        return saved;
     }
 
     /**
@@ -70,7 +68,7 @@ public class ApiKeyService {
 
         apiKeyRepository.save(apiKey);
 
-        evictCache(apiKey);
+        apiKeyVerificationCache.invalidate(apiKey.getKeyHash());
     }
 
     /**
@@ -117,17 +115,13 @@ public class ApiKeyService {
         }
 
         if (request.getPermissionIds() != null && !request.getPermissionIds().isEmpty()) {
-            Set<Permission> permissions = new HashSet<>();
-            for (String permissionId : request.getPermissionIds()) {
-                Permission permission = permissionRepository.findById(permissionId).orElseThrow(() -> new BaseException(ApiErrorMessage.PERMISSION_NOT_FOUND));
-                permissions.add(permission);
-            }
-            apiKey.setPermissions(permissions);
+            apiKey.setPermissions(permissionCatalog.resolve(request.getPermissionIds()));
         }
 
-        evictCache(apiKey);
-
-        return apiKeyRepository.save(apiKey);
+        ApiKey saved = apiKeyRepository.save(apiKey);
+        apiKeyVerificationCache.invalidate(apiKey.getKeyHash());
+        apiKeyRejectionCache.markKnown(apiKey.getKeyHash()); // an expired key may have been extended
+        return saved;
     }
 
     /**
@@ -140,12 +134,4 @@ public class ApiKeyService {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes);
     }
 
-    /**
-     * Evict the cache entry for the given API key.
-     * @param apiKey the API key whose cache entry should be evicted
-     */
-    @CacheEvict(value = "apiKeyPermissions", key = "#apiKey.key")
-    public void evictCache(ApiKey apiKey) {
-    }
-
 }
@@ -0,0 +1,126 @@
+package org.example.tenantservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.common.util.ExpiringLruCache;
+import org.example.tenantservice.config.security.VerifiedApiKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Two-level cache of verified API keys, keyed by key digest.
+ * The first level is a bounded map on this node, so a repeated key costs one map read; the second
+ * level is Redis, shared by all nodes. Revoking or changing a key replaces the Redis entry with a
+ * tombstone for {@code tombstone-ttl-ms}, which a loader that read the key before the change cannot
+ * overwrite, and is announced on Redis pub/sub so every node drops its copy. Pub/sub is
+ * fire-and-forget, so entries on this node also expire after {@code local-ttl-ms}, and the least
+ * recently used ones are evicted beyond {@code max-size}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApiKeyVerificationCache implements MessageListener {
+    private static final ChannelTopic INVALIDATION_TOPIC = new ChannelTopic("tenant:apikey:invalidate");
+    private static final String REDIS_KEY_PREFIX = "tenant:apikey:verified:";
+    private static final String TOMBSTONE = "-";
+    private static final RedisScript<Long> SET_UNLESS_TOMBSTONE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/set_unless_tombstone.lua"), Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${tenant.apikey-cache.local-ttl-ms:60000}")
+    private long localTtlMs;
+
+    @Value("${tenant.apikey-cache.redis-ttl-ms:3600000}")
+    private long redisTtlMs;
+
+    @Value("${tenant.apikey-cache.tombstone-ttl-ms:60000}")
+    private long tombstoneTtlMs; // longer than any verification that may have read the key before its change
+
+    @Value("${tenant.apikey-cache.max-size:100000}")
+    private int maxSize;
+
+    private ExpiringLruCache<String, VerifiedApiKey> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new ExpiringLruCache<>(maxSize);
+        redisMessageListenerContainer.addMessageListener(this, INVALIDATION_TOPIC);
+    }
+
+    /**
+     * Get a verified key, loading it on a miss in both levels
+     * @param digest the key digest
+     * @param loader verifies the key against the database, throws when the key is not valid
+     * @return the verified key
+     */
+    public VerifiedApiKey get(String digest, Function<String, VerifiedApiKey> loader) {
+        long now = System.currentTimeMillis();
+        VerifiedApiKey cached = entries.get(digest, now);
+        if (cached != null) {
+            return cached;
+        }
+
+        VerifiedApiKey key = readRedis(digest);
+        if (key == null || key.isExpired(now)) {
+            key = loader.apply(digest);
+            writeRedis(digest, key, now);
+        }
+        entries.put(digest, key, Math.min(key.expiresAtMillis(), now + localTtlMs), now);
+        return key;
+    }
+
+    /**
+     * Drop a key from both levels on every node
+     * @param digest the key digest
+     */
+    public void invalidate(String digest) {
+        entries.remove(digest);
+        try {
+            stringRedisTemplate.opsForValue().set(REDIS_KEY_PREFIX + digest, TOMBSTONE, Duration.ofMillis(tombstoneTtlMs));
+            stringRedisTemplate.convertAndSend(INVALIDATION_TOPIC.getTopic(), digest);
+        } catch (Exception e) {
+            log.error("Failed to propagate API key invalidation, other nodes keep it for up to {} ms", localTtlMs, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        entries.remove(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private VerifiedApiKey readRedis(String digest) {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(REDIS_KEY_PREFIX + digest);
+            return value == null || TOMBSTONE.equals(value) ? null : VerifiedApiKey.decode(value);
+        } catch (Exception e) {
+            log.warn("Failed to read verified API key from Redis, falling back to the database", e);
+            return null;
+        }
+    }
+
+    private void writeRedis(String digest, VerifiedApiKey key, long now) {
+        long ttlMs = Math.min(redisTtlMs, key.expiresAtMillis() - now);
+        if (ttlMs <= 0) return;
+        try {
+            stringRedisTemplate.execute(SET_UNLESS_TOMBSTONE_SCRIPT, List.of(REDIS_KEY_PREFIX + digest),
+                    TOMBSTONE, key.encode(), String.valueOf(ttlMs));
+        } catch (Exception e) {
+            log.warn("Failed to write verified API key to Redis", e);
+        }
+    }
+}
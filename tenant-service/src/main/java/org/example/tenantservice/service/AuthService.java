@@ -1,19 +1,20 @@
 package org.example.tenantservice.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.tenantservice.common.event.TenantQuotaChangedEvent;
 import org.example.tenantservice.common.exception.ApiErrorMessage;
 import org.example.tenantservice.common.exception.BaseException;
-import org.example.tenantservice.common.enums.PermissionType;
 import org.example.tenantservice.common.enums.Plan;
+import org.example.tenantservice.config.security.ApiKeyDigest;
 import org.example.tenantservice.config.security.CustomUserDetails;
 import org.example.tenantservice.config.security.JwtUtils;
+import org.example.tenantservice.config.security.VerifiedApiKey;
 import org.example.tenantservice.dto.request.TenantCreateRequest;
 import org.example.tenantservice.model.ApiKey;
-import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.model.Tenant;
 import org.example.tenantservice.repository.ApiKeyRepository;
 import org.example.tenantservice.repository.TenantRepository;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -21,9 +22,10 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +36,11 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtUtils jwtUtils;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApiKeyVerificationCache apiKeyVerificationCache;
+    private final PermissionCatalog permissionCatalog;
+    private final ApiKeyRejectionCache apiKeyRejectionCache;
+    private final LoginExecutor loginExecutor;
 
 
     /**
@@ -53,24 +60,60 @@ public class AuthService {
         return jwtUtils.generateJwtToken(authentication);
     }
 
+    /**
+     * Authenticate user on the login pool, keeping password hashing off the request thread
+     * @param email Email of the user
+     * @param password Password of the user
+     * @return completes with the JWT token, or exceptionally if authentication fails
+     * @throws BaseException LOGIN_OVERLOADED if too many logins are already waiting
+     */
+    public CompletableFuture<String> loginUserAsync(String email, String password) {
+        return loginExecutor.submit(() -> loginUser(email, password));
+    }
+
     /**
      * Validate the provided API key and return its associated permissions.
      * @param rawApiKey the raw API key to validate
      * @return a set of permission names associated with the valid API key
      */
-    @Cacheable(value = "apiKeyPermissions", key = "#rawApiKey")
     public Set<String> validateApiKeyAndGetPermissions(String rawApiKey) {
-        ApiKey apiKey = apiKeyRepository.findByKey(rawApiKey).orElseThrow(() -> new BaseException(ApiErrorMessage.INVALID_API_KEY));
+        return permissionCatalog.namesOf(verifyApiKey(rawApiKey).permissionBits());
+    }
+
+    /**
+     * Verify an API key, from the verification cache when possible.
+     * @param rawApiKey the raw API key to verify
+     * @return the tenant and API permissions of the key
+     * @throws BaseException INVALID_API_KEY, API_KEY_REVOKED or API_KEY_EXPIRED
+     */
+    public VerifiedApiKey verifyApiKey(String rawApiKey) {
+        return apiKeyVerificationCache.get(ApiKeyDigest.of(rawApiKey), this::loadVerifiedApiKey);
+    }
+
+    private VerifiedApiKey loadVerifiedApiKey(String digest) {
+        apiKeyRejectionCache.checkRejected(digest);
+        try {
+            return findVerifiedApiKey(digest);
+        } catch (BaseException e) {
+            apiKeyRejectionCache.recordRejected(digest, e);
+            throw e;
+        }
+    }
+
+    private VerifiedApiKey findVerifiedApiKey(String digest) {
+        ApiKey apiKey = apiKeyRepository.findByKeyHash(digest).orElseThrow(() -> new BaseException(ApiErrorMessage.INVALID_API_KEY));
 
-        // If API key is valid, return its permissions
         if (apiKey.isRevoked()) {
             throw new BaseException(ApiErrorMessage.API_KEY_REVOKED);
         }
+        if (apiKey.getExpiredAt() != null && !apiKey.getExpiredAt().isAfter(Instant.now())) {
+            throw new BaseException(ApiErrorMessage.API_KEY_EXPIRED);
+        }
 
-        return apiKey.getPermissions().stream()
-                .filter(p -> p.getType() == PermissionType.API)
-                .map(Permission::getName)
-                .collect(Collectors.toSet());
+        return new VerifiedApiKey(
+                apiKey.getTenant().getId(),
+                permissionCatalog.bitsOf(apiKey.getPermissions()),
+                apiKey.getExpiredAt() == null ? Long.MAX_VALUE : apiKey.getExpiredAt().toEpochMilli());
     }
 
     /**
@@ -93,7 +136,9 @@ public class AuthService {
                 .permissions(new HashSet<>())
                 .build();
 
-        return tenantRepository.save(tenant);
+        Tenant saved = tenantRepository.save(tenant);
+        eventPublisher.publishEvent(new TenantQuotaChangedEvent(saved.getId()));
+        return saved;
     }
 
     /**
@@ -0,0 +1,106 @@
+package org.example.tenantservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password verification on a small pool of its own.
+ * BCrypt is CPU bound, so the pool has one thread per core and a short queue; once the queue is
+ * full further logins are rejected with LOGIN_OVERLOADED instead of holding servlet threads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginExecutor {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tenant.login.threads:0}")
+    private int threads; // 0 uses one thread per available processor
+
+    @Value("${tenant.login.queue-capacity:64}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor executor;
+    private Counter shedCounter;
+    private Timer waitTimer;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = r -> {
+            Thread thread = new Thread(r, "login-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        shedCounter = Counter.builder("auth.login.shed")
+                .description("Logins rejected because the login queue was full")
+                .register(meterRegistry);
+        waitTimer = Timer.builder("auth.login.queue.wait")
+                .description("Time a login waited for a free login thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.queue", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a free login thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Logins being verified")
+                .register(meterRegistry);
+        log.info("Login executor started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Run a login on the login pool.
+     * The worker's security context is cleared afterwards so one login never leaks into the next.
+     * @param login the verification to run
+     * @return completes with the login result, or exceptionally with what the login threw
+     * @throws BaseException LOGIN_OVERLOADED if the login queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> login) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long queuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                try {
+                    result.complete(login.get());
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            shedCounter.increment();
+            throw new BaseException(ApiErrorMessage.LOGIN_OVERLOADED);
+        }
+        return result;
+    }
+}
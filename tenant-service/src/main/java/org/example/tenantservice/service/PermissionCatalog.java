@@ -0,0 +1,185 @@
+package org.example.tenantservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.common.enums.PermissionType;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.model.Permission;
+import org.example.tenantservice.repository.PermissionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory snapshot of the permission table.
+ * Resolves permission ids to entities, and API permissions to the bit indexes verified API keys
+ * carry, without a query. The snapshot is replaced as a whole when a permission is created, and
+ * when an id or bit shows up that it does not know yet because the permission was created on
+ * another node; such reloads run at most once per {@code miss-reload-interval-ms}, so requests
+ * with made-up ids cannot turn into a full table read each. Entities handed out are shared
+ * between callers and must not be modified.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PermissionCatalog {
+
+    private final PermissionRepository permissionRepository;
+
+    @Value("${tenant.permission-catalog.miss-reload-interval-ms:1000}")
+    private long missReloadIntervalMs;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final AtomicLong nextMissReloadNanos = new AtomicLong(System.nanoTime());
+
+    @PostConstruct
+    void init() {
+        assignMissingBitIndexes();
+        reload();
+    }
+
+    /**
+     * Replace the snapshot with the current database content.
+     */
+    public synchronized void reload() {
+        snapshot = Snapshot.of(permissionRepository.findAll());
+        log.debug("Loaded {} permissions", snapshot.byId().size());
+    }
+
+    /**
+     * Resolve permission ids in one pass over the snapshot.
+     * @param permissionIds the ids to resolve
+     * @return the permissions
+     * @throws BaseException PERMISSION_NOT_FOUND if an id is unknown even after a reload, or while
+     *                       the last reload for an unknown id is too recent to run another
+     */
+    public Set<Permission> resolve(Collection<String> permissionIds) {
+        Snapshot current = snapshot;
+        if (!current.byId().keySet().containsAll(permissionIds) && reloadOnMiss()) {
+            current = snapshot;
+        }
+
+        Set<Permission> permissions = new HashSet<>();
+        for (String permissionId : permissionIds) {
+            Permission permission = current.byId().get(permissionId);
+            if (permission == null) throw new BaseException(ApiErrorMessage.PERMISSION_NOT_FOUND);
+            permissions.add(permission);
+        }
+        return permissions;
+    }
+
+    /**
+     * @param permissions the permissions to encode, only API permissions are kept
+     * @return the permissions as a bitset
+     */
+    public long[] bitsOf(Collection<Permission> permissions) {
+        BitSet bits = new BitSet();
+        for (Permission permission : permissions) {
+            if (permission.getBitIndex() != null && permission.getType() == PermissionType.API) {
+                bits.set(permission.getBitIndex());
+            }
+        }
+        return bits.toLongArray();
+    }
+
+    /**
+     * @param permissionBits a bitset from {@link #bitsOf(Collection)}
+     * @return the names of the permissions in the bitset
+     */
+    public Set<String> namesOf(long[] permissionBits) {
+        BitSet bits = BitSet.valueOf(permissionBits);
+        String[] names = snapshot.namesByBit();
+        if (bits.length() > names.length && reloadOnMiss()) {
+            names = snapshot.namesByBit();
+        }
+
+        Set<String> out = new HashSet<>();
+        for (int bit = bits.nextSetBit(0); bit >= 0 && bit < names.length; bit = bits.nextSetBit(bit + 1)) {
+            if (names[bit] != null) out.add(names[bit]);
+        }
+        return out;
+    }
+
+    /**
+     * @return the names of all API permissions by bit index, in bit order
+     */
+    public Map<Integer, String> apiPermissionsByBit() {
+        String[] names = snapshot.namesByBit();
+        Map<Integer, String> out = new LinkedHashMap<>();
+        for (int bit = 0; bit < names.length; bit++) {
+            if (names[bit] != null) out.put(bit, names[bit]);
+        }
+        return out;
+    }
+
+    /**
+     * Give permissions created before bit indexes existed the next free indexes.
+     */
+    private void assignMissingBitIndexes() {
+        List<Permission> missing = permissionRepository.findByBitIndexIsNull();
+        if (missing.isEmpty()) return;
+
+        Integer max = permissionRepository.findMaxBitIndex();
+        int next = max == null ? 0 : max + 1;
+        for (Permission permission : missing) {
+            permission.setBitIndex(next++);
+        }
+        try {
+            permissionRepository.saveAll(missing);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Permission bit indexes were assigned concurrently, using the stored ones", e);
+        }
+    }
+
+    /**
+     * Reload for an unknown id or bit, unless another miss did so within the interval.
+     * @return true if the snapshot was reloaded
+     */
+    private boolean reloadOnMiss() {
+        long now = System.nanoTime();
+        long next = nextMissReloadNanos.get();
+        if (now - next < 0 || !nextMissReloadNanos.compareAndSet(next, now + TimeUnit.MILLISECONDS.toNanos(missReloadIntervalMs))) {
+            return false;
+        }
+        reload();
+        return true;
+    }
+
+    /**
+     * One immutable version of the catalog.
+     * @param namesByBit API permission names by bit index, null where the bit is unused or not an API permission
+     */
+    private record Snapshot(Map<String, Permission> byId, String[] namesByBit) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), new String[0]);
+
+        static Snapshot of(List<Permission> permissions) {
+            Map<String, Permission> byId = new HashMap<>();
+            int size = 0;
+            for (Permission permission : permissions) {
+                byId.put(permission.getId(), permission);
+                if (permission.getBitIndex() != null) size = Math.max(size, permission.getBitIndex() + 1);
+            }
+
+            String[] names = new String[size];
+            for (Permission permission : permissions) {
+                if (permission.getBitIndex() != null && permission.getType() == PermissionType.API) {
+                    names[permission.getBitIndex()] = permission.getName();
+                }
+            }
+            return new Snapshot(Map.copyOf(byId), names);
+        }
+    }
+}
@@ -5,9 +5,9 @@ import org.example.tenantservice.common.enums.PermissionType;
 import org.example.tenantservice.common.exception.ApiErrorMessage;
 import org.example.tenantservice.common.exception.BaseException;
 import org.example.tenantservice.dto.request.PermissionCreateRequest;
+import org.example.tenantservice.mapper.PermissionMapper;
 import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.repository.PermissionRepository;
-import org.example.tenantservice.util.MapUtil;
 import org.springframework.stereotype.Service;
 
 import java.util.Set;
@@ -17,6 +17,7 @@ import java.util.Set;
 public class PermissionService {
 
     private final PermissionRepository permissionRepository;
+    private final PermissionCatalog permissionCatalog;
 
     /**
      * Create a new permission
@@ -28,9 +29,13 @@ public class PermissionService {
             throw new BaseException(ApiErrorMessage.PERMISSION_ALREADY_EXISTS);
         }
 
-        Permission entity = new Permission();
-        MapUtil.copyProperties(request, entity);
-        return permissionRepository.save(entity);
+        Permission entity = PermissionMapper.toEntity(request);
+        Integer maxBitIndex = permissionRepository.findMaxBitIndex();
+        entity.setBitIndex(maxBitIndex == null ? 0 : maxBitIndex + 1);
+
+        Permission saved = permissionRepository.save(entity);
+        permissionCatalog.reload();
+        return saved;
     }
 
     /**
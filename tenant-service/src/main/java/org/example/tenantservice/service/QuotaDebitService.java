@@ -0,0 +1,153 @@
+package org.example.tenantservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.events.NotificationResultEvent;
+import org.example.events.enums.DeliveryStatus;
+import org.example.tenantservice.model.QuotaDebitMessage;
+import org.example.tenantservice.model.QuotaDebitOffset;
+import org.example.tenantservice.repository.QuotaDebitMessageRepository;
+import org.example.tenantservice.repository.QuotaDebitOffsetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Debits tenant quota for delivered notifications (the final step of the send saga).
+ * A batch of results is folded into one delta per tenant and applied with one UPDATE per tenant,
+ * in the same transaction that stores the next offset of every partition in the batch. Records
+ * below the stored offset were applied before and are skipped. The messageIds of billed
+ * notifications are stored in that transaction too, so a result re-published at a later offset,
+ * e.g. after a producer retry, is billed once as long as it arrives within the dedupe retention.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QuotaDebitService {
+
+    private final TenantQuotaCounter tenantQuotaCounter;
+    private final QuotaDebitOffsetRepository quotaDebitOffsetRepository;
+    private final QuotaDebitMessageRepository quotaDebitMessageRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tenant.quota-debit.dedupe-retention-ms:604800000}")
+    private long dedupeRetentionMs;
+
+    private Counter recordCounter;
+    private Counter updateCounter;
+    private Counter duplicateCounter;
+
+    @PostConstruct
+    void registerMetrics() {
+        recordCounter = Counter.builder("quota.debit.records")
+                .description("Delivery results consumed for quota debits")
+                .register(meterRegistry);
+        updateCounter = Counter.builder("quota.debit.updates")
+                .description("Tenant rows updated for quota debits")
+                .register(meterRegistry);
+        duplicateCounter = Counter.builder("quota.debit.duplicates")
+                .description("Delivery results skipped because their messageId was already billed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Apply a batch of delivery results
+     * @param records the records of one poll, from any number of partitions
+     * @return the quota debited per tenant
+     */
+    @Transactional
+    public Map<String, Integer> apply(Collection<ConsumerRecord<String, NotificationResultEvent>> records) {
+        Map<String, QuotaDebitOffset> offsets = loadOffsets(records);
+        Map<UUID, NotificationResultEvent> billable = new LinkedHashMap<>();
+
+        for (ConsumerRecord<String, NotificationResultEvent> record : records) {
+            QuotaDebitOffset offset = offsets.get(QuotaDebitOffset.idOf(record.topic(), record.partition()));
+            if (record.offset() < offset.getNextOffset()) continue; // applied by an earlier transaction
+            offset.setNextOffset(record.offset() + 1);
+
+            NotificationResultEvent event = record.value();
+            if (event == null || event.getStatus() != DeliveryStatus.DELIVERED) continue; // failed sends are not billed
+            if (billable.putIfAbsent(event.getMessageId(), event) != null) duplicateCounter.increment();
+        }
+
+        if (!billable.isEmpty()) {
+            List<UUID> billed = quotaDebitMessageRepository.findExistingIds(billable.keySet());
+            billed.forEach(billable::remove);
+            duplicateCounter.increment(billed.size());
+        }
+
+        SortedMap<String, Integer> deltas = new TreeMap<>(); // fixed update order, so concurrent consumers cannot deadlock
+        List<QuotaDebitMessage> applied = new ArrayList<>(billable.size());
+        Instant now = Instant.now();
+        billable.forEach((messageId, event) -> {
+            deltas.merge(event.getTenantId(), 1, Integer::sum);
+            applied.add(QuotaDebitMessage.builder().id(messageId).tenantId(event.getTenantId()).appliedAt(now).build());
+        });
+
+        deltas.forEach((tenantId, delta) -> {
+            if (!tenantQuotaCounter.add(tenantId, delta)) {
+                log.warn("Dropped quota debit of {} for unknown tenantId: {}", delta, tenantId);
+            }
+        });
+        quotaDebitMessageRepository.saveAll(applied);
+        quotaDebitOffsetRepository.saveAll(offsets.values());
+
+        recordCounter.increment(records.size());
+        updateCounter.increment(deltas.size());
+        log.debug("Applied {} delivery results as {} tenant debits", records.size(), deltas.size());
+        return deltas;
+    }
+
+    /**
+     * Forget billed messageIds older than the dedupe retention.
+     */
+    @Scheduled(fixedDelayString = "${tenant.quota-debit.dedupe-purge-ms:3600000}")
+    @Transactional
+    public void purgeBilledMessages() {
+        int purged = quotaDebitMessageRepository.deleteAppliedBefore(Instant.now().minusMillis(dedupeRetentionMs));
+        if (purged > 0) log.debug("Purged {} billed messageIds", purged);
+    }
+
+    /**
+     * Get the stored next offsets
+     * @param ids offset ids, see {@link QuotaDebitOffset#idOf(String, int)}
+     * @return the stored offsets by id, partitions never applied are missing
+     */
+    @Transactional(readOnly = true)
+    public Map<String, QuotaDebitOffset> findOffsets(Collection<String> ids) {
+        return quotaDebitOffsetRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(QuotaDebitOffset::getId, Function.identity()));
+    }
+
+    private Map<String, QuotaDebitOffset> loadOffsets(Collection<ConsumerRecord<String, NotificationResultEvent>> records) {
+        Map<String, QuotaDebitOffset> offsets = new HashMap<>();
+        for (ConsumerRecord<String, NotificationResultEvent> record : records) {
+            offsets.putIfAbsent(QuotaDebitOffset.idOf(record.topic(), record.partition()), QuotaDebitOffset.builder()
+                    .id(QuotaDebitOffset.idOf(record.topic(), record.partition()))
+                    .topic(record.topic())
+                    .partition(record.partition())
+                    .nextOffset(0)
+                    .build());
+        }
+        offsets.putAll(findOffsets(offsets.keySet()));
+        return offsets;
+    }
+}
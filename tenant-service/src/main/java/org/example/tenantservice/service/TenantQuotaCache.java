@@ -0,0 +1,64 @@
+package org.example.tenantservice.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.common.event.TenantQuotaChangedEvent;
+import org.example.tenantservice.common.util.ExpiringLruCache;
+import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory cache of tenant quota projections for the quota RPCs.
+ * Entries are dropped when this node changes a tenant's quota and expire after {@code ttl-ms},
+ * which bounds how stale a value written by another node can be. Beyond {@code max-size} tenants
+ * the least recently used entry is evicted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantQuotaCache {
+
+    private final TenantRepository tenantRepository;
+
+    @Value("${tenant.quota-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${tenant.quota-cache.max-size:100000}")
+    private int maxSize;
+
+    private ExpiringLruCache<String, TenantQuotaView> entries;
+
+    @PostConstruct
+    void init() {
+        entries = new ExpiringLruCache<>(maxSize);
+    }
+
+    /**
+     * Get the quota of a tenant, from memory when possible
+     * @param tenantId the tenant to look up
+     * @return the quota projection, empty if the tenant does not exist
+     */
+    public Optional<TenantQuotaView> get(String tenantId) {
+        long now = System.nanoTime();
+        TenantQuotaView cached = entries.get(tenantId, now);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<TenantQuotaView> view = tenantRepository.findQuotaViewById(tenantId);
+        view.ifPresent(v -> entries.put(tenantId, v, now + TimeUnit.MILLISECONDS.toNanos(ttlMs), now));
+        return view;
+    }
+
+    @EventListener
+    public void onQuotaChanged(TenantQuotaChangedEvent event) {
+        entries.remove(event.tenantId());
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.tenantservice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.tenantservice.model.TenantQuotaStripe;
+import org.example.tenantservice.repository.TenantQuotaStripeRepository;
+import org.example.tenantservice.repository.TenantRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Writes tenant quota usage.
+ * With {@code tenant.quota-stripes.enabled} a debit goes to one of {@code count} stripe rows picked at random,
+ * so concurrent debits of one tenant rarely wait on the same row lock. A scheduled compaction folds the stripes
+ * back into {@code tenant.quotaUsed}; reads merge both (see {@link TenantRepository#QUOTA_USED}), so usage is
+ * exact at any time.
+ */
+@Service
+@Slf4j
+public class TenantQuotaCounter {
+
+    private final TenantRepository tenantRepository;
+    private final TenantQuotaStripeRepository tenantQuotaStripeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransactionTemplate;
+
+    @Value("${tenant.quota-stripes.enabled:false}")
+    private boolean stripesEnabled;
+
+    @Value("${tenant.quota-stripes.count:16}")
+    private int stripeCount;
+
+    public TenantQuotaCounter(TenantRepository tenantRepository,
+                              TenantQuotaStripeRepository tenantQuotaStripeRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.tenantRepository = tenantRepository;
+        this.tenantQuotaStripeRepository = tenantQuotaStripeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.newTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Add to the quota used by a tenant, within the caller's transaction
+     * @param tenantId the tenant to debit
+     * @param delta the quota to add
+     * @return false if the tenant does not exist
+     */
+    public boolean add(String tenantId, int delta) {
+        if (!stripesEnabled) {
+            return tenantRepository.incrementQuotaUsed(tenantId, delta) > 0;
+        }
+
+        String stripeId = TenantQuotaStripe.idOf(tenantId, ThreadLocalRandom.current().nextInt(stripeCount));
+        if (tenantQuotaStripeRepository.incrementUsed(stripeId, delta) > 0) return true;
+
+        // First debit of this tenant since striping was enabled
+        if (!createStripes(tenantId)) return false;
+        return tenantQuotaStripeRepository.incrementUsed(stripeId, delta) > 0;
+    }
+
+    /**
+     * Fold every stripe into its tenant row.
+     * Each tenant is compacted in its own short transaction, and stripes are decremented by the amount
+     * read rather than reset, so debits landing during compaction are kept.
+     */
+    @Scheduled(fixedDelayString = "${tenant.quota-stripes.compact-interval-ms:10000}")
+    public void compact() {
+        Map<String, List<TenantQuotaStripe>> dirty = tenantQuotaStripeRepository.findByUsedNot(0).stream()
+                .collect(Collectors.groupingBy(TenantQuotaStripe::getTenantId));
+        if (dirty.isEmpty()) return;
+
+        dirty.forEach((tenantId, stripes) -> {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    int total = 0;
+                    for (TenantQuotaStripe stripe : stripes) {
+                        tenantQuotaStripeRepository.incrementUsed(stripe.getId(), -stripe.getUsed());
+                        total += stripe.getUsed();
+                    }
+                    tenantRepository.incrementQuotaUsed(tenantId, total);
+                });
+            } catch (RuntimeException e) {
+                log.warn("Failed to compact quota stripes of tenantId: {}", tenantId, e);
+            }
+        });
+        log.debug("Compacted quota stripes of {} tenants", dirty.size());
+    }
+
+    /**
+     * Create the missing stripes of a tenant in a separate transaction, so losing the race against
+     * another writer does not roll back the caller.
+     * @return false if the tenant does not exist
+     */
+    private boolean createStripes(String tenantId) {
+        try {
+            return Boolean.TRUE.equals(newTransactionTemplate.execute(status -> {
+                if (!tenantRepository.existsById(tenantId)) return false;
+                List<String> ids = IntStream.range(0, stripeCount).mapToObj(i -> TenantQuotaStripe.idOf(tenantId, i)).toList();
+                List<String> existing = tenantQuotaStripeRepository.findAllById(ids).stream().map(TenantQuotaStripe::getId).toList();
+                tenantQuotaStripeRepository.saveAllAndFlush(IntStream.range(0, stripeCount)
+                        .filter(i -> !existing.contains(ids.get(i)))
+                        .mapToObj(i -> TenantQuotaStripe.builder().id(ids.get(i)).tenantId(tenantId).stripe(i).build())
+                        .toList());
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            return true; // created concurrently
+        }
+    }
+}
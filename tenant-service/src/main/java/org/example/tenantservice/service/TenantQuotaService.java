@@ -0,0 +1,124 @@
+package org.example.tenantservice.service;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.proto.tenant.TenantQuota;
+import org.example.tenantservice.common.event.TenantQuotaChangedEvent;
+import org.example.tenantservice.mapper.TenantQuotaMapper;
+import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Quota reads for other services and the push side of the WatchQuota stream.
+ * Updates to a watcher that cannot keep up are coalesced per tenant, so a slow watcher only ever
+ * holds the latest value of each tenant instead of an unbounded backlog.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TenantQuotaService {
+
+    private static final int SNAPSHOT_PAGE_SIZE = 1000;
+
+    private final TenantRepository tenantRepository;
+
+    private final List<QuotaWatcher> watchers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Get the quota of many tenants with one query
+     * @param tenantIds the tenants to look up
+     * @return the quota of every tenant found, missing tenants are left out
+     */
+    public List<TenantQuota> getQuotas(Collection<String> tenantIds) {
+        if (tenantIds.isEmpty()) return List.of();
+        return tenantRepository.findQuotaViewsByIdIn(Set.copyOf(tenantIds)).stream()
+                .map(TenantQuotaMapper::toProto)
+                .toList();
+    }
+
+    /**
+     * Register a WatchQuota stream and send it the current quota of the watched tenants.
+     * A watcher of all tenants gets every tenant, read in pages.
+     * @param tenantIds the tenants to watch, empty for all tenants
+     * @param observer the server side of the stream
+     */
+    public void watch(Collection<String> tenantIds, ServerCallStreamObserver<TenantQuota> observer) {
+        QuotaWatcher watcher = new QuotaWatcher(Set.copyOf(tenantIds), observer);
+        observer.setOnReadyHandler(watcher::drain);
+        observer.setOnCancelHandler(() -> {
+            watchers.remove(watcher);
+            log.debug("Quota watcher cancelled, {} left", watchers.size());
+        });
+        watchers.add(watcher);
+
+        if (tenantIds.isEmpty()) {
+            snapshotAll(watcher);
+        } else {
+            getQuotas(tenantIds).forEach(watcher::offer);
+        }
+    }
+
+    @EventListener
+    public void onQuotaChanged(TenantQuotaChangedEvent event) {
+        if (watchers.stream().noneMatch(watcher -> watcher.watches(event.tenantId()))) return;
+        List<TenantQuota> quotas = getQuotas(List.of(event.tenantId()));
+        if (quotas.isEmpty()) return;
+
+        TenantQuota quota = quotas.get(0);
+        for (QuotaWatcher watcher : watchers) {
+            if (watcher.watches(quota.getTenantId())) watcher.offer(quota);
+        }
+    }
+
+    private void snapshotAll(QuotaWatcher watcher) {
+        String after = "";
+        List<TenantQuotaView> page;
+        do {
+            page = tenantRepository.findQuotaViewsAfter(after, PageRequest.ofSize(SNAPSHOT_PAGE_SIZE));
+            if (watcher.observer.isCancelled()) return;
+            page.forEach(view -> watcher.offer(TenantQuotaMapper.toProto(view)));
+            if (!page.isEmpty()) after = page.get(page.size() - 1).getId();
+        } while (page.size() == SNAPSHOT_PAGE_SIZE);
+    }
+
+    private static final class QuotaWatcher {
+        private final Set<String> tenantIds;
+        private final ServerCallStreamObserver<TenantQuota> observer;
+        private final Map<String, TenantQuota> pending = new LinkedHashMap<>(); // latest update per tenant not sent yet
+
+        private QuotaWatcher(Set<String> tenantIds, ServerCallStreamObserver<TenantQuota> observer) {
+            this.tenantIds = tenantIds;
+            this.observer = observer;
+        }
+
+        private boolean watches(String tenantId) {
+            return tenantIds.isEmpty() || tenantIds.contains(tenantId);
+        }
+
+        private synchronized void offer(TenantQuota quota) {
+            pending.remove(quota.getTenantId()); // keep arrival order of the latest values
+            pending.put(quota.getTenantId(), quota);
+            drain();
+        }
+
+        private synchronized void drain() {
+            var iterator = pending.values().iterator();
+            while (iterator.hasNext() && observer.isReady() && !observer.isCancelled()) {
+                TenantQuota quota = iterator.next();
+                iterator.remove();
+                observer.onNext(quota);
+            }
+        }
+    }
+}
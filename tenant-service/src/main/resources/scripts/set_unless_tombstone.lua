@@ -0,0 +1,7 @@
+-- Cache a verified API key unless the key was invalidated since the caller read the database
+-- KEYS[1]: cache entry, ARGV[1]: tombstone marker, ARGV[2]: value, ARGV[3]: ttl in ms
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return 0
+end
+redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3])
+return 1
@@ -0,0 +1,114 @@
+package org.example.tenantservice.benchmark;
+
+import jakarta.servlet.FilterChain;
+import org.example.tenantservice.config.security.CustomUserDetails;
+import org.example.tenantservice.config.security.JwtAuthFilter;
+import org.example.tenantservice.config.security.JwtUtils;
+import org.example.tenantservice.config.security.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of {@link JwtAuthFilter} per authenticated request, started manually with
+ * <pre>
+ * java ... JwtAuthFilterBenchmark
+ * </pre>
+ * {@code cached} repeats one token and hits the verified-token cache, {@code parsed} disables the
+ * cache so every request pays the signature check, and {@code lookup} uses a token without the
+ * tenant id claim, which still loads the user on every request as before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+    private static final String SECRET =
+            "L3NlY3JldEtleUZvckF1dGhTZXJ2aWNlVGhhdElzVmVyeUxvbmdBbmRTZWN1cmUxMjM0NTY3ODkwMTIzNDU2Nzg5MA";
+    private static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(
+            new SimpleGrantedAuthority("notification:send"), new SimpleGrantedAuthority("template:read"));
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"cached", "parsed", "lookup"})
+    String path;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        jwtUtils.init();
+
+        CustomUserDetails user = new CustomUserDetails("tenant-1", "bench@example.com", "hash", AUTHORITIES);
+        Authentication authentication = path.equals("lookup")
+                ? new UsernamePasswordAuthenticationToken(user.getEmail(), null, AUTHORITIES)
+                : new UsernamePasswordAuthenticationToken(user, null, AUTHORITIES);
+        String token = jwtUtils.generateJwtToken(authentication);
+
+        filter = new JwtAuthFilter(jwtUtils, new SimulatedUserDetailsService(user), 60_000L,
+                path.equals("cached") ? 10_000 : 0);
+        request = new MockHttpServletRequest("GET", "/api/tenants/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    /**
+     * Stand-in for the user lookup that answers from memory, so {@code lookup} shows the filter
+     * overhead around it rather than Redis or database latency.
+     */
+    private static final class SimulatedUserDetailsService extends UserDetailsServiceImpl {
+        private final CustomUserDetails user;
+
+        SimulatedUserDetailsService(CustomUserDetails user) {
+            super(null);
+            this.user = user;
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String email) {
+            return new CustomUserDetails(user.getId(), email, user.getPassword(), user.getAuthorities());
+        }
+    }
+}
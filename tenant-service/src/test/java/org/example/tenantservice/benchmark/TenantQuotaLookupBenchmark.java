@@ -0,0 +1,127 @@
+package org.example.tenantservice.benchmark;
+
+import org.example.tenantservice.common.enums.PermissionType;
+import org.example.tenantservice.common.enums.Plan;
+import org.example.tenantservice.model.Permission;
+import org.example.tenantservice.model.Tenant;
+import org.example.tenantservice.repository.PermissionRepository;
+import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.service.TenantQuotaCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Open-loop comparison of the quota read paths behind GetTenantQuota at a fixed request rate:
+ * the old entity load with its eager permission join against the projection through TenantQuotaCache.
+ * Skipped unless started with {@code -Dbenchmark=true}, e.g.
+ * <pre>
+ * mvn test -Dtest=TenantQuotaLookupBenchmark -Dbenchmark=true -Drate=10000 -Dseconds=20
+ * </pre>
+ * It runs against the embedded test database by default; add
+ * {@code -Dspring.test.database.replace=none} and the datasource properties to measure PostgreSQL.
+ * Latency is measured from the scheduled start, so a path that cannot keep up shows it in the tail.
+ */
+@DataJpaTest
+@Import(TenantQuotaCache.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TenantQuotaLookupBenchmark {
+
+    private static final int TENANTS = 1000;
+    private static final int PERMISSIONS_PER_TENANT = 10;
+
+    @Autowired
+    TenantRepository tenantRepository;
+
+    @Autowired
+    PermissionRepository permissionRepository;
+
+    @Autowired
+    TenantQuotaCache tenantQuotaCache;
+
+    @Test
+    void compareEntityLoadWithCachedProjection() throws InterruptedException {
+        int rate = Integer.getInteger("rate", 10_000);
+        int seconds = Integer.getInteger("seconds", 20);
+        List<String> tenantIds = seed();
+
+        run("entity", rate, seconds, tenantIds, id -> tenantRepository.findById(id).orElseThrow().getQuotaLimit());
+        run("projection", rate, seconds, tenantIds, id -> tenantQuotaCache.get(id).orElseThrow().getQuotaLimit());
+    }
+
+    private List<String> seed() {
+        List<Permission> permissions = new ArrayList<>();
+        for (int i = 0; i < PERMISSIONS_PER_TENANT; i++) {
+            permissions.add(permissionRepository.save(Permission.builder()
+                    .name("bench:" + i)
+                    .type(PermissionType.API)
+                    .build()));
+        }
+
+        List<String> tenantIds = new ArrayList<>(TENANTS);
+        for (int i = 0; i < TENANTS; i++) {
+            Tenant tenant = tenantRepository.save(Tenant.builder()
+                    .email("bench-" + i + "-" + System.nanoTime() + "@example.com")
+                    .name("Bench " + i)
+                    .password("pwd")
+                    .plan(Plan.PRO)
+                    .quotaLimit(1_000_000)
+                    .permissions(new HashSet<>(Set.copyOf(permissions)))
+                    .build());
+            tenantIds.add(tenant.getId());
+        }
+        return tenantIds;
+    }
+
+    private void run(String name, int rate, int seconds, List<String> tenantIds, Consumer<String> lookup) throws InterruptedException {
+        int total = rate * seconds;
+        long[] latencies = new long[total];
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                long scheduledAt = start + i * intervalNanos;
+                long wait = scheduledAt - System.nanoTime();
+                if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+
+                int index = i;
+                String tenantId = tenantIds.get(ThreadLocalRandom.current().nextInt(tenantIds.size()));
+                executor.execute(() -> {
+                    try {
+                        lookup.accept(tenantId);
+                    } finally {
+                        latencies[index] = System.nanoTime() - scheduledAt;
+                    }
+                });
+            }
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("[%s] requests=%d rate=%d/s p50=%.3fms p99=%.3fms p999=%.3fms max=%.3fms%n",
+                name, total, rate,
+                percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 0.999),
+                latencies[latencies.length - 1] / 1_000_000.0);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -2,6 +2,7 @@ package org.example.tenantservice.slide.repository;
 
 import org.example.tenantservice.common.enums.PermissionType;
 import org.example.tenantservice.common.enums.Plan;
+import org.example.tenantservice.config.security.ApiKeyDigest;
 import org.example.tenantservice.model.ApiKey;
 import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.model.Tenant;
@@ -39,12 +40,13 @@ class ApiKeyRepositoryDataJpaTest {
         Permission p = Permission.builder().name("notification:send").type(PermissionType.API).build();
         Permission savedPerm = permissionRepository.saveAndFlush(p);
 
-        ApiKey k = ApiKey.builder().key("k-key").tenant(savedTenant).revoked(false).expiredAt(Instant.now().plusSeconds(3600)).permissions(Set.of(savedPerm)).build();
+        ApiKey k = ApiKey.builder().key("k-key").keyHash(ApiKeyDigest.of("k-key")).keyPrefix(ApiKeyDigest.prefixOf("k-key")).tenant(savedTenant).revoked(false).expiredAt(Instant.now().plusSeconds(3600)).permissions(Set.of(savedPerm)).build();
         apiKeyRepository.saveAndFlush(k);
 
         Set<ApiKey> found = apiKeyRepository.findByTenantId(savedTenant.getId());
         assertThat(found).isNotEmpty();
-        assertThat(found.iterator().next().getKey()).isEqualTo("k-key");
+        assertThat(found.iterator().next().getKeyHash()).isEqualTo(ApiKeyDigest.of("k-key"));
+        assertThat(apiKeyRepository.findByKeyHash(ApiKeyDigest.of("k-key"))).isPresent();
     }
 }
 
@@ -4,14 +4,18 @@ import org.example.tenantservice.common.enums.PermissionType;
 import org.example.tenantservice.common.enums.Plan;
 import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.model.Tenant;
+import org.example.tenantservice.model.TenantQuotaStripe;
 import org.example.tenantservice.repository.PermissionRepository;
+import org.example.tenantservice.repository.TenantQuotaStripeRepository;
 import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -27,6 +31,9 @@ class TenantRepositoryDataJpaTest {
     @Autowired
     PermissionRepository permissionRepository;
 
+    @Autowired
+    TenantQuotaStripeRepository tenantQuotaStripeRepository;
+
     @Test
     @DisplayName("save and findByEmail should work")
     void saveAndFindByEmail() {
@@ -113,4 +120,56 @@ class TenantRepositoryDataJpaTest {
         assertThat(saved.getQuotaLimit()).isEqualTo(0);
         assertThat(saved.getQuotaUsed()).isEqualTo(0);
     }
+
+    @Test
+    @DisplayName("quota projections return only the quota columns of the requested tenants")
+    void findQuotaViews_returnQuotaColumns() {
+        Tenant a = tenantRepository.saveAndFlush(Tenant.builder()
+                .email("quota-a@example.com")
+                .name("A")
+                .password("pwd")
+                .plan(Plan.PRO)
+                .quotaLimit(500)
+                .quotaUsed(120)
+                .build());
+        Tenant b = tenantRepository.saveAndFlush(Tenant.builder()
+                .email("quota-b@example.com")
+                .name("B")
+                .password("pwd")
+                .plan(Plan.FREE)
+                .build());
+
+        Optional<TenantQuotaView> one = tenantRepository.findQuotaViewById(a.getId());
+        assertThat(one).isPresent();
+        assertThat(one.get().getPlan()).isEqualTo(Plan.PRO);
+        assertThat(one.get().getQuotaLimit()).isEqualTo(500);
+        assertThat(one.get().getQuotaUsed()).isEqualTo(120);
+
+        List<TenantQuotaView> many = tenantRepository.findQuotaViewsByIdIn(List.of(a.getId(), b.getId(), "missing"));
+        assertThat(many).extracting(TenantQuotaView::getId).containsExactlyInAnyOrder(a.getId(), b.getId());
+
+        assertThat(tenantRepository.findQuotaViewById("missing")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("quota projections add the usage held in quota stripes")
+    void findQuotaViews_mergeStripes() {
+        Tenant t = tenantRepository.saveAndFlush(Tenant.builder()
+                .email("quota-striped@example.com")
+                .name("Striped")
+                .password("pwd")
+                .plan(Plan.PRO)
+                .quotaLimit(500)
+                .quotaUsed(120)
+                .build());
+        tenantQuotaStripeRepository.saveAllAndFlush(List.of(
+                TenantQuotaStripe.builder().id(TenantQuotaStripe.idOf(t.getId(), 0)).tenantId(t.getId()).stripe(0).used(5).build(),
+                TenantQuotaStripe.builder().id(TenantQuotaStripe.idOf(t.getId(), 1)).tenantId(t.getId()).stripe(1).build()));
+        tenantQuotaStripeRepository.incrementUsed(TenantQuotaStripe.idOf(t.getId(), 1), 7);
+
+        assertThat(tenantRepository.findQuotaViewById(t.getId()).get().getQuotaUsed()).isEqualTo(132);
+        assertThat(tenantRepository.findQuotaViewsByIdIn(List.of(t.getId())))
+                .extracting(TenantQuotaView::getQuotaUsed)
+                .containsExactly(132);
+    }
 }
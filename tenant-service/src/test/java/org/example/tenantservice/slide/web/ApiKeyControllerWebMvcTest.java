@@ -5,6 +5,7 @@ import org.example.tenantservice.controller.ApiKeyController;
 import org.example.tenantservice.config.security.JwtAuthFilter;
 import org.example.tenantservice.config.security.JwtUtils;
 import org.example.tenantservice.config.security.UserDetailsServiceImpl;
+import org.example.tenantservice.config.security.SourceRateLimiter;
 import org.example.tenantservice.dto.request.ApiKeyCreateRequest;
 import org.example.tenantservice.model.ApiKey;
 import org.example.tenantservice.model.Permission;
@@ -19,6 +20,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -44,6 +46,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         excludeAutoConfiguration = {SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class},
         excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthFilter.class))
 @AutoConfigureMockMvc(addFilters = false)
+@Import(SourceRateLimiter.class)
 class ApiKeyControllerWebMvcTest {
 
     @Autowired
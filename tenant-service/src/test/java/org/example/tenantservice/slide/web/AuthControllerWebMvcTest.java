@@ -1,10 +1,13 @@
 package org.example.tenantservice.slide.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
 import org.example.tenantservice.controller.AuthController;
 import org.example.tenantservice.config.security.JwtAuthFilter;
 import org.example.tenantservice.config.security.JwtUtils;
 import org.example.tenantservice.config.security.UserDetailsServiceImpl;
+import org.example.tenantservice.config.security.SourceRateLimiter;
 import org.example.tenantservice.dto.request.LoginRequest;
 import org.example.tenantservice.dto.request.TenantCreateRequest;
 import org.example.tenantservice.model.Tenant;
@@ -19,19 +22,28 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.concurrent.CompletableFuture;
 
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(SpringExtension.class)
@@ -39,6 +51,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         excludeAutoConfiguration = {SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class},
         excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthFilter.class))
 @AutoConfigureMockMvc(addFilters = false)
+@Import(SourceRateLimiter.class)
+@TestPropertySource(properties = {
+        "tenant.apikey-throttle.burst=3",
+        "tenant.apikey-throttle.rate-per-second=0.001",
+        "tenant.apikey-throttle.trusted-proxies=10.0.0.1"
+})
 class AuthControllerWebMvcTest {
 
     @Autowired
@@ -91,11 +109,16 @@ class AuthControllerWebMvcTest {
         req.setEmail("a@b.com");
         req.setPassword("pass");
 
-        when(authService.loginUser(eq(req.getEmail()), eq(req.getPassword()))).thenReturn("jwt-token");
+        when(authService.loginUserAsync(eq(req.getEmail()), eq(req.getPassword())))
+                .thenReturn(CompletableFuture.completedFuture("jwt-token"));
 
-        mockMvc.perform(post("/auth/login")
+        MvcResult result = mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.token", is("jwt-token")));
     }
@@ -107,15 +130,57 @@ class AuthControllerWebMvcTest {
         req.setEmail("nope@example.com");
         req.setPassword("bad");
 
-        when(authService.loginUser(eq(req.getEmail()), eq(req.getPassword()))).thenReturn(null);
+        when(authService.loginUserAsync(eq(req.getEmail()), eq(req.getPassword())))
+                .thenReturn(CompletableFuture.completedFuture(null));
 
-        mockMvc.perform(post("/auth/login")
+        MvcResult result = mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data.token", nullValue()));
     }
 
+    @Test
+    @DisplayName("POST /auth/login - bad credentials from the login pool return 401")
+    void login_whenAuthenticationFails_thenUnauthorized() throws Exception {
+        LoginRequest req = new LoginRequest();
+        req.setEmail("a@b.com");
+        req.setPassword("wrong");
+
+        when(authService.loginUserAsync(eq(req.getEmail()), eq(req.getPassword())))
+                .thenReturn(CompletableFuture.failedFuture(new BadCredentialsException("Bad credentials")));
+
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - returns 503 when the login pool is saturated")
+    void login_whenLoginPoolSaturated_thenServiceUnavailable() throws Exception {
+        LoginRequest req = new LoginRequest();
+        req.setEmail("a@b.com");
+        req.setPassword("pass");
+
+        when(authService.loginUserAsync(eq(req.getEmail()), eq(req.getPassword())))
+                .thenThrow(new BaseException(ApiErrorMessage.LOGIN_OVERLOADED));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error.code", is(1000012)));
+    }
+
     @Test
     @DisplayName("GET /auth/internal/apikeys/validate - returns permissions set")
     void validateApiKey_returnsPermissions() throws Exception {
@@ -126,4 +191,57 @@ class AuthControllerWebMvcTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("[0]", is("READ")));
     }
+
+    @Test
+    @DisplayName("GET /auth/internal/apikeys/validate - returns 429 once a source exceeds its burst of rejected keys")
+    void validateApiKey_whenSourceExceedsBurst_thenTooManyRequests() throws Exception {
+        when(authService.validateApiKeyAndGetPermissions("guess")).thenThrow(new BaseException(ApiErrorMessage.INVALID_API_KEY));
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/auth/internal/apikeys/validate")
+                            .with(fromAddress("10.0.0.1"))
+                            .header("X-Forwarded-For", "198.51.100." + i + ", 203.0.113.7")
+                            .header("X-API-Key-To-Validate", "guess"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(get("/auth/internal/apikeys/validate")
+                        .with(fromAddress("10.0.0.1"))
+                        .header("X-Forwarded-For", "203.0.113.7")
+                        .header("X-API-Key-To-Validate", "guess"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.error.code", is(1000011)));
+
+        // other sources keep their own budget, and an untrusted caller cannot claim one by header
+        mockMvc.perform(get("/auth/internal/apikeys/validate")
+                        .with(fromAddress("10.0.0.1"))
+                        .header("X-Forwarded-For", "203.0.113.8")
+                        .header("X-API-Key-To-Validate", "guess"))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/auth/internal/apikeys/validate")
+                        .with(fromAddress("203.0.113.9"))
+                        .header("X-Forwarded-For", "203.0.113.7")
+                        .header("X-API-Key-To-Validate", "guess"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("GET /auth/internal/apikeys/validate - never throttles valid keys")
+    void validateApiKey_whenBurstOfValidKeys_thenNeverThrottled() throws Exception {
+        when(authService.validateApiKeyAndGetPermissions("raw-key")).thenReturn(java.util.Set.of("READ"));
+
+        for (int i = 0; i < 20; i++) {
+            mockMvc.perform(get("/auth/internal/apikeys/validate")
+                            .with(fromAddress("10.0.0.1"))
+                            .header("X-API-Key-To-Validate", "raw-key"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static RequestPostProcessor fromAddress(String remoteAddr) {
+        return request -> {
+            request.setRemoteAddr(remoteAddr);
+            return request;
+        };
+    }
 }
@@ -5,6 +5,7 @@ import org.example.tenantservice.controller.PermissionController;
 import org.example.tenantservice.config.security.JwtAuthFilter;
 import org.example.tenantservice.config.security.JwtUtils;
 import org.example.tenantservice.config.security.UserDetailsServiceImpl;
+import org.example.tenantservice.config.security.SourceRateLimiter;
 import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.service.PermissionService;
 import org.junit.jupiter.api.DisplayName;
@@ -17,6 +18,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -37,6 +39,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         excludeAutoConfiguration = {SecurityAutoConfiguration.class, SecurityFilterAutoConfiguration.class},
         excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthFilter.class))
 @AutoConfigureMockMvc(addFilters = false)
+@Import(SourceRateLimiter.class)
 class PermissionControllerWebMvcTest {
 
     @Autowired
@@ -0,0 +1,110 @@
+package org.example.tenantservice.unit.config;
+
+import org.example.tenantservice.config.security.CustomUserDetails;
+import org.example.tenantservice.config.security.JwtAuthFilter;
+import org.example.tenantservice.config.security.JwtUtils;
+import org.example.tenantservice.config.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.example.tenantservice.unit.config.JwtUtilsTest.AUTHORITIES;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    @Mock
+    UserDetailsServiceImpl userDetailsService;
+
+    JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = spy(JwtUtilsTest.jwtUtils());
+    }
+
+    @Test
+    void authenticate_tokenWithTenant_buildsPrincipalWithoutLookup() {
+        String token = tokenFor("a@b.com");
+
+        UserDetails principal = filter(100).authenticate(token);
+
+        assertEquals("tenant-a@b.com", ((CustomUserDetails) principal).getId());
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void authenticate_tokenWithoutTenant_loadsUser() {
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken("a@b.com", null, AUTHORITIES));
+        CustomUserDetails user = new CustomUserDetails("tenant-1", "a@b.com", "hash", AUTHORITIES);
+        when(userDetailsService.loadUserByUsername("a@b.com")).thenReturn(user);
+
+        assertSame(user, filter(100).authenticate(token));
+    }
+
+    @Test
+    void authenticate_tamperedToken_returnsNull() {
+        String token = tokenFor("a@b.com");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertNull(filter(100).authenticate(tampered));
+        assertNull(filter(100).authenticate("not-a-jwt"));
+    }
+
+    @Test
+    void authenticate_sameToken_verifiedOnce() {
+        JwtAuthFilter filter = filter(100);
+        String token = tokenFor("a@b.com");
+
+        UserDetails first = filter.authenticate(token);
+        UserDetails second = filter.authenticate(token);
+
+        assertSame(first, second);
+        verify(jwtUtils, times(1)).parseClaims(token);
+    }
+
+    @Test
+    void authenticate_cacheFull_evictsLeastRecentlyUsed() {
+        JwtAuthFilter filter = filter(2);
+        String a = tokenFor("a@b.com");
+        String b = tokenFor("b@b.com");
+        String c = tokenFor("c@b.com");
+
+        filter.authenticate(a);
+        filter.authenticate(b);
+        filter.authenticate(a); // a is now the most recently used
+        filter.authenticate(c); // evicts b
+        filter.authenticate(a);
+        filter.authenticate(b);
+
+        verify(jwtUtils, times(1)).parseClaims(a);
+        verify(jwtUtils, times(2)).parseClaims(b);
+        verify(jwtUtils, times(1)).parseClaims(c);
+    }
+
+    @Test
+    void authenticate_cacheDisabled_verifiesEveryTime() {
+        JwtAuthFilter filter = filter(0);
+        String token = tokenFor("a@b.com");
+
+        filter.authenticate(token);
+        filter.authenticate(token);
+
+        verify(jwtUtils, times(2)).parseClaims(token);
+    }
+
+    private JwtAuthFilter filter(int cacheMaxSize) {
+        return new JwtAuthFilter(jwtUtils, userDetailsService, 60_000L, cacheMaxSize);
+    }
+
+    private String tokenFor(String email) {
+        CustomUserDetails user = new CustomUserDetails("tenant-" + email, email, "hash", AUTHORITIES);
+        return jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, AUTHORITIES));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.tenantservice.unit.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.example.tenantservice.config.security.CustomUserDetails;
+import org.example.tenantservice.config.security.JwtUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilsTest {
+    static final String SECRET =
+            "L3NlY3JldEtleUZvckF1dGhTZXJ2aWNlVGhhdElzVmVyeUxvbmdBbmRTZWN1cmUxMjM0NTY3ODkwMTIzNDU2Nzg5MA";
+    static final List<SimpleGrantedAuthority> AUTHORITIES = List.of(
+            new SimpleGrantedAuthority("notification:send"), new SimpleGrantedAuthority("template:read"));
+
+    JwtUtils jwtUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtils = jwtUtils();
+    }
+
+    @Test
+    void toPrincipal_withTenantClaim_buildsPrincipalFromClaims() {
+        CustomUserDetails user = new CustomUserDetails("tenant-1", "a@b.com", "hash", AUTHORITIES);
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, AUTHORITIES));
+
+        CustomUserDetails principal = jwtUtils.toPrincipal(jwtUtils.parseClaims(token));
+
+        assertEquals("tenant-1", principal.getId());
+        assertEquals("a@b.com", principal.getEmail());
+        assertNull(principal.getPassword());
+        assertEquals(List.of("notification:send", "template:read"),
+                principal.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void toPrincipal_withoutTenantClaim_returnsNull() {
+        String token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken("a@b.com", null, AUTHORITIES));
+
+        assertNull(jwtUtils.toPrincipal(jwtUtils.parseClaims(token)));
+    }
+
+    @Test
+    void toPrincipal_withoutAuthoritiesClaim_hasNoAuthorities() {
+        Claims claims = Jwts.claims()
+                .subject("a@b.com")
+                .add(JwtUtils.TENANT_ID_CLAIM, "tenant-1")
+                .build();
+
+        CustomUserDetails principal = jwtUtils.toPrincipal(claims);
+
+        assertEquals("tenant-1", principal.getId());
+        assertTrue(principal.getAuthorities().isEmpty());
+    }
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
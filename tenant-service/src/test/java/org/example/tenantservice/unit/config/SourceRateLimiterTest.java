@@ -0,0 +1,61 @@
+package org.example.tenantservice.unit.config;
+
+import org.example.tenantservice.config.security.SourceRateLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceRateLimiterTest {
+
+    private static final double NO_REFILL = 0.000001;
+
+    @Test
+    void forwardedFor_fromUntrustedCaller_isIgnored() {
+        SourceRateLimiter limiter = new SourceRateLimiter(NO_REFILL, 1, 100, Set.of());
+
+        assertEquals("10.0.0.1", limiter.sourceOf("10.0.0.1", "1.1.1.1"));
+    }
+
+    @Test
+    void forwardedFor_fromTrustedProxy_usesRightmostUntrustedHop() {
+        SourceRateLimiter limiter = new SourceRateLimiter(NO_REFILL, 1, 100, Set.of("10.0.0.1", "10.0.0.2"));
+
+        assertEquals("3.3.3.3", limiter.sourceOf("10.0.0.1", "6.6.6.6, 3.3.3.3, 10.0.0.2"));
+        assertEquals("3.3.3.3", limiter.sourceOf("10.0.0.1", "7.7.7.7, 3.3.3.3, 10.0.0.2"));
+        assertEquals("10.0.0.1", limiter.sourceOf("10.0.0.1", null));
+    }
+
+    @Test
+    void tryAcquire_grantsAtMostRemainingTokens() {
+        SourceRateLimiter limiter = new SourceRateLimiter(NO_REFILL, 5, 100, Set.of());
+
+        assertEquals(3, limiter.tryAcquire("1.0.0.1", 3));
+        assertEquals(2, limiter.tryAcquire("1.0.0.1", 3));
+        assertEquals(0, limiter.tryAcquire("1.0.0.1", 1));
+        assertEquals(1, limiter.tryAcquire("1.0.0.2", 1));
+    }
+
+    @Test
+    void isThrottled_onlyOnceTokensAreTaken() {
+        SourceRateLimiter limiter = new SourceRateLimiter(NO_REFILL, 2, 100, Set.of());
+
+        for (int i = 0; i < 10; i++) {
+            assertFalse(limiter.isThrottled("1.0.0.1"));
+        }
+        limiter.tryAcquire("1.0.0.1", 2);
+        assertTrue(limiter.isThrottled("1.0.0.1"));
+        assertFalse(limiter.isThrottled("1.0.0.2"));
+    }
+
+    @Test
+    void sourcesBeyondCap_shareOverflowBucket() {
+        SourceRateLimiter limiter = new SourceRateLimiter(NO_REFILL, 1, 2, Set.of());
+
+        assertEquals(1, limiter.tryAcquire("1.0.0.1", 1));
+        assertEquals(1, limiter.tryAcquire("1.0.0.2", 1));
+        assertEquals(1, limiter.tryAcquire("1.0.0.3", 1));
+        assertEquals(0, limiter.tryAcquire("1.0.0.4", 1));
+    }
+}
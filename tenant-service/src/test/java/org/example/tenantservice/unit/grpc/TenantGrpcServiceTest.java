@@ -0,0 +1,233 @@
+package org.example.tenantservice.unit.grpc;
+
+import io.grpc.Context;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.example.proto.tenant.ApiKeyValidation;
+import org.example.proto.tenant.GetTenantQuotaRequest;
+import org.example.proto.tenant.GetTenantQuotaResponse;
+import org.example.proto.tenant.ValidateApiKeyRequest;
+import org.example.proto.tenant.ValidateApiKeysRequest;
+import org.example.proto.tenant.ValidateApiKeysResponse;
+import org.example.tenantservice.common.enums.Plan;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.config.security.GrpcSourceInterceptor;
+import org.example.tenantservice.config.security.SourceRateLimiter;
+import org.example.tenantservice.config.security.VerifiedApiKey;
+import org.example.tenantservice.grpc.server.TenantGrpcService;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+import org.example.tenantservice.service.AuthService;
+import org.example.tenantservice.service.PermissionCatalog;
+import org.example.tenantservice.service.TenantQuotaCache;
+import org.example.tenantservice.service.TenantQuotaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantGrpcServiceTest {
+
+    @Mock
+    TenantQuotaCache tenantQuotaCache;
+
+    @Mock
+    TenantQuotaService tenantQuotaService;
+
+    @Mock
+    AuthService authService;
+
+    @Mock
+    PermissionCatalog permissionCatalog;
+
+    @Mock
+    StreamObserver<ApiKeyValidation> validationObserver;
+
+    @Mock
+    StreamObserver<ValidateApiKeysResponse> validationsObserver;
+
+    @Mock
+    StreamObserver<GetTenantQuotaResponse> quotaObserver;
+
+    @Test
+    void getTenantQuota_grantsAtMostRemaining() {
+        when(tenantQuotaCache.get("tenant-1")).thenReturn(Optional.of(quotaView(1000, 950)));
+
+        service(100).getTenantQuota(GetTenantQuotaRequest.newBuilder().setTenantId("tenant-1").setQuotaQuantity(100).build(), quotaObserver);
+
+        verify(quotaObserver).onNext(GetTenantQuotaResponse.newBuilder().setQuotaQuantity(50).build());
+    }
+
+    @Test
+    void getTenantQuota_exhausted_grantsNothing() {
+        when(tenantQuotaCache.get("tenant-1")).thenReturn(Optional.of(quotaView(1000, 1200)));
+
+        service(100).getTenantQuota(GetTenantQuotaRequest.newBuilder().setTenantId("tenant-1").setQuotaQuantity(100).build(), quotaObserver);
+
+        verify(quotaObserver).onNext(GetTenantQuotaResponse.newBuilder().setQuotaQuantity(0).build());
+    }
+
+    @Test
+    void getTenantQuota_unlimited_grantsRequest() {
+        when(tenantQuotaCache.get("tenant-1")).thenReturn(Optional.of(quotaView(-1, 5000)));
+
+        service(100).getTenantQuota(GetTenantQuotaRequest.newBuilder().setTenantId("tenant-1").setQuotaQuantity(100).build(), quotaObserver);
+
+        verify(quotaObserver).onNext(GetTenantQuotaResponse.newBuilder().setQuotaQuantity(100).build());
+    }
+
+    @Test
+    void validateApiKey_found_returnsTenant() {
+        when(authService.verifyApiKey("key-1")).thenReturn(new VerifiedApiKey("tenant-1", new long[]{0b101}, Long.MAX_VALUE));
+        when(tenantQuotaCache.get("tenant-1")).thenReturn(Optional.empty());
+
+        service(100).validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("key-1").build(), validationObserver);
+
+        ApiKeyValidation validation = captureValidation();
+        assertTrue(validation.getValid());
+        assertEquals("tenant-1", validation.getTenantId());
+        verify(validationObserver).onCompleted();
+    }
+
+    @Test
+    void validateApiKey_notFound_returnsInvalid() {
+        when(authService.verifyApiKey("missing")).thenThrow(new BaseException(ApiErrorMessage.INVALID_API_KEY));
+
+        service(100).validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("missing").build(), validationObserver);
+
+        ApiKeyValidation validation = captureValidation();
+        assertFalse(validation.getValid());
+        assertEquals(ApiErrorMessage.INVALID_API_KEY.getCode(), validation.getErrorCode());
+    }
+
+    @Test
+    void validateApiKey_revoked_returnsInvalid() {
+        when(authService.verifyApiKey("revoked")).thenThrow(new BaseException(ApiErrorMessage.API_KEY_REVOKED));
+
+        service(100).validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("revoked").build(), validationObserver);
+
+        ApiKeyValidation validation = captureValidation();
+        assertFalse(validation.getValid());
+        assertEquals(ApiErrorMessage.API_KEY_REVOKED.getCode(), validation.getErrorCode());
+    }
+
+    @Test
+    void validateApiKey_sourceOutOfBudget_isResourceExhausted() {
+        when(authService.verifyApiKey("key-1")).thenThrow(new BaseException(ApiErrorMessage.INVALID_API_KEY));
+        TenantGrpcService service = service(1);
+
+        inSource("1.1.1.1", () -> service.validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("key-1").build(), validationObserver));
+        inSource("1.1.1.1", () -> service.validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("key-1").build(), validationObserver));
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(validationObserver).onError(error.capture());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, ((StatusRuntimeException) error.getValue()).getStatus().getCode());
+        verify(authService, times(1)).verifyApiKey("key-1");
+    }
+
+    @Test
+    void validateApiKeys_overBatchLimit_isInvalidArgument() {
+        ValidateApiKeysRequest request = ValidateApiKeysRequest.newBuilder()
+                .addAllApiKeys(Collections.nCopies(1001, "key"))
+                .build();
+
+        service(5000).validateApiKeys(request, validationsObserver);
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(validationsObserver).onError(error.capture());
+        assertEquals(Status.Code.INVALID_ARGUMENT, ((StatusRuntimeException) error.getValue()).getStatus().getCode());
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void validateApiKeys_countsEachRejectedKeyAgainstBudget() {
+        when(authService.verifyApiKey(any())).thenThrow(new BaseException(ApiErrorMessage.INVALID_API_KEY));
+        ValidateApiKeysRequest request = ValidateApiKeysRequest.newBuilder()
+                .addAllApiKeys(List.of("a", "b", "c", "d"))
+                .build();
+
+        service(3).validateApiKeys(request, validationsObserver);
+
+        ArgumentCaptor<ValidateApiKeysResponse> response = ArgumentCaptor.forClass(ValidateApiKeysResponse.class);
+        verify(validationsObserver).onNext(response.capture());
+        List<ApiKeyValidation> validations = response.getValue().getValidationsList();
+        assertEquals(4, validations.size());
+        assertEquals(ApiErrorMessage.INVALID_API_KEY.getCode(), validations.get(2).getErrorCode());
+        assertEquals(ApiErrorMessage.TOO_MANY_REQUESTS.getCode(), validations.get(3).getErrorCode());
+        verify(authService, times(3)).verifyApiKey(any());
+    }
+
+    @Test
+    void validateApiKeys_burstOfValidKeys_isNeverThrottled() {
+        when(authService.verifyApiKey(any())).thenReturn(new VerifiedApiKey("tenant-1", new long[]{1}, Long.MAX_VALUE));
+        when(tenantQuotaCache.get("tenant-1")).thenReturn(Optional.empty());
+        TenantGrpcService service = service(1);
+        ValidateApiKeysRequest request = ValidateApiKeysRequest.newBuilder()
+                .addAllApiKeys(Collections.nCopies(500, "key-1"))
+                .build();
+
+        inSource("1.1.1.1", () -> service.validateApiKeys(request, validationsObserver));
+        for (int i = 0; i < 100; i++) {
+            inSource("1.1.1.1", () -> service.validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("key-1").build(), validationObserver));
+        }
+
+        ArgumentCaptor<ValidateApiKeysResponse> response = ArgumentCaptor.forClass(ValidateApiKeysResponse.class);
+        verify(validationsObserver).onNext(response.capture());
+        assertTrue(response.getValue().getValidationsList().stream().allMatch(ApiKeyValidation::getValid));
+        ArgumentCaptor<ApiKeyValidation> validations = ArgumentCaptor.forClass(ApiKeyValidation.class);
+        verify(validationObserver, times(100)).onNext(validations.capture());
+        assertTrue(validations.getAllValues().stream().allMatch(ApiKeyValidation::getValid));
+        verify(validationObserver, never()).onError(any());
+    }
+
+    @Test
+    void validateApiKey_afterRejectionsUseBudget_validKeyIsThrottled() {
+        when(authService.verifyApiKey("guess")).thenThrow(new BaseException(ApiErrorMessage.INVALID_API_KEY));
+        TenantGrpcService service = service(2);
+
+        inSource("1.1.1.1", () -> service.validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("guess").build(), validationObserver));
+        inSource("1.1.1.1", () -> service.validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("guess").build(), validationObserver));
+        inSource("1.1.1.1", () -> service.validateApiKey(ValidateApiKeyRequest.newBuilder().setApiKey("key-1").build(), validationObserver));
+
+        ArgumentCaptor<Throwable> error = ArgumentCaptor.forClass(Throwable.class);
+        verify(validationObserver).onError(error.capture());
+        assertEquals(Status.Code.RESOURCE_EXHAUSTED, ((StatusRuntimeException) error.getValue()).getStatus().getCode());
+        verify(authService, never()).verifyApiKey("key-1");
+    }
+
+    private TenantGrpcService service(int burst) {
+        SourceRateLimiter limiter = new SourceRateLimiter(0.000001, burst, 100, Set.of());
+        return new TenantGrpcService(tenantQuotaCache, tenantQuotaService, authService, permissionCatalog, limiter);
+    }
+
+    private static TenantQuotaView quotaView(int limit, int used) {
+        return new TenantQuotaView() {
+            public String getId() { return "tenant-1"; }
+            public Plan getPlan() { return Plan.FREE; }
+            public Integer getQuotaLimit() { return limit; }
+            public Integer getQuotaUsed() { return used; }
+        };
+    }
+
+    private ApiKeyValidation captureValidation() {
+        ArgumentCaptor<ApiKeyValidation> validation = ArgumentCaptor.forClass(ApiKeyValidation.class);
+        verify(validationObserver).onNext(validation.capture());
+        return validation.getValue();
+    }
+
+    private static void inSource(String source, Runnable call) {
+        Context.current().withValue(GrpcSourceInterceptor.SOURCE, source).run(call);
+    }
+}
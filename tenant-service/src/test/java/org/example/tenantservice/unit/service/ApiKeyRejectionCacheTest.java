@@ -0,0 +1,75 @@
+package org.example.tenantservice.unit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.config.security.ApiKeyDigest;
+import org.example.tenantservice.repository.ApiKeyRepository;
+import org.example.tenantservice.service.ApiKeyRejectionCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyRejectionCacheTest {
+
+    @Mock
+    ApiKeyRepository apiKeyRepository;
+
+    @Mock
+    StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    RedisMessageListenerContainer redisMessageListenerContainer;
+
+    ApiKeyRejectionCache apiKeyRejectionCache;
+
+    @BeforeEach
+    void setUp() {
+        apiKeyRejectionCache = new ApiKeyRejectionCache(apiKeyRepository, stringRedisTemplate,
+                redisMessageListenerContainer, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(apiKeyRejectionCache, "expectedKeys", 1000L);
+        ReflectionTestUtils.setField(apiKeyRejectionCache, "falsePositiveRate", 0.001);
+        ReflectionTestUtils.setField(apiKeyRejectionCache, "missTtlMs", 30_000L);
+        ReflectionTestUtils.setField(apiKeyRejectionCache, "missMaxSize", 10);
+        when(apiKeyRepository.findActiveKeyHashesAfter(any(), any())).thenReturn(List.of(ApiKeyDigest.of("known")));
+        ReflectionTestUtils.invokeMethod(apiKeyRejectionCache, "init");
+    }
+
+    @Test
+    void checkRejected_whenKeyUnknown_thenInvalid() {
+        apiKeyRejectionCache.checkRejected(ApiKeyDigest.of("known"));
+
+        BaseException ex = assertThrows(BaseException.class, () -> apiKeyRejectionCache.checkRejected(ApiKeyDigest.of("guess")));
+        assertEquals(ApiErrorMessage.INVALID_API_KEY.getCode(), ex.getCode());
+    }
+
+    @Test
+    void checkRejected_whenRejectedRecently_thenRepeatRejection() {
+        String digest = ApiKeyDigest.of("known");
+        apiKeyRejectionCache.recordRejected(digest, new BaseException(ApiErrorMessage.API_KEY_REVOKED));
+
+        BaseException ex = assertThrows(BaseException.class, () -> apiKeyRejectionCache.checkRejected(digest));
+        assertEquals(ApiErrorMessage.API_KEY_REVOKED.getCode(), ex.getCode());
+    }
+
+    @Test
+    void markKnown_acceptsNewKeyAndAnnouncesIt() {
+        String digest = ApiKeyDigest.of("created");
+
+        apiKeyRejectionCache.markKnown(digest);
+
+        apiKeyRejectionCache.checkRejected(digest);
+        verify(stringRedisTemplate).convertAndSend("tenant:apikey:known", digest);
+    }
+}
@@ -8,10 +8,13 @@ import org.example.tenantservice.model.ApiKey;
 import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.model.Tenant;
 import org.example.tenantservice.repository.ApiKeyRepository;
-import org.example.tenantservice.repository.PermissionRepository;
 import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.config.security.ApiKeyDigest;
 import org.example.tenantservice.service.ApiKeyService;
+import org.example.tenantservice.service.ApiKeyRejectionCache;
+import org.example.tenantservice.service.ApiKeyVerificationCache;
 import org.example.tenantservice.service.AuthService;
+import org.example.tenantservice.service.PermissionCatalog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -30,7 +33,7 @@ import static org.mockito.Mockito.*;
 class ApiKeyServiceTest {
 
     @Mock
-    PermissionRepository permissionRepository;
+    PermissionCatalog permissionCatalog;
 
     @Mock
     ApiKeyRepository apiKeyRepository;
@@ -41,6 +44,12 @@ class ApiKeyServiceTest {
     @Mock
     AuthService authService;
 
+    @Mock
+    ApiKeyVerificationCache apiKeyVerificationCache;
+
+    @Mock
+    ApiKeyRejectionCache apiKeyRejectionCache;
+
     @InjectMocks
     ApiKeyService apiKeyService;
 
@@ -66,7 +75,7 @@ class ApiKeyServiceTest {
 
         when(authService.getCurrentUser()).thenReturn(currentUser);
         when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant));
-        when(permissionRepository.findById("perm-1")).thenReturn(Optional.of(perm));
+        when(permissionCatalog.resolve(Set.of("perm-1"))).thenReturn(Set.of(perm));
 
         ApiKey saved = new ApiKey();
         saved.setId("apikey-1");
@@ -76,7 +85,11 @@ class ApiKeyServiceTest {
 
         assertNotNull(result);
         assertEquals("apikey-1", result.getId());
-        verify(apiKeyRepository).save(any(ApiKey.class));
+        verify(apiKeyRepository).save(argThat(k -> k.getPermissions().equals(Set.of(perm))
+                && k.getKey() != null
+                && ApiKeyDigest.of(k.getKey()).equals(k.getKeyHash())
+                && k.getKey().startsWith(k.getKeyPrefix())));
+        verify(apiKeyRejectionCache).markKnown(argThat(digest -> digest.length() == 64));
     }
 
     @Test
@@ -101,7 +114,7 @@ class ApiKeyServiceTest {
         Tenant tenant = Tenant.builder().id("tenant-1").email("t@t.com").build();
         when(authService.getCurrentUser()).thenReturn(currentUser);
         when(tenantRepository.findById("tenant-1")).thenReturn(Optional.of(tenant));
-        when(permissionRepository.findById("perm-x")).thenReturn(Optional.empty());
+        when(permissionCatalog.resolve(Set.of("perm-x"))).thenThrow(new BaseException(ApiErrorMessage.PERMISSION_NOT_FOUND));
 
         BaseException ex = assertThrows(BaseException.class, () -> apiKeyService.createApiKey(req));
         assertEquals(ApiErrorMessage.PERMISSION_NOT_FOUND.getCode(), ex.getCode());
@@ -114,6 +127,7 @@ class ApiKeyServiceTest {
         apiKey.setId("k1");
         apiKey.setTenant(tenant);
         apiKey.setRevoked(false);
+        apiKey.setKeyHash("hash-1");
 
         when(authService.getCurrentUser()).thenReturn(currentUser);
         when(apiKeyRepository.findById("k1")).thenReturn(Optional.of(apiKey));
@@ -123,6 +137,7 @@ class ApiKeyServiceTest {
 
         assertTrue(apiKey.isRevoked());
         verify(apiKeyRepository).save(apiKey);
+        verify(apiKeyVerificationCache).invalidate("hash-1");
     }
 
     @Test
@@ -211,11 +226,12 @@ class ApiKeyServiceTest {
 
         when(authService.getCurrentUser()).thenReturn(currentUser);
         when(apiKeyRepository.findById("k1")).thenReturn(Optional.of(existing));
-        when(permissionRepository.findById("p1")).thenReturn(Optional.of(p1));
+        when(permissionCatalog.resolve(Set.of("p1"))).thenReturn(Set.of(p1));
         when(apiKeyRepository.save(any())).thenReturn(existing);
 
         ApiKey out = apiKeyService.updateApiKey("k1", req);
         assertNotNull(out);
+        assertEquals(Set.of(p1), existing.getPermissions());
         verify(apiKeyRepository).save(existing);
     }
 
@@ -0,0 +1,112 @@
+package org.example.tenantservice.unit.service;
+
+import org.example.tenantservice.config.security.VerifiedApiKey;
+import org.example.tenantservice.service.ApiKeyVerificationCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ApiKeyVerificationCacheTest {
+
+    @Mock
+    StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    ApiKeyVerificationCache apiKeyVerificationCache;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(apiKeyVerificationCache, "localTtlMs", 60_000L);
+        ReflectionTestUtils.setField(apiKeyVerificationCache, "redisTtlMs", 3_600_000L);
+        ReflectionTestUtils.setField(apiKeyVerificationCache, "tombstoneTtlMs", 60_000L);
+        ReflectionTestUtils.setField(apiKeyVerificationCache, "maxSize", 10);
+        ReflectionTestUtils.invokeMethod(apiKeyVerificationCache, "init");
+        lenient().when(stringRedisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void get_whenCachedLocally_thenSkipRedisAndLoader() {
+        AtomicInteger loads = new AtomicInteger();
+        VerifiedApiKey key = new VerifiedApiKey("tenant-1", new long[]{5L}, Long.MAX_VALUE);
+
+        apiKeyVerificationCache.get("d1", d -> { loads.incrementAndGet(); return key; });
+        VerifiedApiKey second = apiKeyVerificationCache.get("d1", d -> { loads.incrementAndGet(); return key; });
+
+        assertSame(key, second);
+        assertEquals(1, loads.get());
+        verify(valueOperations, times(1)).get("tenant:apikey:verified:d1");
+        verify(stringRedisTemplate).execute(any(RedisScript.class), eq(List.of("tenant:apikey:verified:d1")),
+                eq("-"), eq(key.encode()), anyString());
+    }
+
+    @Test
+    void get_whenInRedis_thenSkipLoader() {
+        VerifiedApiKey key = new VerifiedApiKey("tenant-1", new long[]{5L, 1L}, Long.MAX_VALUE);
+        when(valueOperations.get("tenant:apikey:verified:d1")).thenReturn(key.encode());
+
+        VerifiedApiKey out = apiKeyVerificationCache.get("d1", d -> fail("should not load"));
+
+        assertEquals("tenant-1", out.tenantId());
+        assertArrayEquals(new long[]{5L, 1L}, out.permissionBits());
+    }
+
+    @Test
+    void invalidate_dropsLocalEntryAndNotifiesOtherNodes() {
+        AtomicInteger loads = new AtomicInteger();
+        VerifiedApiKey key = new VerifiedApiKey("tenant-1", new long[0], Long.MAX_VALUE);
+        apiKeyVerificationCache.get("d1", d -> { loads.incrementAndGet(); return key; });
+
+        apiKeyVerificationCache.invalidate("d1");
+        apiKeyVerificationCache.get("d1", d -> { loads.incrementAndGet(); return key; });
+
+        assertEquals(2, loads.get());
+        verify(valueOperations).set("tenant:apikey:verified:d1", "-", Duration.ofMillis(60_000));
+        verify(stringRedisTemplate).convertAndSend("tenant:apikey:invalidate", "d1");
+    }
+
+    @Test
+    void get_whenTombstoneInRedis_thenLoadFromDatabase() {
+        VerifiedApiKey key = new VerifiedApiKey("tenant-1", new long[0], Long.MAX_VALUE);
+        when(valueOperations.get("tenant:apikey:verified:d1")).thenReturn("-");
+
+        VerifiedApiKey out = apiKeyVerificationCache.get("d1", d -> key);
+
+        assertSame(key, out);
+    }
+
+    @Test
+    void get_whenFull_thenEvictLeastRecentlyUsed() {
+        AtomicInteger loads = new AtomicInteger();
+        VerifiedApiKey key = new VerifiedApiKey("tenant-1", new long[0], Long.MAX_VALUE);
+        for (int i = 0; i <= 10; i++) {
+            apiKeyVerificationCache.get("d" + i, d -> { loads.incrementAndGet(); return key; });
+        }
+
+        apiKeyVerificationCache.get("d10", d -> { loads.incrementAndGet(); return key; });
+        apiKeyVerificationCache.get("d0", d -> { loads.incrementAndGet(); return key; });
+
+        assertEquals(12, loads.get());
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.tenantservice.unit.service;
 
+import org.example.tenantservice.common.event.TenantQuotaChangedEvent;
 import org.example.tenantservice.common.exception.ApiErrorMessage;
 import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.config.security.ApiKeyDigest;
 import org.example.tenantservice.config.security.CustomUserDetails;
 import org.example.tenantservice.config.security.JwtUtils;
+import org.example.tenantservice.config.security.VerifiedApiKey;
 import org.example.tenantservice.dto.request.TenantCreateRequest;
 import org.example.tenantservice.model.ApiKey;
 import org.example.tenantservice.model.Permission;
@@ -12,7 +15,11 @@ import org.example.tenantservice.common.enums.PermissionType;
 import org.example.tenantservice.common.enums.Plan;
 import org.example.tenantservice.repository.ApiKeyRepository;
 import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.service.ApiKeyRejectionCache;
+import org.example.tenantservice.service.ApiKeyVerificationCache;
 import org.example.tenantservice.service.AuthService;
+import org.example.tenantservice.service.LoginExecutor;
+import org.example.tenantservice.service.PermissionCatalog;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,6 +29,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -29,9 +37,13 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -54,6 +66,21 @@ class AuthServiceTest {
     @Mock
     JwtUtils jwtUtils;
 
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    ApiKeyVerificationCache apiKeyVerificationCache;
+
+    @Mock
+    PermissionCatalog permissionCatalog;
+
+    @Mock
+    ApiKeyRejectionCache apiKeyRejectionCache;
+
+    @Mock
+    LoginExecutor loginExecutor;
+
     @InjectMocks
     AuthService authService;
 
@@ -118,6 +145,7 @@ class AuthServiceTest {
         assertEquals(req.getEmail(), toSave.getEmail());
         assertEquals("encoded-pass", toSave.getPassword());
         assertEquals(req.getName(), toSave.getName());
+        verify(eventPublisher).publishEvent(new TenantQuotaChangedEvent("id-1"));
     }
 
     @Test
@@ -127,13 +155,17 @@ class AuthServiceTest {
         Permission pApi = new Permission();
         pApi.setName("READ");
         pApi.setType(PermissionType.API);
+        pApi.setBitIndex(0);
 
         ApiKey apiKey = new ApiKey();
         apiKey.setRevoked(false);
-        apiKey.setKey("raw-key");
+        apiKey.setTenant(Tenant.builder().id("tenant-1").build());
         apiKey.setPermissions(Set.of(pApi));
 
-        when(apiKeyRepository.findByKey(raw)).thenReturn(Optional.of(apiKey));
+        loadThroughCache();
+        when(apiKeyRepository.findByKeyHash(ApiKeyDigest.of(raw))).thenReturn(Optional.of(apiKey));
+        when(permissionCatalog.bitsOf(Set.of(pApi))).thenReturn(new long[]{1L});
+        when(permissionCatalog.namesOf(new long[]{1L})).thenReturn(Set.of("READ"));
 
         Set<String> perms = authService.validateApiKeyAndGetPermissions(raw);
 
@@ -143,10 +175,48 @@ class AuthServiceTest {
 
     @Test
     void validateApiKeyAndGetPermissions_whenInvalid_thenThrow() {
-        when(apiKeyRepository.findByKey(any())).thenReturn(Optional.empty());
+        loadThroughCache();
+        when(apiKeyRepository.findByKeyHash(any())).thenReturn(Optional.empty());
 
         BaseException ex = assertThrows(BaseException.class, () -> authService.validateApiKeyAndGetPermissions("nope"));
         assertEquals(ApiErrorMessage.INVALID_API_KEY.getCode(), ex.getCode());
+        verify(apiKeyRejectionCache).recordRejected(ApiKeyDigest.of("nope"), ex);
+    }
+
+    @Test
+    void verifyApiKey_whenRejectedBefore_thenSkipRepository() {
+        loadThroughCache();
+        doThrow(new BaseException(ApiErrorMessage.INVALID_API_KEY)).when(apiKeyRejectionCache).checkRejected(ApiKeyDigest.of("guess"));
+
+        assertThrows(BaseException.class, () -> authService.verifyApiKey("guess"));
+        verifyNoInteractions(apiKeyRepository);
+    }
+
+    @Test
+    void verifyApiKey_whenExpired_thenThrow() {
+        ApiKey apiKey = new ApiKey();
+        apiKey.setExpiredAt(Instant.now().minusSeconds(1));
+
+        loadThroughCache();
+        when(apiKeyRepository.findByKeyHash(any())).thenReturn(Optional.of(apiKey));
+
+        BaseException ex = assertThrows(BaseException.class, () -> authService.verifyApiKey("old-key"));
+        assertEquals(ApiErrorMessage.API_KEY_EXPIRED.getCode(), ex.getCode());
+    }
+
+    @Test
+    void verifyApiKey_whenCached_thenSkipRepository() {
+        VerifiedApiKey cached = new VerifiedApiKey("tenant-1", new long[]{1L}, Long.MAX_VALUE);
+        when(apiKeyVerificationCache.get(eq(ApiKeyDigest.of("raw-key")), any())).thenReturn(cached);
+
+        assertSame(cached, authService.verifyApiKey("raw-key"));
+        verifyNoInteractions(apiKeyRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void loadThroughCache() {
+        when(apiKeyVerificationCache.get(any(), any())).thenAnswer(inv ->
+                ((Function<String, VerifiedApiKey>) inv.getArgument(1)).apply(inv.getArgument(0)));
     }
 
     @Test
@@ -187,6 +257,18 @@ class AuthServiceTest {
         assertSame(auth, stored);
     }
 
+    @Test
+    void loginUserAsync_runsLoginOnLoginExecutor() {
+        Authentication auth = mock(Authentication.class);
+        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(auth);
+        when(jwtUtils.generateJwtToken(auth)).thenReturn("jwt-token");
+        when(loginExecutor.submit(any())).thenAnswer(inv ->
+                CompletableFuture.completedFuture(inv.<Supplier<String>>getArgument(0).get()));
+
+        assertEquals("jwt-token", authService.loginUserAsync("a@b.com", "pass").join());
+        verify(loginExecutor).submit(any());
+    }
+
 }
 
 
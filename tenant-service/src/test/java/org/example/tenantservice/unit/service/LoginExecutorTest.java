@@ -0,0 +1,81 @@
+package org.example.tenantservice.unit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.service.LoginExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginExecutorTest {
+
+    SimpleMeterRegistry meterRegistry;
+    LoginExecutor loginExecutor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginExecutor = new LoginExecutor(meterRegistry);
+        ReflectionTestUtils.setField(loginExecutor, "threads", 1);
+        ReflectionTestUtils.setField(loginExecutor, "queueCapacity", 1);
+        ReflectionTestUtils.invokeMethod(loginExecutor, "init");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(loginExecutor, "shutdown");
+    }
+
+    @Test
+    void submit_whenQueueFull_thenLoginOverloaded() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = loginExecutor.submit(() -> {
+            started.countDown();
+            await(release);
+            return "first";
+        });
+        started.await();
+        CompletableFuture<String> queued = loginExecutor.submit(() -> "second");
+
+        BaseException ex = assertThrows(BaseException.class, () -> loginExecutor.submit(() -> "third"));
+        assertEquals(ApiErrorMessage.LOGIN_OVERLOADED.getCode(), ex.getCode());
+        assertEquals(1.0, meterRegistry.get("auth.login.shed").counter().count());
+
+        release.countDown();
+        assertEquals("first", running.join());
+        assertEquals("second", queued.join());
+    }
+
+    @Test
+    void submit_whenLoginThrows_thenFutureFailsAndContextIsCleared() {
+        CompletableFuture<String> failed = loginExecutor.submit(() -> {
+            SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("a@b.com", null));
+            throw new IllegalStateException("boom");
+        });
+
+        CompletionException ex = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+
+        // the single worker runs the next login with an empty context
+        assertNull(loginExecutor.submit(() -> SecurityContextHolder.getContext().getAuthentication()).join());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.tenantservice.unit.service;
+
+import org.example.tenantservice.common.enums.PermissionType;
+import org.example.tenantservice.common.exception.ApiErrorMessage;
+import org.example.tenantservice.common.exception.BaseException;
+import org.example.tenantservice.model.Permission;
+import org.example.tenantservice.repository.PermissionRepository;
+import org.example.tenantservice.service.PermissionCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PermissionCatalogTest {
+
+    @Mock
+    PermissionRepository permissionRepository;
+
+    @InjectMocks
+    PermissionCatalog permissionCatalog;
+
+    Permission send;
+    Permission view;
+
+    @BeforeEach
+    void setUp() {
+        send = Permission.builder().id("p1").name("notification:send").type(PermissionType.API).bitIndex(0).build();
+        view = Permission.builder().id("p2").name("dashboard:view").type(PermissionType.UI).bitIndex(1).build();
+        when(permissionRepository.findAll()).thenReturn(List.of(send, view));
+        permissionCatalog.reload();
+    }
+
+    @Test
+    void resolve_whenIdsKnown_thenNoFurtherQuery() {
+        assertEquals(Set.of(send, view), permissionCatalog.resolve(Set.of("p1", "p2")));
+
+        verify(permissionRepository, times(1)).findAll();
+        verify(permissionRepository, never()).findById(any());
+    }
+
+    @Test
+    void resolve_whenIdCreatedElsewhere_thenReloadOnce() {
+        Permission created = Permission.builder().id("p3").name("template:read").type(PermissionType.API).bitIndex(2).build();
+        when(permissionRepository.findAll()).thenReturn(List.of(send, view, created));
+
+        assertEquals(Set.of(created), permissionCatalog.resolve(Set.of("p3")));
+        verify(permissionRepository, times(2)).findAll();
+        assertEquals(Set.of("notification:send", "template:read"), permissionCatalog.namesOf(new long[]{0b101}));
+    }
+
+    @Test
+    void resolve_whenIdUnknown_thenPermissionNotFound() {
+        BaseException ex = assertThrows(BaseException.class, () -> permissionCatalog.resolve(Set.of("p1", "missing")));
+        assertEquals(ApiErrorMessage.PERMISSION_NOT_FOUND.getCode(), ex.getCode());
+    }
+
+    @Test
+    void resolve_whenUnknownIdsRepeat_thenReloadOncePerInterval() {
+        ReflectionTestUtils.setField(permissionCatalog, "missReloadIntervalMs", 60_000L);
+
+        for (int i = 0; i < 5; i++) {
+            String id = "missing-" + i;
+            assertThrows(BaseException.class, () -> permissionCatalog.resolve(Set.of(id)));
+        }
+        assertEquals(Set.of(), permissionCatalog.namesOf(new long[]{0, 1}));
+
+        verify(permissionRepository, times(2)).findAll();
+    }
+
+    @Test
+    void bitsOf_keepsOnlyApiPermissions() {
+        long[] bits = permissionCatalog.bitsOf(Set.of(send, view));
+
+        assertArrayEquals(new long[]{1L}, bits);
+        assertEquals(Set.of("notification:send"), permissionCatalog.namesOf(bits));
+    }
+}
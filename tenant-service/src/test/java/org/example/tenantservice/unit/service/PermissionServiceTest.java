@@ -6,6 +6,7 @@ import org.example.tenantservice.common.exception.BaseException;
 import org.example.tenantservice.dto.request.PermissionCreateRequest;
 import org.example.tenantservice.model.Permission;
 import org.example.tenantservice.repository.PermissionRepository;
+import org.example.tenantservice.service.PermissionCatalog;
 import org.example.tenantservice.service.PermissionService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,6 +26,9 @@ class PermissionServiceTest {
     @Mock
     PermissionRepository permissionRepository;
 
+    @Mock
+    PermissionCatalog permissionCatalog;
+
     @InjectMocks
     PermissionService permissionService;
 
@@ -54,12 +58,14 @@ class PermissionServiceTest {
         saved.setDescription(req.getDescription());
 
         when(permissionRepository.findByNameAndType(req.getName(), req.getType())).thenReturn(Optional.empty());
+        when(permissionRepository.findMaxBitIndex()).thenReturn(4);
         when(permissionRepository.save(any())).thenReturn(saved);
 
         Permission out = permissionService.createPermission(req);
         assertNotNull(out);
         assertEquals("p1", out.getId());
-        verify(permissionRepository).save(any(Permission.class));
+        verify(permissionRepository).save(argThat(p -> p.getBitIndex() == 5));
+        verify(permissionCatalog).reload();
     }
 
     @Test
@@ -0,0 +1,145 @@
+package org.example.tenantservice.unit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.example.events.NotificationResultEvent;
+import org.example.events.enums.DeliveryStatus;
+import org.example.tenantservice.model.QuotaDebitMessage;
+import org.example.tenantservice.model.QuotaDebitOffset;
+import org.example.tenantservice.repository.QuotaDebitMessageRepository;
+import org.example.tenantservice.repository.QuotaDebitOffsetRepository;
+import org.example.tenantservice.service.QuotaDebitService;
+import org.example.tenantservice.service.TenantQuotaCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuotaDebitServiceTest {
+    private static final String TOPIC = "notification.result";
+
+    @Mock
+    TenantQuotaCounter tenantQuotaCounter;
+
+    @Mock
+    QuotaDebitOffsetRepository quotaDebitOffsetRepository;
+
+    @Mock
+    QuotaDebitMessageRepository quotaDebitMessageRepository;
+
+    QuotaDebitService quotaDebitService;
+
+    @BeforeEach
+    void setUp() {
+        quotaDebitService = new QuotaDebitService(tenantQuotaCounter, quotaDebitOffsetRepository,
+                quotaDebitMessageRepository, new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(quotaDebitService, "registerMetrics");
+    }
+
+    @Test
+    void apply_foldsDeliveredResultsIntoOneUpdatePerTenant() {
+        when(quotaDebitOffsetRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(tenantQuotaCounter.add(any(), anyInt())).thenReturn(true);
+        UUID duplicate = UUID.randomUUID();
+
+        Map<String, Integer> deltas = quotaDebitService.apply(List.of(
+                record(0, 0, "t1", UUID.randomUUID(), DeliveryStatus.DELIVERED),
+                record(0, 1, "t1", duplicate, DeliveryStatus.DELIVERED),
+                record(1, 0, "t1", duplicate, DeliveryStatus.DELIVERED),
+                record(1, 1, "t2", UUID.randomUUID(), DeliveryStatus.DELIVERED),
+                record(1, 2, "t2", UUID.randomUUID(), DeliveryStatus.FAILED)));
+
+        assertEquals(Map.of("t1", 2, "t2", 1), deltas);
+        verify(tenantQuotaCounter).add("t1", 2);
+        verify(tenantQuotaCounter).add("t2", 1);
+        verifyNoMoreInteractions(tenantQuotaCounter);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_storesNextOffsetPerPartition() {
+        when(quotaDebitOffsetRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        quotaDebitService.apply(List.of(
+                record(0, 7, "t1", UUID.randomUUID(), DeliveryStatus.FAILED),
+                record(3, 41, "t1", UUID.randomUUID(), DeliveryStatus.FAILED),
+                record(3, 42, "t1", UUID.randomUUID(), DeliveryStatus.FAILED)));
+
+        ArgumentCaptor<Iterable<QuotaDebitOffset>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(quotaDebitOffsetRepository).saveAll(captor.capture());
+        List<QuotaDebitOffset> saved = new ArrayList<>();
+        captor.getValue().forEach(saved::add);
+        assertEquals(2, saved.size());
+        for (QuotaDebitOffset offset : saved) {
+            assertEquals(offset.getPartition() == 0 ? 8 : 43, offset.getNextOffset());
+        }
+        verifyNoInteractions(tenantQuotaCounter);
+    }
+
+    @Test
+    void apply_whenReplayed_thenSkipAppliedRecords() {
+        when(quotaDebitOffsetRepository.findAllById(anyCollection())).thenReturn(List.of(
+                QuotaDebitOffset.builder().id(QuotaDebitOffset.idOf(TOPIC, 0)).topic(TOPIC).partition(0).nextOffset(2).build()));
+        when(tenantQuotaCounter.add(any(), anyInt())).thenReturn(true);
+
+        Map<String, Integer> deltas = quotaDebitService.apply(List.of(
+                record(0, 0, "t1", UUID.randomUUID(), DeliveryStatus.DELIVERED),
+                record(0, 1, "t1", UUID.randomUUID(), DeliveryStatus.DELIVERED),
+                record(0, 2, "t1", UUID.randomUUID(), DeliveryStatus.DELIVERED)));
+
+        assertEquals(Map.of("t1", 1), deltas);
+        verify(tenantQuotaCounter).add("t1", 1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void apply_whenMessageIdRepublishedInLaterBatch_thenBilledOnce() {
+        Set<UUID> billed = new HashSet<>();
+        when(quotaDebitOffsetRepository.findAllById(anyCollection())).thenReturn(List.of());
+        when(quotaDebitMessageRepository.findExistingIds(anyCollection())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(0)).stream().filter(billed::contains).toList());
+        when(quotaDebitMessageRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            ((Iterable<QuotaDebitMessage>) invocation.getArgument(0)).forEach(m -> billed.add(m.getId()));
+            return List.of();
+        });
+        when(tenantQuotaCounter.add(any(), anyInt())).thenReturn(true);
+        UUID messageId = UUID.randomUUID();
+
+        Map<String, Integer> first = quotaDebitService.apply(List.of(record(0, 5, "t1", messageId, DeliveryStatus.DELIVERED)));
+        Map<String, Integer> second = quotaDebitService.apply(List.of(record(0, 9, "t1", messageId, DeliveryStatus.DELIVERED)));
+
+        assertEquals(Map.of("t1", 1), first);
+        assertEquals(Map.of(), second);
+        verify(tenantQuotaCounter, times(1)).add("t1", 1);
+    }
+
+    private ConsumerRecord<String, NotificationResultEvent> record(int partition, long offset, String tenantId,
+                                                                   UUID messageId, DeliveryStatus status) {
+        NotificationResultEvent event = NotificationResultEvent.newBuilder()
+                .setMessageId(messageId)
+                .setTenantId(tenantId)
+                .setStatus(status)
+                .setOccurredAt(Instant.now())
+                .build();
+        return new ConsumerRecord<>(TOPIC, partition, offset, tenantId, event);
+    }
+}
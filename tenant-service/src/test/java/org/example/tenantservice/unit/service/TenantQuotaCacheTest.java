@@ -0,0 +1,84 @@
+package org.example.tenantservice.unit.service;
+
+import org.example.tenantservice.common.enums.Plan;
+import org.example.tenantservice.common.event.TenantQuotaChangedEvent;
+import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+import org.example.tenantservice.service.TenantQuotaCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantQuotaCacheTest {
+
+    @Mock
+    TenantRepository tenantRepository;
+
+    @Test
+    void get_whenFull_thenEvictLeastRecentlyUsed() {
+        TenantQuotaCache cache = cache(2, 60_000);
+        for (String id : new String[]{"t1", "t2", "t3"}) {
+            when(tenantRepository.findQuotaViewById(id)).thenReturn(Optional.of(view(id)));
+        }
+
+        cache.get("t1");
+        cache.get("t2");
+        cache.get("t1");
+        cache.get("t3"); // evicts t2
+        cache.get("t1");
+        cache.get("t3");
+        cache.get("t2");
+
+        verify(tenantRepository, times(1)).findQuotaViewById("t1");
+        verify(tenantRepository, times(2)).findQuotaViewById("t2");
+        verify(tenantRepository, times(1)).findQuotaViewById("t3");
+    }
+
+    @Test
+    void get_whenExpired_thenReload() {
+        TenantQuotaCache cache = cache(10, 0);
+        when(tenantRepository.findQuotaViewById("t1")).thenReturn(Optional.of(view("t1")));
+
+        cache.get("t1");
+        cache.get("t1");
+
+        verify(tenantRepository, times(2)).findQuotaViewById("t1");
+    }
+
+    @Test
+    void onQuotaChanged_thenReload() {
+        TenantQuotaCache cache = cache(10, 60_000);
+        when(tenantRepository.findQuotaViewById("t1")).thenReturn(Optional.of(view("t1")));
+
+        cache.get("t1");
+        cache.onQuotaChanged(new TenantQuotaChangedEvent("t1"));
+        cache.get("t1");
+
+        verify(tenantRepository, times(2)).findQuotaViewById("t1");
+    }
+
+    private TenantQuotaCache cache(int maxSize, long ttlMs) {
+        TenantQuotaCache cache = new TenantQuotaCache(tenantRepository);
+        ReflectionTestUtils.setField(cache, "maxSize", maxSize);
+        ReflectionTestUtils.setField(cache, "ttlMs", ttlMs);
+        ReflectionTestUtils.invokeMethod(cache, "init");
+        return cache;
+    }
+
+    private TenantQuotaView view(String id) {
+        return new TenantQuotaView() {
+            public String getId() { return id; }
+            public Plan getPlan() { return Plan.FREE; }
+            public Integer getQuotaLimit() { return 1000; }
+            public Integer getQuotaUsed() { return 0; }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.tenantservice.unit.service;
+
+import org.example.tenantservice.model.TenantQuotaStripe;
+import org.example.tenantservice.repository.TenantQuotaStripeRepository;
+import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.service.TenantQuotaCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantQuotaCounterTest {
+
+    @Mock
+    TenantRepository tenantRepository;
+
+    @Mock
+    TenantQuotaStripeRepository tenantQuotaStripeRepository;
+
+    @Mock
+    PlatformTransactionManager transactionManager;
+
+    TenantQuotaCounter tenantQuotaCounter;
+
+    @BeforeEach
+    void setUp() {
+        tenantQuotaCounter = new TenantQuotaCounter(tenantRepository, tenantQuotaStripeRepository, transactionManager);
+        ReflectionTestUtils.setField(tenantQuotaCounter, "stripeCount", 4);
+    }
+
+    @Test
+    void add_whenStripesDisabled_thenUpdateTenantRow() {
+        when(tenantRepository.incrementQuotaUsed("t1", 3)).thenReturn(1);
+
+        assertTrue(tenantQuotaCounter.add("t1", 3));
+        verifyNoInteractions(tenantQuotaStripeRepository);
+    }
+
+    @Test
+    void add_whenStripesEnabled_thenUpdateOneStripe() {
+        ReflectionTestUtils.setField(tenantQuotaCounter, "stripesEnabled", true);
+        when(tenantQuotaStripeRepository.incrementUsed(startsWith("t1-"), eq(3))).thenReturn(1);
+
+        assertTrue(tenantQuotaCounter.add("t1", 3));
+        verify(tenantQuotaStripeRepository).incrementUsed(startsWith("t1-"), eq(3));
+        verify(tenantRepository, never()).incrementQuotaUsed(any(), anyInt());
+    }
+
+    @Test
+    void add_whenFirstDebit_thenCreateStripes() {
+        ReflectionTestUtils.setField(tenantQuotaCounter, "stripesEnabled", true);
+        when(tenantQuotaStripeRepository.incrementUsed(startsWith("t1-"), eq(3))).thenReturn(0).thenReturn(1);
+        when(tenantRepository.existsById("t1")).thenReturn(true);
+        when(tenantQuotaStripeRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        assertTrue(tenantQuotaCounter.add("t1", 3));
+        verify(tenantQuotaStripeRepository).saveAllAndFlush(argThat(stripes -> stripes instanceof List<?> list && list.size() == 4));
+    }
+
+    @Test
+    void add_whenTenantMissing_thenReturnFalse() {
+        ReflectionTestUtils.setField(tenantQuotaCounter, "stripesEnabled", true);
+        when(tenantQuotaStripeRepository.incrementUsed(any(), anyInt())).thenReturn(0);
+        when(tenantRepository.existsById("missing")).thenReturn(false);
+
+        assertFalse(tenantQuotaCounter.add("missing", 1));
+        verify(tenantQuotaStripeRepository, never()).saveAllAndFlush(any());
+    }
+
+    @Test
+    void compact_foldsStripesIntoTenantRow() {
+        when(tenantQuotaStripeRepository.findByUsedNot(0)).thenReturn(List.of(
+                TenantQuotaStripe.builder().id("t1-0").tenantId("t1").stripe(0).used(5).build(),
+                TenantQuotaStripe.builder().id("t1-2").tenantId("t1").stripe(2).used(7).build()));
+
+        tenantQuotaCounter.compact();
+
+        verify(tenantQuotaStripeRepository).incrementUsed("t1-0", -5);
+        verify(tenantQuotaStripeRepository).incrementUsed("t1-2", -7);
+        verify(tenantRepository).incrementQuotaUsed("t1", 12);
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.tenantservice.unit.service;
+
+import io.grpc.stub.ServerCallStreamObserver;
+import org.example.proto.tenant.TenantQuota;
+import org.example.tenantservice.common.enums.Plan;
+import org.example.tenantservice.common.event.TenantQuotaChangedEvent;
+import org.example.tenantservice.repository.TenantRepository;
+import org.example.tenantservice.repository.projection.TenantQuotaView;
+import org.example.tenantservice.service.TenantQuotaService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TenantQuotaServiceTest {
+
+    @Mock
+    TenantRepository tenantRepository;
+
+    @InjectMocks
+    TenantQuotaService tenantQuotaService;
+
+    @Test
+    void getQuotas_whenEmpty_thenSkipQuery() {
+        assertTrue(tenantQuotaService.getQuotas(List.of()).isEmpty());
+        verifyNoInteractions(tenantRepository);
+    }
+
+    @Test
+    void getQuotas_computesRemaining() {
+        when(tenantRepository.findQuotaViewsByIdIn(Set.of("t1", "t2", "t3"))).thenReturn(List.of(
+                view("t1", 1000, 250),
+                view("t2", 100, 150),
+                view("t3", -1, 42)));
+
+        List<TenantQuota> out = tenantQuotaService.getQuotas(List.of("t1", "t2", "t3", "t1"));
+
+        assertEquals(3, out.size());
+        assertEquals(750, out.get(0).getRemaining());
+        assertEquals(0, out.get(1).getRemaining());
+        assertTrue(out.get(2).getUnlimited());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onQuotaChanged_whenWatcherNotReady_thenKeepLatestOnly() {
+        ServerCallStreamObserver<TenantQuota> observer = mock(ServerCallStreamObserver.class);
+        when(observer.isReady()).thenReturn(false);
+        when(tenantRepository.findQuotaViewsByIdIn(Set.of("t1")))
+                .thenReturn(List.of(view("t1", 1000, 10)))
+                .thenReturn(List.of(view("t1", 1000, 20)))
+                .thenReturn(List.of(view("t1", 1000, 30)));
+
+        tenantQuotaService.watch(List.of("t1"), observer);
+        tenantQuotaService.onQuotaChanged(new TenantQuotaChangedEvent("t1"));
+        tenantQuotaService.onQuotaChanged(new TenantQuotaChangedEvent("t2"));
+        verify(observer, never()).onNext(any());
+
+        when(observer.isReady()).thenReturn(true);
+        tenantQuotaService.onQuotaChanged(new TenantQuotaChangedEvent("t1"));
+
+        verify(observer, times(1)).onNext(argThat(q -> q.getQuotaUsed() == 30));
+        verify(tenantRepository, never()).findQuotaViewsByIdIn(Set.of("t2"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void watch_allTenants_sendsPagedSnapshot() {
+        ServerCallStreamObserver<TenantQuota> observer = mock(ServerCallStreamObserver.class);
+        when(observer.isReady()).thenReturn(true);
+        List<TenantQuotaView> firstPage = IntStream.range(0, 1000)
+                .mapToObj(i -> view("t%04d".formatted(i), 1000, 1000))
+                .toList();
+        when(tenantRepository.findQuotaViewsAfter(eq(""), any())).thenReturn(firstPage);
+        when(tenantRepository.findQuotaViewsAfter(eq("t0999"), any())).thenReturn(List.of(view("t1000", 1000, 10)));
+
+        tenantQuotaService.watch(List.of(), observer);
+
+        verify(observer, times(1001)).onNext(any());
+        verify(observer).onNext(argThat(q -> q.getTenantId().equals("t0000") && q.getRemaining() == 0));
+        verify(observer).onNext(argThat(q -> q.getTenantId().equals("t1000") && q.getRemaining() == 990));
+        verify(tenantRepository, never()).findQuotaViewsByIdIn(any());
+    }
+
+    private TenantQuotaView view(String id, int limit, int used) {
+        return new TenantQuotaView() {
+            public String getId() { return id; }
+            public Plan getPlan() { return Plan.FREE; }
+            public Integer getQuotaLimit() { return limit; }
+            public Integer getQuotaUsed() { return used; }
+        };
+    }
+}